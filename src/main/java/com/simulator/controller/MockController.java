@@ -0,0 +1,120 @@
+package com.simulator.controller;
+
+import com.simulator.dto.ApiResponse;
+import com.simulator.service.MockRouteTable;
+import com.simulator.util.PathTemplateRouter;
+import com.simulator.util.RequestValidationPlan;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 模拟服务控制器
+ * 按已导入文档的接口定义返回模拟响应，请求路径为 /mock/{swaggerId} 加接口路径
+ * 
+ * @author simulator
+ * @date 2024
+ */
+@RestController
+@RequestMapping("/mock")
+@RequiredArgsConstructor
+public class MockController {
+    private static final String PREFIX = "/mock/";
+
+    private final MockRouteTable mockRouteTable;
+
+    /**
+     * 是否按接口定义校验请求参数
+     */
+    @Value("${simulator.mock.validate-requests:true}")
+    private boolean validateRequests;
+
+    /**
+     * 返回匹配接口的模拟响应（支持所有请求方法）
+     * 
+     * @param swaggerId 文档ID
+     * @param status 指定返回的状态码，未指定时返回默认成功响应
+     * @param body 请求体
+     * @param request 请求
+     * @return 模拟响应，没有匹配的接口时返回404，请求参数校验不通过时返回400
+     */
+    @RequestMapping("/{swaggerId}/**")
+    public ResponseEntity<?> mock(
+            @PathVariable Long swaggerId,
+            @RequestHeader(value = MockRouteTable.STATUS_HEADER, required = false) String status,
+            @RequestBody(required = false) byte[] body,
+            HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int slash = uri.indexOf('/', request.getContextPath().length() + PREFIX.length());
+        String path = slash < 0 ? "/" : uri.substring(slash);
+        
+        PathTemplateRouter.PathVariables variables = new PathTemplateRouter.PathVariables();
+        MockRouteTable.MockRoute route = mockRouteTable.route(swaggerId, request.getMethod(), path, variables);
+        if (route == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(404, "未找到匹配的接口: " + request.getMethod() + " " + path));
+        }
+        if (validateRequests && !route.getValidationPlan().isEmpty()) {
+            List<String> errors = route.getValidationPlan()
+                .validate(new ServletRequestValues(request, variables), request.getContentType(), body);
+            if (!errors.isEmpty()) {
+                ApiResponse<List<String>> response = ApiResponse.error(400, "请求参数校验失败");
+                response.setData(errors);
+                return ResponseEntity.badRequest().body(response);
+            }
+        }
+        MockRouteTable.MockResponse response = route.response(status);
+        return new ResponseEntity<>(response.getBody(), response.getHeaders(), response.getStatus());
+    }
+
+    /**
+     * 从Servlet请求读取参数值
+     */
+    private static class ServletRequestValues implements RequestValidationPlan.RequestValues {
+        private final HttpServletRequest request;
+        private final PathTemplateRouter.PathVariables variables;
+
+        ServletRequestValues(HttpServletRequest request, PathTemplateRouter.PathVariables variables) {
+            this.request = request;
+            this.variables = variables;
+        }
+
+        @Override
+        public String query(String name) {
+            return request.getParameter(name);
+        }
+
+        @Override
+        public String header(String name) {
+            return request.getHeader(name);
+        }
+
+        @Override
+        public String path(String name) {
+            return variables.get(name);
+        }
+
+        @Override
+        public String cookie(String name) {
+            Cookie[] cookies = request.getCookies();
+            if (cookies != null) {
+                for (Cookie cookie : cookies) {
+                    if (cookie.getName().equals(name)) {
+                        return cookie.getValue();
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package com.simulator.controller;
 
 import com.simulator.dto.*;
+import com.simulator.entity.ApiDetailPayload;
+import com.simulator.repository.projection.SwaggerInfoSummary;
+import com.simulator.service.DataVersions;
+import com.simulator.service.ImportJobService;
 import com.simulator.service.SwaggerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
 /**
  * Swagger解析控制器
@@ -23,8 +36,9 @@ import java.util.List;
 @RequestMapping("/swagger")
 @RequiredArgsConstructor
 public class SwaggerController {
-
     private final SwaggerService swaggerService;
+    private final ImportJobService importJobService;
+    private final DataVersions dataVersions;
 
     /**
      * 导入Swagger文档（通过JSON/YAML内容或URL）
@@ -69,19 +83,15 @@ public class SwaggerController {
                 return ApiResponse.error(400, "不支持的文件格式，仅支持.json、.yaml、.yml格式");
             }
 
-            // 读取文件内容
-            String content = new String(file.getBytes(), StandardCharsets.UTF_8);
-            if (content == null || content.trim().isEmpty()) {
-                return ApiResponse.error(400, "文件内容不能为空");
+            // 转存为临时文件后流式导入，避免在内存中保留文档全文
+            Path tempFile = Files.createTempFile("swagger-import-", "." + contentType);
+            int count;
+            try {
+                file.transferTo(tempFile);
+                count = swaggerService.importSwaggerFile(tempFile, contentType, null);
+            } finally {
+                Files.deleteIfExists(tempFile);
             }
-
-            // 构建导入请求
-            SwaggerImportRequest request = new SwaggerImportRequest();
-            request.setContent(content);
-            request.setContentType(contentType);
-
-            // 执行导入
-            int count = swaggerService.importSwagger(request);
             return ApiResponse.success("成功导入" + count + "个接口（文件：" + fileName + "）", count);
             
         } catch (Exception e) {
@@ -90,6 +100,98 @@ public class SwaggerController {
         }
     }
 
+    /**
+     * 重新导入指定的Swagger文档（通过JSON/YAML内容或URL）
+     * 与已保存的接口和参数比较，只写入变化的部分
+     * 
+     * @param swaggerId Swagger文档ID
+     * @param request 导入请求
+     * @return 导入结果
+     */
+    @PutMapping("/{swaggerId}/import")
+    public ApiResponse<Integer> reimportSwagger(@PathVariable Long swaggerId, 
+                                                @Valid @RequestBody SwaggerImportRequest request) {
+        try {
+            int count = swaggerService.reimportSwagger(swaggerId, request);
+            return ApiResponse.success("成功导入" + count + "个接口", count);
+        } catch (Exception e) {
+            log.error("重新导入Swagger文档失败，swaggerId: {}", swaggerId, e);
+            return ApiResponse.error("导入失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 异步导入Swagger文档（通过JSON/YAML内容或URL）
+     * 
+     * @param request 导入请求
+     * @return 任务信息，通过任务ID查询导入进度
+     */
+    @PostMapping("/import/jobs")
+    public ApiResponse<ImportJobDTO> submitImportJob(@Valid @RequestBody SwaggerImportRequest request) {
+        try {
+            return ApiResponse.success("导入任务已提交", importJobService.submit(request));
+        } catch (RejectedExecutionException e) {
+            return ApiResponse.error(429, "导入任务过多，请稍后重试");
+        } catch (Exception e) {
+            log.error("提交导入任务失败", e);
+            return ApiResponse.error("提交导入任务失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 异步导入上传的Swagger文档文件
+     * 
+     * @param file 上传的文件（支持.json和.yaml/.yml格式）
+     * @return 任务信息，通过任务ID查询导入进度
+     */
+    @PostMapping("/import/jobs/file")
+    public ApiResponse<ImportJobDTO> submitImportJobByFile(@RequestParam("file") MultipartFile file) {
+        try {
+            if (file == null || file.isEmpty()) {
+                return ApiResponse.error(400, "上传的文件不能为空");
+            }
+            String fileName = file.getOriginalFilename();
+            if (fileName == null || fileName.isEmpty()) {
+                return ApiResponse.error(400, "文件名不能为空");
+            }
+            String contentType = determineContentType(fileName);
+            if (contentType == null) {
+                return ApiResponse.error(400, "不支持的文件格式，仅支持.json、.yaml、.yml格式");
+            }
+
+            // 上传文件在请求结束后会被清理，先转存为由任务管理的临时文件
+            Path tempFile = Files.createTempFile("swagger-import-", "." + contentType);
+            try {
+                file.transferTo(tempFile);
+            } catch (Exception e) {
+                Files.deleteIfExists(tempFile);
+                throw e;
+            }
+            return ApiResponse.success("导入任务已提交", importJobService.submitFile(tempFile, contentType, fileName));
+            
+        } catch (RejectedExecutionException e) {
+            return ApiResponse.error(429, "导入任务过多，请稍后重试");
+        } catch (Exception e) {
+            log.error("提交文件导入任务失败", e);
+            return ApiResponse.error("提交导入任务失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 查询异步导入任务
+     * 
+     * @param jobId 任务ID
+     * @return 任务阶段、已处理接口数、已写入行数等
+     */
+    @GetMapping("/import/jobs/{jobId}")
+    public ApiResponse<ImportJobDTO> getImportJob(@PathVariable String jobId) {
+        ImportJobDTO job = importJobService.getJob(jobId);
+        if (job == null) {
+            return ApiResponse.error(404, "导入任务不存在或已过期");
+        }
+        return ApiResponse.success(job);
+    }
+
     /**
      * 根据文件名判断内容类型
      * 
@@ -118,13 +220,153 @@ public class SwaggerController {
      * @return 接口列表（分页）
      */
     @GetMapping("/apis")
-    public ApiResponse<Page<ApiInfoDTO>> queryApiList(@Valid ApiQueryRequest request) {
+    public ResponseEntity<ApiResponse<Page<ApiInfoDTO>>> queryApiList(@Valid ApiQueryRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(dataVersions.listETag(), ifNoneMatch, () -> {
+            try {
+                Page<ApiInfoDTO> page = swaggerService.queryApiList(request);
+                return ApiResponse.success(page);
+            } catch (Exception e) {
+                log.error("查询接口列表失败", e);
+                return ApiResponse.error("查询失败: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 批量获取接口详情（NDJSON流，每行一个接口详情，不存在的接口跳过）
+     * 
+     * @param apiIds 接口ID列表
+     * @return 接口详情流
+     */
+    @PostMapping("/apis/details")
+    public ResponseEntity<StreamingResponseBody> getApiDetails(@RequestBody List<Long> apiIds) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(out -> swaggerService.writeApiDetails(apiIds, out));
+    }
+
+    /**
+     * 获取文档下全部接口的详情（NDJSON流，每行一个接口详情）
+     * 
+     * @param swaggerId Swagger文档ID
+     * @return 接口详情流
+     */
+    @GetMapping("/{swaggerId}/apis/details")
+    public ResponseEntity<?> getSwaggerApiDetails(@PathVariable Long swaggerId) {
+        List<Long> apiIds;
+        try {
+            apiIds = swaggerService.getApiIdsOfSwagger(swaggerId);
+        } catch (Exception e) {
+            log.error("查询接口详情失败", e);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(ApiResponse.error("查询失败: " + e.getMessage()));
+        }
+        StreamingResponseBody body = out -> swaggerService.writeApiDetails(apiIds, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    /**
+     * 导出文档保存的全部数据（NDJSON流：文档信息、服务器、接口、请求参数、响应参数各一行）
+     * 
+     * @param swaggerId Swagger文档ID
+     * @return 导出数据流
+     */
+    @GetMapping("/{swaggerId}/export")
+    public ResponseEntity<?> exportSwagger(@PathVariable Long swaggerId) {
+        SwaggerInfoSummary swagger;
+        try {
+            swagger = swaggerService.getExportableSwagger(swaggerId);
+        } catch (Exception e) {
+            log.error("导出Swagger文档失败", e);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(ApiResponse.error("导出失败: " + e.getMessage()));
+        }
+        StreamingResponseBody body = out -> swaggerService.exportSwagger(swagger, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"swagger-" + swaggerId + ".ndjson\"")
+            .body(body);
+    }
+
+    /**
+     * 游标分页查询接口列表
+     * 首页不传cursor，之后传上一页返回的nextCursor；不返回总数
+     * 
+     * @param request 查询请求
+     * @return 接口列表（游标分页）
+     */
+    @GetMapping("/apis/scroll")
+    public ResponseEntity<ApiResponse<CursorPageDTO<ApiInfoDTO>>> scrollApiList(@Valid ApiQueryRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(dataVersions.listETag(), ifNoneMatch, () -> {
+            try {
+                return ApiResponse.success(swaggerService.scrollApiList(request));
+            } catch (Exception e) {
+                log.error("查询接口列表失败", e);
+                return ApiResponse.error("查询失败: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 组合搜索接口
+     * 路径、方法、标签、文档ID、操作ID、描述条件同时生效，基于内存倒排索引，不扫描数据库
+     * 
+     * @param request 搜索条件
+     * @return 接口列表（按接口ID倒序分页）
+     */
+    @GetMapping("/apis/search")
+    public ResponseEntity<ApiResponse<Page<ApiInfoDTO>>> searchApis(@Valid ApiSearchRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(dataVersions.listETag(), ifNoneMatch, () -> {
+            try {
+                return ApiResponse.success(swaggerService.searchApis(request));
+            } catch (Exception e) {
+                log.error("搜索接口失败", e);
+                return ApiResponse.error("搜索失败: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 统计文档的标签及各标签的接口数量（用于按标签导航，点击标签后以tags参数查询接口列表）
+     * 
+     * @param swaggerId Swagger文档ID
+     * @return 标签及接口数量
+     */
+    @GetMapping("/{swaggerId}/tags")
+    public ResponseEntity<ApiResponse<List<TagFacetDTO>>> getTagFacets(@PathVariable Long swaggerId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(dataVersions.listETag(), ifNoneMatch, () -> {
+            try {
+                return ApiResponse.success(swaggerService.getTagFacets(swaggerId));
+            } catch (Exception e) {
+                log.error("查询标签统计失败", e);
+                return ApiResponse.error("查询失败: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 按请求方法和实际请求路径匹配文档中的接口，返回接口ID和路径变量
+     * 
+     * @param swaggerId Swagger文档ID
+     * @param method 请求方法
+     * @param path 请求路径，如 /accounts/123/balances
+     * @return 匹配结果
+     */
+    @GetMapping("/{swaggerId}/apis/match")
+    public ApiResponse<ApiMatchDTO> matchApi(@PathVariable Long swaggerId,
+                                             @RequestParam String method,
+                                             @RequestParam String path) {
         try {
-            Page<ApiInfoDTO> page = swaggerService.queryApiList(request);
-            return ApiResponse.success(page);
+            return ApiResponse.success(swaggerService.matchApi(swaggerId, method, path));
         } catch (Exception e) {
-            log.error("查询接口列表失败", e);
-            return ApiResponse.error("查询失败: " + e.getMessage());
+            log.error("匹配接口失败", e);
+            return ApiResponse.error(404, e.getMessage());
         }
     }
 
@@ -135,14 +377,131 @@ public class SwaggerController {
      * @return 接口详情
      */
     @GetMapping("/apis/{apiId}")
-    public ApiResponse<ApiDetailDTO> getApiDetail(@PathVariable Long apiId) {
+    public ResponseEntity<?> getApiDetail(@PathVariable Long apiId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        
+        // 已输出过且接口未变化时，不查询缓存和数据库直接返回304（记录过ETag说明接口存在，*同样匹配）
+        String knownETag = dataVersions.knownDetailETag(apiId);
+        if (knownETag != null && matchesETag(ifNoneMatch, detailETag(knownETag, gzip), true)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(detailETag(knownETag, gzip)).build();
+        }
+        
+        long version = dataVersions.apiVersion(apiId);
+        ApiDetailPayload payload;
         try {
-            ApiDetailDTO detail = swaggerService.getApiDetail(apiId);
-            return ApiResponse.success(detail);
+            payload = swaggerService.getApiDetailPayload(apiId);
         } catch (Exception e) {
             log.error("获取接口详情失败", e);
-            return ApiResponse.error("获取详情失败: " + e.getMessage());
+            return ResponseEntity.ok(ApiResponse.error("获取详情失败: " + e.getMessage()));
+        }
+        dataVersions.rememberDetailETag(apiId, payload.getEtag(), version);
+        
+        // 响应在导入时已序列化并压缩，这里直接输出字节
+        String etag = detailETag(payload.getEtag(), gzip);
+        if (matchesETag(ifNoneMatch, etag, true)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(etag)
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.getBody());
+        }
+        return response.body(swaggerService.getApiDetailBody(payload));
+    }
+
+    /**
+     * 客户端是否接受gzip：按Accept-Encoding中gzip（或x-gzip）的q值判断，未列出时按*的q值，q=0表示拒绝
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if ("gzip".equals(coding) || "x-gzip".equals(coding)) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if ("*".equals(coding)) {
+                anyQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : anyQuality;
+        return quality != null && quality > 0;
+    }
+
+    /**
+     * 接口详情ETag，gzip压缩的响应使用不同的ETag
+     */
+    private static String detailETag(String payloadETag, boolean gzip) {
+        return "\"" + payloadETag + (gzip ? "-gzip" : "") + "\"";
+    }
+
+    /**
+     * 条件请求：If-None-Match匹配时直接返回304，不执行查询；查询成功时附带ETag
+     * ETag在查询前获取，查询期间数据变化时下次请求会重新查询
+     * If-None-Match为*时需先执行查询，资源存在才返回304，不存在的资源仍返回查询的错误结果
+     */
+    private static <T> ResponseEntity<ApiResponse<T>> conditional(String etag, String ifNoneMatch, 
+                                                                  Supplier<ApiResponse<T>> query) {
+        if (matchesETag(ifNoneMatch, etag, false)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        ApiResponse<T> response = query.get();
+        if (response.getCode() == null || response.getCode() != 200) {
+            return ResponseEntity.ok(response);
+        }
+        if (matchesETag(ifNoneMatch, etag, true)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(response);
+    }
+
+    /**
+     * 判断If-None-Match是否匹配当前ETag（支持多个值和弱校验）
+     * 
+     * @param exists 资源是否已确认存在，只有存在时*才算匹配
+     */
+    private static boolean matchesETag(String ifNoneMatch, String etag, boolean exists) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (("*".equals(value) && exists) || etag.equals(value)) {
+                return true;
+            }
         }
+        return false;
+    }
+
+    /**
+     * 获取接口详情缓存统计
+     * 
+     * @return 缓存条目数、占用、命中/未命中次数等
+     */
+    @GetMapping("/cache/stats")
+    public ApiResponse<CacheStatsDTO> getCacheStats() {
+        return ApiResponse.success(swaggerService.getApiDetailCacheStats());
     }
 
     /**
@@ -150,26 +509,33 @@ public class SwaggerController {
      * 
      * @param apiId 接口ID
      * @param location 参数位置（path/header/query/form/body）
+     * @param view 视图（summary：不返回示例值和描述）
      * @return 请求参数列表
      */
     @GetMapping("/apis/{apiId}/request-params")
-    public ApiResponse<List<RequestParamDTO>> getRequestParamsByLocation(
+    public ResponseEntity<ApiResponse<List<RequestParamDTO>>> getRequestParamsByLocation(
             @PathVariable Long apiId,
-            @RequestParam(required = false) String location) {
-        try {
-            List<RequestParamDTO> params;
-            if (location != null && !location.isEmpty()) {
-                params = swaggerService.getRequestParamsByLocation(apiId, location);
-            } else {
-                // 如果没有指定location，返回所有请求参数
-                ApiDetailDTO detail = swaggerService.getApiDetail(apiId);
-                params = detail.getRequestParams();
-            }
-            return ApiResponse.success(params);
-        } catch (Exception e) {
-            log.error("查询请求参数失败", e);
-            return ApiResponse.error("查询失败: " + e.getMessage());
-        }
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(dataVersions.apiETag(apiId), ifNoneMatch, () -> {
+            try {
+                List<RequestParamDTO> params;
+                if (SwaggerService.isSummaryView(view)) {
+                    params = swaggerService.getRequestParamSummaries(apiId, location);
+                } else if (location != null && !location.isEmpty()) {
+                    params = swaggerService.getRequestParamsByLocation(apiId, location);
+                } else {
+                    // 如果没有指定location，返回所有请求参数
+                    ApiDetailDTO detail = swaggerService.getApiDetail(apiId);
+                    params = detail.getRequestParams();
+                }
+                return ApiResponse.success(params);
+            } catch (Exception e) {
+                log.error("查询请求参数失败", e);
+                return ApiResponse.error("查询失败: " + e.getMessage());
+            }
+        });
     }
 
     /**
@@ -177,19 +543,26 @@ public class SwaggerController {
      * 
      * @param apiId 接口ID
      * @param paramType 参数类型
+     * @param view 视图（summary：不返回示例值和描述）
      * @return 请求参数列表
      */
     @GetMapping("/apis/{apiId}/request-params/type")
-    public ApiResponse<List<RequestParamDTO>> getRequestParamsByType(
+    public ResponseEntity<ApiResponse<List<RequestParamDTO>>> getRequestParamsByType(
             @PathVariable Long apiId,
-            @RequestParam String paramType) {
-        try {
-            List<RequestParamDTO> params = swaggerService.getRequestParamsByType(apiId, paramType);
-            return ApiResponse.success(params);
-        } catch (Exception e) {
-            log.error("查询请求参数失败", e);
-            return ApiResponse.error("查询失败: " + e.getMessage());
-        }
+            @RequestParam String paramType,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(dataVersions.apiETag(apiId), ifNoneMatch, () -> {
+            try {
+                List<RequestParamDTO> params = SwaggerService.isSummaryView(view)
+                    ? swaggerService.getRequestParamSummariesByType(apiId, paramType)
+                    : swaggerService.getRequestParamsByType(apiId, paramType);
+                return ApiResponse.success(params);
+            } catch (Exception e) {
+                log.error("查询请求参数失败", e);
+                return ApiResponse.error("查询失败: " + e.getMessage());
+            }
+        });
     }
 
     /**
@@ -198,34 +571,104 @@ public class SwaggerController {
      * @param apiId 接口ID
      * @param statusCode 状态码
      * @param location 响应位置（body/header），可选
+     * @param view 视图（summary：不返回示例值和描述）
      * @return 响应参数列表
      */
     @GetMapping("/apis/{apiId}/response-params")
-    public ApiResponse<List<ResponseParamDTO>> getResponseParams(
+    public ResponseEntity<ApiResponse<List<ResponseParamDTO>>> getResponseParams(
             @PathVariable Long apiId,
             @RequestParam(required = false) String statusCode,
-            @RequestParam(required = false) String location) {
-        try {
-            List<ResponseParamDTO> params;
-            if (statusCode != null && !statusCode.isEmpty() && location != null && !location.isEmpty()) {
-                // 同时指定状态码和位置
-                params = swaggerService.getResponseParamsByStatusCodeAndLocation(apiId, statusCode, location);
-            } else if (statusCode != null && !statusCode.isEmpty()) {
-                // 只指定状态码
-                params = swaggerService.getResponseParamsByStatusCode(apiId, statusCode);
-            } else if (location != null && !location.isEmpty()) {
-                // 只指定位置
-                params = swaggerService.getResponseParamsByLocation(apiId, location);
-            } else {
-                // 都没有指定，返回所有响应参数
-                ApiDetailDTO detail = swaggerService.getApiDetail(apiId);
-                params = detail.getResponseParams();
-            }
-            return ApiResponse.success(params);
-        } catch (Exception e) {
-            log.error("查询响应参数失败", e);
-            return ApiResponse.error("查询失败: " + e.getMessage());
-        }
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(dataVersions.apiETag(apiId), ifNoneMatch, () -> {
+            try {
+                List<ResponseParamDTO> params;
+                if (SwaggerService.isSummaryView(view)) {
+                    params = swaggerService.getResponseParamSummaries(apiId, statusCode, location);
+                } else if (statusCode != null && !statusCode.isEmpty() && location != null && !location.isEmpty()) {
+                    // 同时指定状态码和位置
+                    params = swaggerService.getResponseParamsByStatusCodeAndLocation(apiId, statusCode, location);
+                } else if (statusCode != null && !statusCode.isEmpty()) {
+                    // 只指定状态码
+                    params = swaggerService.getResponseParamsByStatusCode(apiId, statusCode);
+                } else if (location != null && !location.isEmpty()) {
+                    // 只指定位置
+                    params = swaggerService.getResponseParamsByLocation(apiId, location);
+                } else {
+                    // 都没有指定，返回所有响应参数
+                    ApiDetailDTO detail = swaggerService.getApiDetail(apiId);
+                    params = detail.getResponseParams();
+                }
+                return ApiResponse.success(params);
+            } catch (Exception e) {
+                log.error("查询响应参数失败", e);
+                return ApiResponse.error("查询失败: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 获取接口参数树（请求参数、响应参数按层级嵌套）
+     * 
+     * @param apiId 接口ID
+     * @return 参数树
+     */
+    @GetMapping("/apis/{apiId}/param-tree")
+    public ResponseEntity<ApiResponse<ParamTreeDTO>> getParamTree(
+            @PathVariable Long apiId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(dataVersions.apiETag(apiId), ifNoneMatch, () -> {
+            try {
+                return ApiResponse.success(swaggerService.getParamTree(apiId));
+            } catch (Exception e) {
+                log.error("查询参数树失败", e);
+                return ApiResponse.error("查询失败: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 获取请求参数示例值（摘要视图不返回示例值，需要时单独获取）
+     * 
+     * @param apiId 接口ID
+     * @param paramId 参数ID
+     * @return 参数示例
+     */
+    @GetMapping("/apis/{apiId}/request-params/{paramId}/example")
+    public ResponseEntity<ApiResponse<ParamExampleDTO>> getRequestParamExample(
+            @PathVariable Long apiId,
+            @PathVariable Long paramId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(dataVersions.apiETag(apiId), ifNoneMatch, () -> {
+            try {
+                return ApiResponse.success(swaggerService.getRequestParamExample(apiId, paramId));
+            } catch (Exception e) {
+                log.error("查询请求参数示例失败", e);
+                return ApiResponse.error("查询失败: " + e.getMessage());
+            }
+        });
     }
-}
 
+    /**
+     * 获取响应参数示例值（摘要视图不返回示例值，需要时单独获取）
+     * 
+     * @param apiId 接口ID
+     * @param paramId 参数ID
+     * @return 参数示例
+     */
+    @GetMapping("/apis/{apiId}/response-params/{paramId}/example")
+    public ResponseEntity<ApiResponse<ParamExampleDTO>> getResponseParamExample(
+            @PathVariable Long apiId,
+            @PathVariable Long paramId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return conditional(dataVersions.apiETag(apiId), ifNoneMatch, () -> {
+            try {
+                return ApiResponse.success(swaggerService.getResponseParamExample(apiId, paramId));
+            } catch (Exception e) {
+                log.error("查询响应参数示例失败", e);
+                return ApiResponse.error("查询失败: " + e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package com.simulator.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * 请求路径匹配结果DTO
+ * 
+ * @author simulator
+ * @date 2024
+ */
+@Data
+public class ApiMatchDTO {
+    
+    /**
+     * Swagger文档ID
+     */
+    private Long swaggerId;
+    
+    /**
+     * 匹配的接口ID
+     */
+    private Long apiId;
+    
+    /**
+     * 请求方法
+     */
+    private String method;
+    
+    /**
+     * 接口路径模板
+     */
+    private String path;
+    
+    /**
+     * 路径变量（变量名到请求路径中的值）
+     */
+    private Map<String, String> pathVariables;
+}
@@ -22,7 +22,7 @@ public class ApiQueryRequest {
     private String method;
 
     /**
-     * 标签
+     * 标签（精确匹配）
      */
     private String tags;
 
@@ -45,5 +45,14 @@ public class ApiQueryRequest {
      * 排序方向（ASC/DESC）
      */
     private String sortDir = "DESC";
-}
 
+    /**
+     * 视图（summary：只返回窄列，不返回描述）
+     */
+    private String view;
+
+    /**
+     * 游标（游标分页时使用，为空表示第一页）
+     */
+    private String cursor;
+}
@@ -0,0 +1,59 @@
+package com.simulator.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * 接口组合搜索请求DTO
+ * 所有条件同时生效；文本条件按空格拆分为多个词，每个词都需出现在对应字段中（不区分大小写）
+ * 
+ * @author simulator
+ * @date 2024
+ */
+@Data
+public class ApiSearchRequest {
+
+    /**
+     * 接口路径
+     */
+    private String path;
+
+    /**
+     * 请求方法（精确匹配）
+     */
+    private String method;
+
+    /**
+     * 标签
+     */
+    private String tags;
+
+    /**
+     * Swagger文档ID（精确匹配）
+     */
+    private Long swaggerId;
+
+    /**
+     * 操作ID
+     */
+    private String operationId;
+
+    /**
+     * 描述
+     */
+    private String description;
+
+    /**
+     * 页码（从0开始）
+     */
+    @Min(0)
+    private Integer page = 0;
+
+    /**
+     * 每页大小
+     */
+    @Min(1)
+    @Max(1000)
+    private Integer size = 10;
+}
@@ -0,0 +1,63 @@
+package com.simulator.dto;
+
+import lombok.Data;
+
+/**
+ * 缓存统计DTO
+ *
+ * @author simulator
+ * @date 2024
+ */
+@Data
+public class CacheStatsDTO {
+
+    /**
+     * 缓存名称
+     */
+    private String name;
+
+    /**
+     * 当前条目数
+     */
+    private Integer size;
+
+    /**
+     * 最大条目数
+     */
+    private Integer maxEntries;
+
+    /**
+     * 当前估算占用（字节）
+     */
+    private Long weight;
+
+    /**
+     * 最大估算占用（字节）
+     */
+    private Long maxWeight;
+
+    /**
+     * 命中次数
+     */
+    private Long hits;
+
+    /**
+     * 未命中次数
+     */
+    private Long misses;
+
+    /**
+     * 命中率
+     */
+    private Double hitRate;
+
+    /**
+     * 因容量淘汰的条目数
+     */
+    private Long evictions;
+
+    /**
+     * 因导入失效的条目数
+     */
+    private Long invalidations;
+}
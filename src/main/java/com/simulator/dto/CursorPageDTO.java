@@ -0,0 +1,36 @@
+package com.simulator.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 游标分页结果DTO
+ * 不统计总数，以nextCursor请求下一页
+ * 
+ * @author simulator
+ * @date 2024
+ */
+@Data
+public class CursorPageDTO<T> {
+
+    /**
+     * 本页数据
+     */
+    private List<T> content;
+
+    /**
+     * 每页大小
+     */
+    private Integer size;
+
+    /**
+     * 是否还有下一页
+     */
+    private Boolean hasNext;
+
+    /**
+     * 下一页游标，没有下一页时为null
+     */
+    private String nextCursor;
+}
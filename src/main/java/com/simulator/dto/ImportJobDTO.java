@@ -0,0 +1,69 @@
+package com.simulator.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * 异步导入任务DTO
+ *
+ * @author simulator
+ * @date 2024
+ */
+@Data
+public class ImportJobDTO {
+
+    /**
+     * 任务ID
+     */
+    private String jobId;
+
+    /**
+     * 文档来源（文件名或URL）
+     */
+    private String source;
+
+    /**
+     * 当前阶段（QUEUED/DOWNLOADING/PARSING/SAVING/COMPLETED/FAILED）
+     */
+    private String phase;
+
+    /**
+     * 解析得到的接口总数
+     */
+    private Integer totalOperations;
+
+    /**
+     * 已保存的接口数
+     */
+    private Integer processedOperations;
+
+    /**
+     * 已写入的参数行数
+     */
+    private Long writtenRows;
+
+    /**
+     * 导入的接口数量（完成后）
+     */
+    private Integer importedCount;
+
+    /**
+     * 失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 提交时间
+     */
+    private LocalDateTime submitTime;
+
+    /**
+     * 开始执行时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishTime;
+}
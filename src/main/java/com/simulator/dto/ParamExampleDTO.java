@@ -0,0 +1,19 @@
+package com.simulator.dto;
+
+import lombok.Data;
+
+/**
+ * 参数示例DTO
+ * 摘要视图不返回示例值，需要时按参数单独获取
+ * 
+ * @author simulator
+ * @date 2024
+ */
+@Data
+public class ParamExampleDTO {
+
+    private Long id;
+    private String example;
+    private String patternExample;
+    private String fullJsonExample;
+}
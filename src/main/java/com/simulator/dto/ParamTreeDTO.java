@@ -0,0 +1,27 @@
+package com.simulator.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 接口参数树DTO
+ * 
+ * @author simulator
+ * @date 2024
+ */
+@Data
+public class ParamTreeDTO {
+
+    private Long apiId;
+
+    /**
+     * 请求参数树（根节点列表）
+     */
+    private List<ParamTreeNodeDTO> requestParams;
+
+    /**
+     * 响应参数树（根节点列表）
+     */
+    private List<ParamTreeNodeDTO> responseParams;
+}
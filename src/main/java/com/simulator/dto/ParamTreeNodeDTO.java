@@ -0,0 +1,26 @@
+package com.simulator.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 参数树节点DTO
+ * 
+ * @author simulator
+ * @date 2024
+ */
+@Data
+public class ParamTreeNodeDTO {
+
+    private Long id;
+    private String paramName;
+    private String location;
+    private String contentType;
+    private String statusCode;
+    private String paramType;
+    private Boolean required;
+    private String hierarchyPath;
+    private List<ParamTreeNodeDTO> children = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.simulator.dto;
+
+import lombok.Data;
+
+/**
+ * 标签统计DTO
+ * 
+ * @author simulator
+ * @date 2024
+ */
+@Data
+public class TagFacetDTO {
+
+    private String tagName;
+    private Long apiCount;
+}
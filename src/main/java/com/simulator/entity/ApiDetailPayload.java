@@ -0,0 +1,60 @@
+package com.simulator.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 接口详情响应实体类
+ * 导入时预生成的接口详情完整响应（UTF-8 JSON，gzip压缩），查询详情时直接输出
+ * 
+ * @author simulator
+ * @date 2024
+ */
+@Entity
+@Table(name = "api_detail_payload")
+@Data
+public class ApiDetailPayload {
+
+    /**
+     * 接口ID（与api_info一一对应）
+     */
+    @Id
+    @Column(name = "api_id")
+    private Long apiId;
+
+    /**
+     * 响应内容摘要，作为ETag
+     */
+    @Column(name = "etag", nullable = false, length = 64)
+    private String etag;
+
+    /**
+     * 压缩前的字节数
+     */
+    @Column(name = "content_length", nullable = false)
+    private Integer contentLength;
+
+    /**
+     * gzip压缩后的响应内容
+     */
+    @Lob
+    @Column(name = "body", nullable = false, columnDefinition = "LONGBLOB")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private byte[] body;
+
+    /**
+     * 生成时间
+     */
+    @Column(name = "create_time", nullable = false)
+    private LocalDateTime createTime;
+
+    @PrePersist
+    protected void onCreate() {
+        createTime = LocalDateTime.now();
+    }
+}
@@ -14,16 +14,19 @@ import java.util.List;
 @Entity
 @Table(name = "api_info", indexes = {
     @Index(name = "idx_path_method", columnList = "path,method"),
-    @Index(name = "idx_swagger_id", columnList = "swagger_id")
+    @Index(name = "idx_swagger_id", columnList = "swagger_id"),
+    @Index(name = "idx_create_time_id", columnList = "create_time,id")
 })
 @Data
 public class ApiInfo {
 
     /**
-     * 主键ID
+     * 主键ID（号段分配，支持JDBC批量插入）
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "api_info_id")
+    @TableGenerator(name = "api_info_id", table = "id_generator", pkColumnName = "gen_name",
+        valueColumnName = "gen_value", pkColumnValue = "api_info", allocationSize = 500)
     private Long id;
 
     /**
@@ -62,6 +65,12 @@ public class ApiInfo {
     @Column(name = "operation_id", length = 200)
     private String operationId;
 
+    /**
+     * 接口内容摘要（SHA-256），重新导入时用于跳过未变化的接口
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     /**
      * 创建时间
      */
@@ -74,6 +83,12 @@ public class ApiInfo {
     @Column(name = "update_time")
     private LocalDateTime updateTime;
 
+    /**
+     * 解析得到的标签列表（不持久化，导入时写入api_tag表）
+     */
+    @Transient
+    private List<String> tagNames;
+
     /**
      * 请求参数列表（一对多关系）
      */
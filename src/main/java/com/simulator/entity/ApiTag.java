@@ -0,0 +1,41 @@
+package com.simulator.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * 接口标签实体类
+ * 每个接口的每个标签一行，按标签查询接口和按文档统计标签均走索引
+ * 
+ * @author simulator
+ * @date 2024
+ */
+@Entity
+@Table(name = "api_tag", indexes = {
+    @Index(name = "idx_tag_name_api_id", columnList = "tag_name,api_id"),
+    @Index(name = "idx_swagger_id_tag_name", columnList = "swagger_id,tag_name")
+})
+@IdClass(ApiTagId.class)
+@Data
+public class ApiTag {
+
+    /**
+     * 接口ID（关联api_info表）
+     */
+    @Id
+    @Column(name = "api_id")
+    private Long apiId;
+
+    /**
+     * 标签名称
+     */
+    @Id
+    @Column(name = "tag_name", length = 200)
+    private String tagName;
+
+    /**
+     * Swagger文档ID（冗余字段，用于按文档统计标签）
+     */
+    @Column(name = "swagger_id", nullable = false)
+    private Long swaggerId;
+}
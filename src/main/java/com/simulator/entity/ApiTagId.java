@@ -0,0 +1,18 @@
+package com.simulator.entity;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 接口标签联合主键
+ * 
+ * @author simulator
+ * @date 2024
+ */
+@Data
+public class ApiTagId implements Serializable {
+
+    private Long apiId;
+    private String tagName;
+}
@@ -2,6 +2,8 @@ package com.simulator.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * 请求参数实体类
@@ -19,10 +21,12 @@ import lombok.Data;
 public class RequestParam {
 
     /**
-     * 主键ID
+     * 主键ID（号段分配，支持JDBC批量插入）
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "request_param_id")
+    @TableGenerator(name = "request_param_id", table = "id_generator", pkColumnName = "gen_name",
+        valueColumnName = "gen_value", pkColumnValue = "request_param", allocationSize = 500)
     private Long id;
 
     /**
@@ -79,6 +83,19 @@ public class RequestParam {
     @Column(name = "example", columnDefinition = "LONGTEXT")
     private String example;
 
+    /**
+     * 示例值是否由文档提供（为false时示例值根据类型、正则或结构生成）
+     */
+    @Column(name = "example_provided")
+    private Boolean exampleProvided = false;
+
+    /**
+     * 结构摘要（OpenAPI 3的body参数：body Schema及其直接和间接引用的组件Schema的SHA-256），
+     * 未展开的$ref组件变化时据此识别，使完整JSON示例随之更新
+     */
+    @Column(name = "schema_digest", length = 64)
+    private String schemaDigest;
+
     /**
      * 完整JSON示例（用于body类型，包含所有嵌套对象的完整JSON）
      */
@@ -103,6 +120,14 @@ public class RequestParam {
     @Column(name = "parent_id")
     private Long parentId;
 
+    /**
+     * 父参数（不持久化，解析时按层级路径关联，保存时据此填充parentId）
+     */
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private RequestParam parent;
+
     /**
      * 关联的接口信息
      */
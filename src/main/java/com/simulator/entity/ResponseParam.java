@@ -2,6 +2,8 @@ package com.simulator.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * 响应参数实体类
@@ -19,10 +21,12 @@ import lombok.Data;
 public class ResponseParam {
 
     /**
-     * 主键ID
+     * 主键ID（号段分配，支持JDBC批量插入）
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "response_param_id")
+    @TableGenerator(name = "response_param_id", table = "id_generator", pkColumnName = "gen_name",
+        valueColumnName = "gen_value", pkColumnValue = "response_param", allocationSize = 500)
     private Long id;
 
     /**
@@ -67,6 +71,19 @@ public class ResponseParam {
     @Column(name = "example", columnDefinition = "LONGTEXT")
     private String example;
 
+    /**
+     * 示例值是否由文档提供（为false时示例值根据类型、正则或结构生成）
+     */
+    @Column(name = "example_provided")
+    private Boolean exampleProvided = false;
+
+    /**
+     * 结构摘要（OpenAPI 3的body参数：body Schema及其直接和间接引用的组件Schema的SHA-256），
+     * 未展开的$ref组件变化时据此识别，使完整JSON示例随之更新
+     */
+    @Column(name = "schema_digest", length = 64)
+    private String schemaDigest;
+
     /**
      * 参数描述
      */
@@ -85,6 +102,14 @@ public class ResponseParam {
     @Column(name = "parent_id")
     private Long parentId;
 
+    /**
+     * 父参数（不持久化，解析时按层级路径关联，保存时据此填充parentId）
+     */
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ResponseParam parent;
+
     /**
      * 关联的接口信息
      */
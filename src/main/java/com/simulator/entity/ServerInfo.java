@@ -18,10 +18,12 @@ import java.time.LocalDateTime;
 public class ServerInfo {
 
     /**
-     * 主键ID
+     * 主键ID（号段分配，支持JDBC批量插入）
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "server_info_id")
+    @TableGenerator(name = "server_info_id", table = "id_generator", pkColumnName = "gen_name",
+        valueColumnName = "gen_value", pkColumnValue = "server_info", allocationSize = 500)
     private Long id;
 
     /**
@@ -2,6 +2,10 @@ package com.simulator.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.sql.Clob;
 import java.time.LocalDateTime;
 
 /**
@@ -11,10 +15,27 @@ import java.time.LocalDateTime;
  * @date 2024
  */
 @Entity
-@Table(name = "swagger_info")
+@Table(name = "swagger_info", indexes = {
+    @Index(name = "idx_content_hash", columnList = "content_hash")
+})
 @Data
 public class SwaggerInfo {
 
+    /**
+     * 导入中，接口数据尚未对外可见
+     */
+    public static final String STATUS_PENDING = "PENDING";
+
+    /**
+     * 已生效
+     */
+    public static final String STATUS_ACTIVE = "ACTIVE";
+
+    /**
+     * 导入失败
+     */
+    public static final String STATUS_FAILED = "FAILED";
+
     /**
      * 主键ID
      */
@@ -48,9 +69,19 @@ public class SwaggerInfo {
 
     /**
      * 文档原始内容（可选，用于备份）
+     * 以LOB方式读写，导入大文档时可直接从文件流写入
      */
+    @Lob
     @Column(name = "content", columnDefinition = "LONGTEXT")
-    private String content;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Clob content;
+
+    /**
+     * 文档原始内容摘要（SHA-256），内容相同的重复导入直接跳过
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
 
     /**
      * 文档来源（file/url/content）
@@ -64,6 +95,12 @@ public class SwaggerInfo {
     @Column(name = "source_url", length = 500)
     private String sourceUrl;
 
+    /**
+     * 文档状态（PENDING/ACTIVE/FAILED），只有ACTIVE文档的接口可被查询
+     */
+    @Column(name = "status", columnDefinition = "VARCHAR(20) NOT NULL DEFAULT 'ACTIVE'")
+    private String status;
+
     /**
      * 创建时间
      */
@@ -80,6 +117,9 @@ public class SwaggerInfo {
     protected void onCreate() {
         createTime = LocalDateTime.now();
         updateTime = LocalDateTime.now();
+        if (status == null) {
+            status = STATUS_ACTIVE;
+        }
     }
 
     @PreUpdate
@@ -0,0 +1,276 @@
+package com.simulator.parser;
+
+import cn.hutool.core.util.HexUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.simulator.entity.RequestParam;
+import com.simulator.entity.ResponseParam;
+import com.simulator.util.ExampleCache;
+import io.swagger.models.Model;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单次文档解析上下文
+ * 保存文档模型、按$ref名称缓存的扁平化参数模板、组件JSON示例及缓存命中统计，由并行解析的各接口共享
+ *
+ * @author simulator
+ * @date 2024
+ */
+class ParseContext {
+
+    /**
+     * 模板根路径占位符：在非空父路径下展开的模板以此为前缀，复用时替换为实际父路径
+     */
+    static final String TEMPLATE_ROOT = "\u0000";
+
+    private static final String COMPONENT_SCHEMA_PREFIX = "#/components/schemas/";
+
+    private final OpenAPI openAPI;
+    private final io.swagger.models.Swagger swagger;
+
+    /**
+     * 是否展开OpenAPI 3请求/响应Schema中的$ref引用（Swagger 2.0的引用始终展开）
+     */
+    private final boolean expandRefs;
+
+    private final Map<String, List<RequestParam>> requestTemplates = new ConcurrentHashMap<>();
+    private final Map<String, List<ResponseParam>> responseTemplates = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final ExampleCache exampleCache = new ExampleCache();
+    private final Map<String, SchemaShape> componentShapes = new ConcurrentHashMap<>();
+
+    /**
+     * 当前线程正在展开的$ref链，用于识别循环引用
+     * 单个接口的解析始终在同一线程内完成
+     */
+    private final ThreadLocal<Deque<RefFrame>> refStack = ThreadLocal.withInitial(ArrayDeque::new);
+
+    ParseContext(OpenAPI openAPI, boolean expandRefs) {
+        this.openAPI = openAPI;
+        this.swagger = null;
+        this.expandRefs = expandRefs;
+    }
+
+    ParseContext(io.swagger.models.Swagger swagger) {
+        this.openAPI = null;
+        this.swagger = swagger;
+        this.expandRefs = true;
+    }
+
+    OpenAPI getOpenAPI() {
+        return openAPI;
+    }
+
+    io.swagger.models.Swagger getSwagger() {
+        return swagger;
+    }
+
+    ExampleCache getExampleCache() {
+        return exampleCache;
+    }
+
+    /**
+     * 获取$ref引用的组件名称（仅支持#/components/schemas/下的本地引用）
+     */
+    String getComponentName(Schema schema) {
+        if (schema == null || schema.get$ref() == null || !schema.get$ref().startsWith(COMPONENT_SCHEMA_PREFIX)) {
+            return null;
+        }
+        return schema.get$ref().substring(COMPONENT_SCHEMA_PREFIX.length());
+    }
+
+    /**
+     * 解析$ref引用，返回组件Schema；未开启引用展开、非引用或无法解析时返回原Schema
+     */
+    Schema resolveSchema(Schema schema) {
+        String name = getComponentName(schema);
+        if (!expandRefs || name == null || openAPI == null || openAPI.getComponents() == null
+                || openAPI.getComponents().getSchemas() == null) {
+            return schema;
+        }
+        Schema resolved = openAPI.getComponents().getSchemas().get(name);
+        return resolved != null ? resolved : schema;
+    }
+
+    /**
+     * 计算Schema的结构摘要：Schema本身及其直接和间接引用的组件Schema（按名称排序）序列化后的SHA-256
+     * 组件的序列化结果在单次解析内只计算一次
+     *
+     * @return 64位十六进制摘要，Schema为空或不是OpenAPI 3文档时返回null
+     */
+    String schemaDigest(Schema schema) {
+        if (schema == null || openAPI == null) {
+            return null;
+        }
+        SchemaShape root = SchemaShape.of(schema);
+        Set<String> names = new TreeSet<>();
+        Deque<String> pending = new ArrayDeque<>(root.refs);
+        while (!pending.isEmpty()) {
+            String name = pending.pop();
+            if (names.add(name)) {
+                pending.addAll(componentShape(name).refs);
+            }
+        }
+
+        MessageDigest digest = newDigest();
+        digest.update(root.json.getBytes(StandardCharsets.UTF_8));
+        for (String name : names) {
+            digest.update((byte) 0);
+            digest.update(name.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '=');
+            digest.update(componentShape(name).json.getBytes(StandardCharsets.UTF_8));
+        }
+        return HexUtil.encodeHexStr(digest.digest());
+    }
+
+    private SchemaShape componentShape(String name) {
+        return componentShapes.computeIfAbsent(name, key -> {
+            Map<String, Schema> schemas = openAPI.getComponents() != null ? openAPI.getComponents().getSchemas() : null;
+            Schema component = schemas != null ? schemas.get(key) : null;
+            return component != null ? SchemaShape.of(component) : SchemaShape.MISSING;
+        });
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前JVM不支持SHA-256", e);
+        }
+    }
+
+    /**
+     * 获取Swagger 2.0 definitions中的Model
+     */
+    Model getDefinition(String ref) {
+        if (swagger == null || swagger.getDefinitions() == null) {
+            return null;
+        }
+        return swagger.getDefinitions().get(ref);
+    }
+
+    /**
+     * 判断引用是否已在当前展开链中（循环引用）
+     * 若是，则链上位于该引用之后的帧都依赖此次截断，其模板不可缓存
+     */
+    boolean isExpanding(String ref) {
+        Deque<RefFrame> stack = refStack.get();
+        if (stack.stream().noneMatch(frame -> frame.ref.equals(ref))) {
+            return false;
+        }
+        for (RefFrame frame : stack) {
+            if (frame.ref.equals(ref)) {
+                break;
+            }
+            frame.truncated = true;
+        }
+        return true;
+    }
+
+    void enterRef(String ref) {
+        refStack.get().push(new RefFrame(ref));
+    }
+
+    /**
+     * 结束引用展开
+     *
+     * @return 展开结果是否与调用上下文无关（可缓存）
+     */
+    boolean exitRef() {
+        Deque<RefFrame> stack = refStack.get();
+        RefFrame frame = stack.pop();
+        if (stack.isEmpty()) {
+            refStack.remove();
+        }
+        return !frame.truncated;
+    }
+
+    List<RequestParam> getRequestTemplate(String key) {
+        return countLookup(requestTemplates.get(key));
+    }
+
+    void putRequestTemplate(String key, List<RequestParam> template) {
+        requestTemplates.putIfAbsent(key, List.copyOf(template));
+    }
+
+    List<ResponseParam> getResponseTemplate(String key) {
+        return countLookup(responseTemplates.get(key));
+    }
+
+    void putResponseTemplate(String key, List<ResponseParam> template) {
+        responseTemplates.putIfAbsent(key, List.copyOf(template));
+    }
+
+    private <T> T countLookup(T template) {
+        if (template != null) {
+            cacheHits.increment();
+        } else {
+            cacheMisses.increment();
+        }
+        return template;
+    }
+
+    long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    /**
+     * Schema的序列化结果及其直接引用的组件名称
+     */
+    private static final class SchemaShape {
+        private static final SchemaShape MISSING = new SchemaShape("null", Set.of());
+
+        private final String json;
+        private final Set<String> refs;
+
+        private SchemaShape(String json, Set<String> refs) {
+            this.json = json;
+            this.refs = refs;
+        }
+
+        static SchemaShape of(Schema schema) {
+            JsonNode tree = Json.mapper().valueToTree(schema);
+            Set<String> refs = new HashSet<>();
+            collectRefs(tree, refs);
+            return new SchemaShape(tree.toString(), refs);
+        }
+
+        private static void collectRefs(JsonNode node, Set<String> refs) {
+            JsonNode ref = node.get("$ref");
+            if (ref != null && ref.isTextual() && ref.asText().startsWith(COMPONENT_SCHEMA_PREFIX)) {
+                refs.add(ref.asText().substring(COMPONENT_SCHEMA_PREFIX.length()));
+            }
+            for (JsonNode child : node) {
+                collectRefs(child, refs);
+            }
+        }
+    }
+
+    private static class RefFrame {
+        private final String ref;
+        private boolean truncated;
+
+        RefFrame(String ref) {
+            this.ref = ref;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.simulator.parser;
 
 import com.simulator.entity.*;
+import com.simulator.util.ApiDigest;
+import com.simulator.util.ParamTree;
 import com.simulator.util.RegexExampleGenerator;
 import com.simulator.util.Swagger2JsonExampleGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.swagger.models.*;
 import io.swagger.models.parameters.*;
 import io.swagger.models.properties.*;
@@ -16,13 +20,28 @@ import io.swagger.v3.oas.models.media.*;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.parser.OpenAPIResolver;
 import io.swagger.v3.parser.OpenAPIV3Parser;
 import io.swagger.v3.parser.core.models.ParseOptions;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import io.swagger.v3.parser.util.InlineModelResolver;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.jdbc.ClobProxy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.LoaderOptions;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Swagger解析器
@@ -35,6 +54,31 @@ import java.util.*;
 @Component
 public class SwaggerParser {
 
+    /**
+     * 流式解析YAML时允许的最大字符数（SnakeYAML默认仅3MB）
+     */
+    private static final int MAX_YAML_CODE_POINTS = 64 * 1024 * 1024;
+    private static final int YAML_SNIFF_LIMIT = 1024;
+    private static final ObjectMapper JSON_TREE_MAPPER = new ObjectMapper();
+    private static final ObjectMapper YAML_TREE_MAPPER = createYamlTreeMapper();
+
+    /**
+     * 接口并行解析线程数（0表示使用CPU核数，1表示串行解析）
+     */
+    @Value("${simulator.parser.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * 是否将OpenAPI 3请求/响应Schema中的$ref组件展开为子参数（默认不展开，与Swagger 2.0不同）
+     */
+    @Value("${simulator.parser.expand-refs:false}")
+    private boolean expandRefs;
+
+    /**
+     * 接口解析线程池（按需创建，所有导入共享，线程数受parallelism限制）
+     */
+    private volatile ForkJoinPool parsePool;
+
     /**
      * 解析Swagger文档
      * 
@@ -64,6 +108,90 @@ public class SwaggerParser {
         }
     }
 
+    /**
+     * 从文件解析Swagger文档
+     * 文件流直接解析为JSON树后构建文档模型，不生成文档全文字符串，解析结果中的文档原始内容为空
+     * 
+     * @param file 文档文件
+     * @param contentType 内容类型（json/yaml），为空时根据首个非空白字符判断
+     * @return 解析结果，包含所有接口信息
+     */
+    public ParseResult parse(java.nio.file.Path file, String contentType) {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            JsonNode root = readTree(in, contentType);
+            if (root == null || !root.isObject()) {
+                throw new RuntimeException("Swagger文档内容为空");
+            }
+            
+            String version = root.path("swagger").asText().startsWith("2") ? "v2" : "v3";
+            log.info("检测到Swagger版本: {}", version);
+            
+            if ("v2".equals(version)) {
+                io.swagger.models.Swagger swagger = new io.swagger.parser.SwaggerParser().read(root, true);
+                if (swagger == null) {
+                    throw new RuntimeException("无法解析Swagger 2.0文档：解析器返回null");
+                }
+                return buildSwagger2Result(swagger, null);
+            }
+            return buildOpenAPI3Result(readOpenAPI(root), null);
+            
+        } catch (Exception e) {
+            log.error("解析Swagger文档失败", e);
+            throw new RuntimeException("解析Swagger文档失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 将文档流解析为JSON树
+     */
+    private JsonNode readTree(InputStream in, String contentType) throws IOException {
+        boolean json = contentType != null ? "json".equalsIgnoreCase(contentType) : startsWithBrace(in);
+        return json ? JSON_TREE_MAPPER.readTree(in) : YAML_TREE_MAPPER.readTree(in);
+    }
+
+    /**
+     * 判断文档首个非空白字符是否为'{'（不消费流）
+     */
+    private boolean startsWithBrace(InputStream in) throws IOException {
+        in.mark(YAML_SNIFF_LIMIT);
+        try {
+            for (int i = 0; i < YAML_SNIFF_LIMIT; i++) {
+                int c = in.read();
+                if (c == -1 || !Character.isWhitespace(c)) {
+                    return c == '{';
+                }
+            }
+            return false;
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * 从JSON树构建OpenAPI 3.0模型（与readContents相同的引用解析和内联模型扁平化）
+     */
+    private OpenAPI readOpenAPI(JsonNode root) {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setFlatten(true);
+        
+        SwaggerParseResult parseResult = new OpenAPIV3Parser().parseJsonNode(null, root, options);
+        OpenAPI openAPI = parseResult.getOpenAPI();
+        if (openAPI == null) {
+            throw new RuntimeException("无法解析OpenAPI文档: " + parseResult.getMessages());
+        }
+        new OpenAPIResolver(openAPI, new ArrayList<>(), null, null, options).resolve(parseResult);
+        new InlineModelResolver(options.isFlattenComposedSchemas(), options.isCamelCaseFlattenNaming(),
+            options.isSkipMatches()).flatten(openAPI);
+        return openAPI;
+    }
+
+    private static ObjectMapper createYamlTreeMapper() {
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setCodePointLimit(MAX_YAML_CODE_POINTS);
+        return new ObjectMapper(YAMLFactory.builder().loaderOptions(loaderOptions).build());
+    }
+
     /**
      * 检测Swagger文档版本
      */
@@ -96,8 +224,6 @@ public class SwaggerParser {
      * 解析OpenAPI 3.0文档
      */
     private ParseResult parseOpenAPI3(String content) {
-        ParseResult result = new ParseResult();
-        
         // 使用swagger-parser解析
         OpenAPIV3Parser parser = new OpenAPIV3Parser();
         ParseOptions options = new ParseOptions();
@@ -111,6 +237,18 @@ public class SwaggerParser {
             throw new RuntimeException("无法解析OpenAPI文档: " + parseResult.getMessages());
         }
         
+        return buildOpenAPI3Result(openAPI, content);
+    }
+
+    /**
+     * 根据OpenAPI 3.0模型构建解析结果
+     * 
+     * @param openAPI 文档模型
+     * @param content 文档原始内容，可为null
+     */
+    private ParseResult buildOpenAPI3Result(OpenAPI openAPI, String content) {
+        ParseResult result = new ParseResult();
+        
         // 解析Swagger文档信息
         SwaggerInfo swaggerInfo = parseSwaggerInfo(openAPI, "v3", content);
         result.setSwaggerInfo(swaggerInfo);
@@ -120,18 +258,20 @@ public class SwaggerParser {
         result.setServers(servers);
         
         // 解析接口信息
-        List<ApiInfo> apiInfos = new ArrayList<>();
+        ParseContext ctx = new ParseContext(openAPI, expandRefs);
+        List<Supplier<ApiInfo>> operationTasks = new ArrayList<>();
         if (openAPI.getPaths() != null) {
             for (Map.Entry<String, PathItem> pathEntry : openAPI.getPaths().entrySet()) {
                 String path = pathEntry.getKey();
                 PathItem pathItem = pathEntry.getValue();
                 
                 // 解析各个HTTP方法的接口
-                parsePathItem(path, pathItem, openAPI, apiInfos, "v3");
+                parsePathItem(path, pathItem, ctx, operationTasks, "v3");
             }
         }
         
-        result.setApiInfos(apiInfos);
+        result.setApiInfos(parseOperations(operationTasks));
+        recordCacheStats(result, ctx);
         return result;
     }
 
@@ -139,8 +279,6 @@ public class SwaggerParser {
      * 解析Swagger 2.0文档
      */
     private ParseResult parseSwagger2(String content) {
-        ParseResult result = new ParseResult();
-        
         try {
             // 使用 swagger-parser 解析（支持JSON和YAML格式）
             io.swagger.models.Swagger swagger = null;
@@ -181,32 +319,7 @@ public class SwaggerParser {
                 throw new RuntimeException("无法解析Swagger 2.0文档：解析器返回null");
             }
             
-            log.info("成功解析 Swagger 2.0 文档，版本: {}, 标题: {}", 
-                swagger.getSwagger(), 
-                swagger.getInfo() != null ? swagger.getInfo().getTitle() : "未知");
-            
-            // 解析Swagger文档信息
-            SwaggerInfo swaggerInfo = parseSwagger2Info(swagger, content);
-            result.setSwaggerInfo(swaggerInfo);
-            
-            // 解析服务器信息
-            List<ServerInfo> servers = parseSwagger2Servers(swagger);
-            result.setServers(servers);
-            
-            // 解析接口信息
-            List<ApiInfo> apiInfos = new ArrayList<>();
-            if (swagger.getPaths() != null) {
-                for (Map.Entry<String, Path> pathEntry : swagger.getPaths().entrySet()) {
-                    String path = pathEntry.getKey();
-                    Path pathItem = pathEntry.getValue();
-                    
-                    // 解析各个HTTP方法的接口
-                    parseSwagger2PathItem(path, pathItem, swagger, apiInfos);
-                }
-            }
-            
-            result.setApiInfos(apiInfos);
-            return result;
+            return buildSwagger2Result(swagger, content);
             
         } catch (Exception e) {
             log.error("解析Swagger 2.0文档失败", e);
@@ -214,6 +327,45 @@ public class SwaggerParser {
         }
     }
 
+    /**
+     * 根据Swagger 2.0模型构建解析结果
+     * 
+     * @param swagger 文档模型
+     * @param content 文档原始内容，可为null
+     */
+    private ParseResult buildSwagger2Result(io.swagger.models.Swagger swagger, String content) {
+        ParseResult result = new ParseResult();
+        
+        log.info("成功解析 Swagger 2.0 文档，版本: {}, 标题: {}", 
+            swagger.getSwagger(), 
+            swagger.getInfo() != null ? swagger.getInfo().getTitle() : "未知");
+        
+        // 解析Swagger文档信息
+        SwaggerInfo swaggerInfo = parseSwagger2Info(swagger, content);
+        result.setSwaggerInfo(swaggerInfo);
+        
+        // 解析服务器信息
+        List<ServerInfo> servers = parseSwagger2Servers(swagger);
+        result.setServers(servers);
+        
+        // 解析接口信息
+        ParseContext ctx = new ParseContext(swagger);
+        List<Supplier<ApiInfo>> operationTasks = new ArrayList<>();
+        if (swagger.getPaths() != null) {
+            for (Map.Entry<String, Path> pathEntry : swagger.getPaths().entrySet()) {
+                String path = pathEntry.getKey();
+                Path pathItem = pathEntry.getValue();
+                
+                // 解析各个HTTP方法的接口
+                parseSwagger2PathItem(path, pathItem, ctx, operationTasks);
+            }
+        }
+        
+        result.setApiInfos(parseOperations(operationTasks));
+        recordCacheStats(result, ctx);
+        return result;
+    }
+
     /**
      * 解析Swagger文档信息（OpenAPI 3.0）
      */
@@ -228,7 +380,7 @@ public class SwaggerParser {
         }
         
         swaggerInfo.setSwaggerVersion(swaggerVersion);
-        swaggerInfo.setContent(content);
+        swaggerInfo.setContent(content != null ? ClobProxy.generateProxy(content) : null);
         swaggerInfo.setSource("content");
         
         return swaggerInfo;
@@ -248,7 +400,7 @@ public class SwaggerParser {
         }
         
         swaggerInfo.setSwaggerVersion("v2");
-        swaggerInfo.setContent(content);
+        swaggerInfo.setContent(content != null ? ClobProxy.generateProxy(content) : null);
         swaggerInfo.setSource("content");
         
         return swaggerInfo;
@@ -319,33 +471,105 @@ public class SwaggerParser {
     }
 
     /**
-     * 解析PathItem（包含多个HTTP方法）
+     * 解析PathItem（包含多个HTTP方法），每个Operation生成一个解析任务
      */
-    private void parsePathItem(String path, PathItem pathItem, OpenAPI openAPI, 
-                               List<ApiInfo> apiInfos, String version) {
+    private void parsePathItem(String path, PathItem pathItem, ParseContext ctx, 
+                               List<Supplier<ApiInfo>> operationTasks, String version) {
         // GET方法
         if (pathItem.getGet() != null) {
-            apiInfos.add(parseOperation(path, "GET", pathItem.getGet(), openAPI, version));
+            operationTasks.add(() -> parseOperation(path, "GET", pathItem.getGet(), ctx, version));
         }
         
         // POST方法
         if (pathItem.getPost() != null) {
-            apiInfos.add(parseOperation(path, "POST", pathItem.getPost(), openAPI, version));
+            operationTasks.add(() -> parseOperation(path, "POST", pathItem.getPost(), ctx, version));
         }
         
         // PUT方法
         if (pathItem.getPut() != null) {
-            apiInfos.add(parseOperation(path, "PUT", pathItem.getPut(), openAPI, version));
+            operationTasks.add(() -> parseOperation(path, "PUT", pathItem.getPut(), ctx, version));
         }
         
         // DELETE方法
         if (pathItem.getDelete() != null) {
-            apiInfos.add(parseOperation(path, "DELETE", pathItem.getDelete(), openAPI, version));
+            operationTasks.add(() -> parseOperation(path, "DELETE", pathItem.getDelete(), ctx, version));
         }
         
         // PATCH方法
         if (pathItem.getPatch() != null) {
-            apiInfos.add(parseOperation(path, "PATCH", pathItem.getPatch(), openAPI, version));
+            operationTasks.add(() -> parseOperation(path, "PATCH", pathItem.getPatch(), ctx, version));
+        }
+    }
+
+    /**
+     * 记录扁平化模板缓存命中情况
+     */
+    private void recordCacheStats(ParseResult result, ParseContext ctx) {
+        result.setFlattenCacheHits(ctx.getCacheHits());
+        result.setFlattenCacheMisses(ctx.getCacheMisses());
+        log.info("扁平化模板缓存命中{}次，未命中{}次；JSON示例缓存命中{}次，未命中{}次",
+            ctx.getCacheHits(), ctx.getCacheMisses(),
+            ctx.getExampleCache().getHits(), ctx.getExampleCache().getMisses());
+    }
+
+    /**
+     * 执行单个接口解析任务，关联参数的父参数并计算接口内容摘要
+     */
+    private static ApiInfo parseAndDigest(Supplier<ApiInfo> operationTask) {
+        ApiInfo apiInfo = operationTask.get();
+        ParamTree.link(apiInfo);
+        apiInfo.setContentHash(ApiDigest.digest(apiInfo));
+        return apiInfo;
+    }
+
+    /**
+     * 执行接口解析任务
+     * 并行度大于1时在共享线程池中并行解析，结果按文档中的接口顺序返回
+     */
+    private List<ApiInfo> parseOperations(List<Supplier<ApiInfo>> operationTasks) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        if (threads <= 1 || operationTasks.size() <= 1) {
+            return operationTasks.stream().map(SwaggerParser::parseAndDigest).collect(Collectors.toList());
+        }
+        
+        try {
+            return getParsePool(threads).submit(() -> operationTasks.parallelStream()
+                .map(SwaggerParser::parseAndDigest)
+                .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("并行解析接口被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("并行解析接口失败: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * 获取接口解析线程池
+     */
+    private ForkJoinPool getParsePool(int threads) {
+        ForkJoinPool pool = parsePool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = parsePool;
+                if (pool == null) {
+                    pool = new ForkJoinPool(threads);
+                    parsePool = pool;
+                    log.info("创建接口解析线程池，并行度: {}", threads);
+                }
+            }
+        }
+        return pool;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (parsePool != null) {
+            parsePool.shutdown();
         }
     }
 
@@ -353,7 +577,7 @@ public class SwaggerParser {
      * 解析单个Operation
      */
     private ApiInfo parseOperation(String path, String method, Operation operation, 
-                                   OpenAPI openAPI, String version) {
+                                   ParseContext ctx, String version) {
         ApiInfo apiInfo = new ApiInfo();
         apiInfo.setPath(path);
         apiInfo.setMethod(method);
@@ -363,6 +587,7 @@ public class SwaggerParser {
         // 解析标签
         if (operation.getTags() != null && !operation.getTags().isEmpty()) {
             apiInfo.setTags(String.join(",", operation.getTags()));
+            apiInfo.setTagNames(operation.getTags());
         }
         
         // 解析请求参数
@@ -375,7 +600,7 @@ public class SwaggerParser {
         
         // 解析请求体
         if (operation.getRequestBody() != null) {
-            requestParams.addAll(parseRequestBody(operation.getRequestBody(), "", openAPI));
+            requestParams.addAll(parseRequestBody(operation.getRequestBody(), "", ctx));
         }
         
         apiInfo.setRequestParams(requestParams);
@@ -386,7 +611,7 @@ public class SwaggerParser {
             for (Map.Entry<String, ApiResponse> responseEntry : operation.getResponses().entrySet()) {
                 String statusCode = responseEntry.getKey();
                 ApiResponse apiResponse = responseEntry.getValue();
-                responseParams.addAll(parseApiResponse(statusCode, apiResponse, openAPI, ""));
+                responseParams.addAll(parseApiResponse(statusCode, apiResponse, ctx, ""));
             }
         }
         apiInfo.setResponseParams(responseParams);
@@ -409,6 +634,7 @@ public class SwaggerParser {
                         // 优先使用Header本身的example
                         if (header.getExample() != null) {
                             responseParam.setExample(String.valueOf(header.getExample()));
+                            responseParam.setExampleProvided(true);
                         }
                         
                         if (header.getSchema() != null) {
@@ -423,6 +649,7 @@ public class SwaggerParser {
                             // 如果Header没有example，则从Schema获取
                             if (responseParam.getExample() == null) {
                                 responseParam.setExample(getExampleFromSchema(header.getSchema()));
+                                responseParam.setExampleProvided(hasExample(header.getSchema()));
                             }
                             
                             // 如果仍然没有example但有pattern，根据pattern生成example
@@ -462,10 +689,13 @@ public class SwaggerParser {
         
         String currentPath = parentPath.isEmpty() ? parameter.getName() : parentPath + "." + parameter.getName();
         requestParam.setHierarchyPath(currentPath);
+        // 先父后子：对象类型参数的属性排在参数本身之后，保存时父参数先分配主键
+        params.add(requestParam);
         
         // 优先使用Parameter本身的example，如果没有则使用Schema的example
         if (parameter.getExample() != null) {
             requestParam.setExample(String.valueOf(parameter.getExample()));
+            requestParam.setExampleProvided(true);
         }
         
         if (parameter.getSchema() != null) {
@@ -473,6 +703,7 @@ public class SwaggerParser {
             // 如果Parameter没有example，则从Schema获取
             if (requestParam.getExample() == null) {
                 requestParam.setExample(getExampleFromSchema(parameter.getSchema()));
+                requestParam.setExampleProvided(hasExample(parameter.getSchema()));
             }
             requestParam.setPattern(getPatternFromSchema(parameter.getSchema()));
             
@@ -503,14 +734,13 @@ public class SwaggerParser {
             }
         }
         
-        params.add(requestParam);
         return params;
     }
 
     /**
      * 解析RequestBody
      */
-    private List<RequestParam> parseRequestBody(RequestBody requestBody, String parentPath, OpenAPI openAPI) {
+    private List<RequestParam> parseRequestBody(RequestBody requestBody, String parentPath, ParseContext ctx) {
         List<RequestParam> params = new ArrayList<>();
         
         if (requestBody.getContent() != null) {
@@ -520,7 +750,7 @@ public class SwaggerParser {
                 if (mediaType.getSchema() != null) {
                     // 生成完整的JSON示例（传入OpenAPI以支持$ref引用解析）
                     String fullJsonExample = com.simulator.util.JsonExampleGenerator.generateJsonExample(
-                        mediaType.getSchema(), openAPI);
+                        mediaType.getSchema(), ctx.getOpenAPI(), ctx.getExampleCache());
                     
                     // 创建body参数，包含完整JSON示例
                     RequestParam bodyParam = new RequestParam();
@@ -531,6 +761,8 @@ public class SwaggerParser {
                     bodyParam.setHierarchyPath(parentPath);
                     bodyParam.setFullJsonExample(fullJsonExample);
                     bodyParam.setDescription(requestBody.getDescription());
+                    // 未展开的$ref组件不产生子参数，组件结构变化通过结构摘要识别
+                    bodyParam.setSchemaDigest(ctx.schemaDigest(mediaType.getSchema()));
                     
                     // 总是将生成的完整JSON示例保存到example字段，供UI使用
                     if (fullJsonExample != null && !fullJsonExample.trim().isEmpty()) {
@@ -542,13 +774,14 @@ public class SwaggerParser {
                         log.warn("生成完整JSON示例失败，使用MediaType的example作为备选");
                         if (mediaType.getExample() != null) {
                             bodyParam.setExample(String.valueOf(mediaType.getExample()));
+                            bodyParam.setExampleProvided(true);
                         }
                     }
                     
                     params.add(bodyParam);
                     
                     // 继续扁平化解析，用于参数填充
-                    params.addAll(parseSchema(mediaType.getSchema(), null, parentPath, "body", mediaType, contentType));
+                    params.addAll(parseSchema(mediaType.getSchema(), null, parentPath, "body", mediaType, contentType, ctx));
                 }
             }
         }
@@ -556,24 +789,21 @@ public class SwaggerParser {
         return params;
     }
 
-    /**
-     * 解析Schema（递归处理嵌套结构）
-     */
-    private List<RequestParam> parseSchema(Schema schema, Long parentId, String parentPath, String location) {
-        return parseSchema(schema, parentId, parentPath, location, null, null);
-    }
-
-    /**
-     * 解析Schema（递归处理嵌套结构），支持MediaType的example
-     */
-    private List<RequestParam> parseSchema(Schema schema, Long parentId, String parentPath, String location, MediaType mediaType) {
-        return parseSchema(schema, parentId, parentPath, location, mediaType, null);
-    }
-
     /**
      * 解析Schema（递归处理嵌套结构），支持MediaType的example和contentType
      */
-    private List<RequestParam> parseSchema(Schema schema, Long parentId, String parentPath, String location, MediaType mediaType, String contentType) {
+    private List<RequestParam> parseSchema(Schema schema, Long parentId, String parentPath, String location, 
+                                           MediaType mediaType, String contentType, ParseContext ctx) {
+        // $ref引用：展开组件Schema，同一组件的扁平化结果只计算一次
+        String refName = ctx.getComponentName(schema);
+        Schema resolvedSchema = ctx.resolveSchema(schema);
+        if (resolvedSchema != schema) {
+            // MediaType的example只作用于当前层，携带时不复用模板
+            String cacheKey = refName + "|" + parentPath.isEmpty() + "|" + location + "|" + contentType;
+            return expandRequestRef(refName, cacheKey, mediaType == null, parentPath, ctx,
+                rootPath -> parseSchema(resolvedSchema, parentId, rootPath, location, mediaType, contentType, ctx));
+        }
+        
         List<RequestParam> params = new ArrayList<>();
         
         if (schema instanceof ObjectSchema) {
@@ -582,9 +812,10 @@ public class SwaggerParser {
                 for (Map.Entry<String, Schema> propEntry : objectSchema.getProperties().entrySet()) {
                     String propName = propEntry.getKey();
                     Schema propSchema = propEntry.getValue();
+                    Schema resolvedPropSchema = ctx.resolveSchema(propSchema);
                     String currentPath = parentPath.isEmpty() ? propName : parentPath + "." + propName;
                     
-                    RequestParam param = createRequestParamFromSchema(propName, propSchema, location, 
+                    RequestParam param = createRequestParamFromSchema(propName, resolvedPropSchema, location, 
                                                                      currentPath, parentId);
                     // 设置contentType（如果是body类型）
                     if (contentType != null && "body".equals(location)) {
@@ -592,9 +823,9 @@ public class SwaggerParser {
                     }
                     params.add(param);
                     
-                    // 递归处理嵌套对象
-                    if (propSchema instanceof ObjectSchema || propSchema instanceof ArraySchema) {
-                        params.addAll(parseSchema(propSchema, null, currentPath, location, null, contentType));
+                    // 递归处理嵌套对象（包括$ref引用的对象）
+                    if (resolvedPropSchema instanceof ObjectSchema || resolvedPropSchema instanceof ArraySchema) {
+                        params.addAll(parseSchema(propSchema, null, currentPath, location, null, contentType, ctx));
                     }
                 }
             }
@@ -602,7 +833,7 @@ public class SwaggerParser {
             ArraySchema arraySchema = (ArraySchema) schema;
             if (arraySchema.getItems() != null) {
                 String currentPath = parentPath.isEmpty() ? "items" : parentPath + "[0]";
-                params.addAll(parseSchema(arraySchema.getItems(), null, currentPath, location, null, contentType));
+                params.addAll(parseSchema(arraySchema.getItems(), null, currentPath, location, null, contentType, ctx));
             }
         } else {
             // 基本类型
@@ -616,6 +847,7 @@ public class SwaggerParser {
                 // 如果MediaType有example且当前参数没有example，则使用MediaType的example
                 if (mediaType != null && mediaType.getExample() != null && param.getExample() == null) {
                     param.setExample(String.valueOf(mediaType.getExample()));
+                    param.setExampleProvided(true);
                 }
                 params.add(param);
             }
@@ -624,6 +856,78 @@ public class SwaggerParser {
         return params;
     }
 
+    /**
+     * 展开引用组件的请求参数
+     * 非空父路径下以占位根路径展开并按组件缓存为模板，其他位置引用同一组件时复制模板并替换根路径
+     * 
+     * @param ref 组件名称
+     * @param cacheKey 模板缓存键
+     * @param cacheable 展开结果是否允许缓存
+     * @param parentPath 实际父路径
+     * @param expander 以指定根路径展开组件
+     */
+    private List<RequestParam> expandRequestRef(String ref, String cacheKey, boolean cacheable, String parentPath,
+                                                ParseContext ctx, Function<String, List<RequestParam>> expander) {
+        if (ctx.isExpanding(ref)) {
+            // 循环引用，停止展开
+            return new ArrayList<>();
+        }
+        if (cacheable) {
+            List<RequestParam> template = ctx.getRequestTemplate(cacheKey);
+            if (template != null) {
+                return copyRequestParams(template, parentPath);
+            }
+        }
+        
+        List<RequestParam> template;
+        boolean contextFree;
+        ctx.enterRef(ref);
+        try {
+            template = expander.apply(parentPath.isEmpty() ? "" : ParseContext.TEMPLATE_ROOT);
+        } finally {
+            contextFree = ctx.exitRef();
+        }
+        if (cacheable && contextFree) {
+            ctx.putRequestTemplate(cacheKey, template);
+        }
+        return copyRequestParams(template, parentPath);
+    }
+
+    /**
+     * 复制请求参数模板并替换根路径
+     */
+    private List<RequestParam> copyRequestParams(List<RequestParam> template, String parentPath) {
+        List<RequestParam> params = new ArrayList<>(template.size());
+        for (RequestParam source : template) {
+            RequestParam param = new RequestParam();
+            param.setParamName(source.getParamName());
+            param.setLocation(source.getLocation());
+            param.setContentType(source.getContentType());
+            param.setParamType(source.getParamType());
+            param.setRequired(source.getRequired());
+            param.setPattern(source.getPattern());
+            param.setPatternExample(source.getPatternExample());
+            param.setExample(source.getExample());
+            param.setExampleProvided(source.getExampleProvided());
+            param.setFullJsonExample(source.getFullJsonExample());
+            param.setDescription(source.getDescription());
+            param.setHierarchyPath(rerootPath(source.getHierarchyPath(), parentPath));
+            param.setParentId(source.getParentId());
+            params.add(param);
+        }
+        return params;
+    }
+
+    /**
+     * 将模板中的占位根路径替换为实际父路径
+     */
+    private static String rerootPath(String hierarchyPath, String parentPath) {
+        if (hierarchyPath != null && hierarchyPath.startsWith(ParseContext.TEMPLATE_ROOT)) {
+            return parentPath + hierarchyPath.substring(ParseContext.TEMPLATE_ROOT.length());
+        }
+        return hierarchyPath;
+    }
+
     /**
      * 从Schema创建RequestParam
      */
@@ -636,6 +940,7 @@ public class SwaggerParser {
         param.setHierarchyPath(hierarchyPath);
         param.setParentId(parentId);
         param.setExample(getExampleFromSchema(schema));
+        param.setExampleProvided(hasExample(schema));
         param.setPattern(getPatternFromSchema(schema));
         param.setDescription(schema.getDescription());
         
@@ -656,7 +961,7 @@ public class SwaggerParser {
      * 解析ApiResponse（只解析body部分，header部分在parseOperation中单独处理）
      */
     private List<ResponseParam> parseApiResponse(String statusCode, ApiResponse apiResponse, 
-                                                  OpenAPI openAPI, String parentPath) {
+                                                  ParseContext ctx, String parentPath) {
         List<ResponseParam> params = new ArrayList<>();
         
         if (apiResponse.getContent() != null) {
@@ -666,7 +971,7 @@ public class SwaggerParser {
                 if (mediaType.getSchema() != null) {
                     // 生成完整的JSON示例（传入OpenAPI以支持$ref引用解析）
                     String fullJsonExample = com.simulator.util.JsonExampleGenerator.generateJsonExample(
-                        mediaType.getSchema(), openAPI);
+                        mediaType.getSchema(), ctx.getOpenAPI(), ctx.getExampleCache());
                     
                     // 创建response body参数，包含完整JSON示例
                     ResponseParam bodyParam = new ResponseParam();
@@ -676,6 +981,7 @@ public class SwaggerParser {
                     bodyParam.setParamType(getSchemaType(mediaType.getSchema()));
                     bodyParam.setHierarchyPath(parentPath);
                     bodyParam.setDescription(apiResponse.getDescription());
+                    bodyParam.setSchemaDigest(ctx.schemaDigest(mediaType.getSchema()));
                     
                     // 总是将生成的完整JSON示例保存到example字段，供UI使用
                     if (fullJsonExample != null && !fullJsonExample.trim().isEmpty()) {
@@ -697,6 +1003,7 @@ public class SwaggerParser {
                         }
                         if (mediaExample != null) {
                             bodyParam.setExample(String.valueOf(mediaExample));
+                            bodyParam.setExampleProvided(true);
                         }
                         log.warn("生成response body完整JSON示例失败，使用MediaType的example作为备选");
                     }
@@ -725,7 +1032,7 @@ public class SwaggerParser {
                     }
                     
                     // 继续扁平化解析，用于参数填充
-                    params.addAll(parseResponseSchema(mediaType.getSchema(), statusCode, parentPath, null, tempMediaType));
+                    params.addAll(parseResponseSchema(mediaType.getSchema(), statusCode, parentPath, null, tempMediaType, ctx));
                 }
             }
         }
@@ -747,19 +1054,22 @@ public class SwaggerParser {
         return params;
     }
 
-    /**
-     * 解析响应Schema（递归处理嵌套结构）
-     */
-    private List<ResponseParam> parseResponseSchema(Schema schema, String statusCode, 
-                                                    String parentPath, Long parentId) {
-        return parseResponseSchema(schema, statusCode, parentPath, parentId, null);
-    }
-
     /**
      * 解析响应Schema（递归处理嵌套结构），支持MediaType的example
      */
     private List<ResponseParam> parseResponseSchema(Schema schema, String statusCode, 
-                                                    String parentPath, Long parentId, MediaType mediaType) {
+                                                    String parentPath, Long parentId, MediaType mediaType,
+                                                    ParseContext ctx) {
+        // $ref引用：展开组件Schema，同一组件的扁平化结果只计算一次
+        // 模板不携带MediaType，复制时再补充MediaType的example（与逐层传递的效果一致）
+        String refName = ctx.getComponentName(schema);
+        Schema resolvedSchema = ctx.resolveSchema(schema);
+        if (resolvedSchema != schema) {
+            String cacheKey = refName + "|" + parentPath.isEmpty();
+            return expandResponseRef(refName, cacheKey, statusCode, mediaType, parentPath, ctx,
+                rootPath -> parseResponseSchema(resolvedSchema, statusCode, rootPath, parentId, null, ctx));
+        }
+        
         List<ResponseParam> params = new ArrayList<>();
         
         if (schema instanceof ObjectSchema) {
@@ -768,19 +1078,21 @@ public class SwaggerParser {
                 for (Map.Entry<String, Schema> propEntry : objectSchema.getProperties().entrySet()) {
                     String propName = propEntry.getKey();
                     Schema propSchema = propEntry.getValue();
+                    Schema resolvedPropSchema = ctx.resolveSchema(propSchema);
                     String currentPath = parentPath.isEmpty() ? propName : parentPath + "." + propName;
                     
-                    ResponseParam param = createResponseParamFromSchema(propName, propSchema, statusCode, 
+                    ResponseParam param = createResponseParamFromSchema(propName, resolvedPropSchema, statusCode, 
                                                                        currentPath, parentId);
                     // 如果MediaType有example且当前参数没有example，则使用MediaType的example
                     if (mediaType != null && mediaType.getExample() != null && param.getExample() == null) {
                         param.setExample(String.valueOf(mediaType.getExample()));
+                        param.setExampleProvided(true);
                     }
                     params.add(param);
                     
-                    // 递归处理嵌套对象和数组，继续传递mediaType
-                    if (propSchema instanceof ObjectSchema || propSchema instanceof ArraySchema) {
-                        params.addAll(parseResponseSchema(propSchema, statusCode, currentPath, null, mediaType));
+                    // 递归处理嵌套对象和数组（包括$ref引用的对象），继续传递mediaType
+                    if (resolvedPropSchema instanceof ObjectSchema || resolvedPropSchema instanceof ArraySchema) {
+                        params.addAll(parseResponseSchema(propSchema, statusCode, currentPath, null, mediaType, ctx));
                     }
                 }
             }
@@ -788,7 +1100,7 @@ public class SwaggerParser {
             ArraySchema arraySchema = (ArraySchema) schema;
             if (arraySchema.getItems() != null) {
                 String currentPath = parentPath.isEmpty() ? "items" : parentPath + "[0]";
-                params.addAll(parseResponseSchema(arraySchema.getItems(), statusCode, currentPath, null, mediaType));
+                params.addAll(parseResponseSchema(arraySchema.getItems(), statusCode, currentPath, null, mediaType, ctx));
             }
         } else {
             // 基本类型
@@ -798,6 +1110,7 @@ public class SwaggerParser {
                 // 如果MediaType有example且当前参数没有example，则使用MediaType的example
                 if (mediaType != null && mediaType.getExample() != null && param.getExample() == null) {
                     param.setExample(String.valueOf(mediaType.getExample()));
+                    param.setExampleProvided(true);
                 }
                 params.add(param);
             }
@@ -806,6 +1119,62 @@ public class SwaggerParser {
         return params;
     }
 
+    /**
+     * 展开引用组件的响应参数
+     * 模板与状态码无关，复制时设置实际状态码，并为没有example的参数补充MediaType的example
+     */
+    private List<ResponseParam> expandResponseRef(String ref, String cacheKey, String statusCode, MediaType mediaType,
+                                                  String parentPath, ParseContext ctx,
+                                                  Function<String, List<ResponseParam>> expander) {
+        if (ctx.isExpanding(ref)) {
+            // 循环引用，停止展开
+            return new ArrayList<>();
+        }
+        List<ResponseParam> template = ctx.getResponseTemplate(cacheKey);
+        if (template != null) {
+            return copyResponseParams(template, parentPath, statusCode, mediaType);
+        }
+        
+        boolean contextFree;
+        ctx.enterRef(ref);
+        try {
+            template = expander.apply(parentPath.isEmpty() ? "" : ParseContext.TEMPLATE_ROOT);
+        } finally {
+            contextFree = ctx.exitRef();
+        }
+        if (contextFree) {
+            ctx.putResponseTemplate(cacheKey, template);
+        }
+        return copyResponseParams(template, parentPath, statusCode, mediaType);
+    }
+
+    /**
+     * 复制响应参数模板并替换根路径
+     */
+    private List<ResponseParam> copyResponseParams(List<ResponseParam> template, String parentPath,
+                                                   String statusCode, MediaType mediaType) {
+        List<ResponseParam> params = new ArrayList<>(template.size());
+        for (ResponseParam source : template) {
+            ResponseParam param = new ResponseParam();
+            param.setStatusCode(statusCode);
+            param.setLocation(source.getLocation());
+            param.setParamName(source.getParamName());
+            param.setParamType(source.getParamType());
+            param.setPattern(source.getPattern());
+            param.setExample(source.getExample());
+            param.setExampleProvided(source.getExampleProvided());
+            param.setDescription(source.getDescription());
+            param.setHierarchyPath(rerootPath(source.getHierarchyPath(), parentPath));
+            param.setParentId(source.getParentId());
+            if (mediaType != null && mediaType.getExample() != null && param.getExample() == null) {
+                param.setExample(String.valueOf(mediaType.getExample()));
+                param.setExampleProvided(true);
+            }
+            params.add(param);
+        }
+        return params;
+    }
+
     /**
      * 从Schema创建ResponseParam
      */
@@ -828,6 +1197,7 @@ public class SwaggerParser {
         
         // 提取example
         param.setExample(getExampleFromSchema(schema));
+        param.setExampleProvided(hasExample(schema));
         
         // 如果仍然没有example但有pattern，根据pattern生成example
         if (param.getExample() == null && param.getPattern() != null) {
@@ -875,6 +1245,13 @@ public class SwaggerParser {
         return "String";
     }
 
+    /**
+     * Schema是否带有文档提供的示例值
+     */
+    private static boolean hasExample(Schema schema) {
+        return schema != null && schema.getExample() != null;
+    }
+
     /**
      * 从Schema获取示例值
      */
@@ -917,33 +1294,33 @@ public class SwaggerParser {
     }
 
     /**
-     * 解析Swagger 2.0 PathItem（包含多个HTTP方法）
+     * 解析Swagger 2.0 PathItem（包含多个HTTP方法），每个Operation生成一个解析任务
      */
-    private void parseSwagger2PathItem(String path, Path pathItem, io.swagger.models.Swagger swagger, 
-                                       List<ApiInfo> apiInfos) {
+    private void parseSwagger2PathItem(String path, Path pathItem, ParseContext ctx, 
+                                       List<Supplier<ApiInfo>> operationTasks) {
         // GET方法
         if (pathItem.getGet() != null) {
-            apiInfos.add(parseSwagger2Operation(path, "GET", pathItem.getGet(), swagger));
+            operationTasks.add(() -> parseSwagger2Operation(path, "GET", pathItem.getGet(), ctx));
         }
         
         // POST方法
         if (pathItem.getPost() != null) {
-            apiInfos.add(parseSwagger2Operation(path, "POST", pathItem.getPost(), swagger));
+            operationTasks.add(() -> parseSwagger2Operation(path, "POST", pathItem.getPost(), ctx));
         }
         
         // PUT方法
         if (pathItem.getPut() != null) {
-            apiInfos.add(parseSwagger2Operation(path, "PUT", pathItem.getPut(), swagger));
+            operationTasks.add(() -> parseSwagger2Operation(path, "PUT", pathItem.getPut(), ctx));
         }
         
         // DELETE方法
         if (pathItem.getDelete() != null) {
-            apiInfos.add(parseSwagger2Operation(path, "DELETE", pathItem.getDelete(), swagger));
+            operationTasks.add(() -> parseSwagger2Operation(path, "DELETE", pathItem.getDelete(), ctx));
         }
         
         // PATCH方法
         if (pathItem.getPatch() != null) {
-            apiInfos.add(parseSwagger2Operation(path, "PATCH", pathItem.getPatch(), swagger));
+            operationTasks.add(() -> parseSwagger2Operation(path, "PATCH", pathItem.getPatch(), ctx));
         }
     }
 
@@ -951,7 +1328,7 @@ public class SwaggerParser {
      * 解析Swagger 2.0单个Operation
      */
     private ApiInfo parseSwagger2Operation(String path, String method, io.swagger.models.Operation operation, 
-                                           io.swagger.models.Swagger swagger) {
+                                           ParseContext ctx) {
         ApiInfo apiInfo = new ApiInfo();
         apiInfo.setPath(path);
         apiInfo.setMethod(method);
@@ -961,13 +1338,14 @@ public class SwaggerParser {
         // 解析标签
         if (operation.getTags() != null && !operation.getTags().isEmpty()) {
             apiInfo.setTags(String.join(",", operation.getTags()));
+            apiInfo.setTagNames(operation.getTags());
         }
         
         // 解析请求参数
         List<RequestParam> requestParams = new ArrayList<>();
         if (operation.getParameters() != null) {
             for (io.swagger.models.parameters.Parameter parameter : operation.getParameters()) {
-                requestParams.addAll(parseSwagger2Parameter(parameter, null, "", swagger));
+                requestParams.addAll(parseSwagger2Parameter(parameter, null, "", ctx));
             }
         }
         
@@ -979,7 +1357,7 @@ public class SwaggerParser {
             for (Map.Entry<String, Response> responseEntry : operation.getResponses().entrySet()) {
                 String statusCode = responseEntry.getKey();
                 Response response = responseEntry.getValue();
-                responseParams.addAll(parseSwagger2Response(statusCode, response, swagger, ""));
+                responseParams.addAll(parseSwagger2Response(statusCode, response, ctx, ""));
             }
         }
         apiInfo.setResponseParams(responseParams);
@@ -992,7 +1370,7 @@ public class SwaggerParser {
      */
     private List<RequestParam> parseSwagger2Parameter(io.swagger.models.parameters.Parameter parameter, 
                                                       Long parentId, String parentPath, 
-                                                      io.swagger.models.Swagger swagger) {
+                                                      ParseContext ctx) {
         List<RequestParam> params = new ArrayList<>();
         
         RequestParam requestParam = new RequestParam();
@@ -1012,7 +1390,7 @@ public class SwaggerParser {
             Model schema = bodyParam.getSchema();
             if (schema != null) {
                 // 生成完整的JSON示例
-                String fullJsonExample = generateSwagger2JsonExample(schema, swagger);
+                String fullJsonExample = generateSwagger2JsonExample(schema, ctx);
                 requestParam.setLocation("body");
                 requestParam.setParamType(getSwagger2ModelType(schema));
                 requestParam.setFullJsonExample(fullJsonExample);
@@ -1034,14 +1412,9 @@ public class SwaggerParser {
                     RefModel refModel = (RefModel) schema;
                     String ref = refModel.getSimpleRef();
                     log.debug("BodyParameter使用RefModel引用: {}", ref);
-                    if (swagger.getDefinitions() != null) {
-                        Model refModelDef = swagger.getDefinitions().get(ref);
-                        if (refModelDef instanceof ModelImpl) {
-                            params.addAll(parseSwagger2Model((ModelImpl) refModelDef, null, "", "body", swagger));
-                        }
-                    }
+                    params.addAll(parseSwagger2RefModel(ref, "", "body", ctx));
                 } else if (schema instanceof ModelImpl) {
-                    params.addAll(parseSwagger2Model((ModelImpl) schema, null, "", "body", swagger));
+                    params.addAll(parseSwagger2Model((ModelImpl) schema, null, "", "body", ctx));
                 }
             }
         } else if (parameter instanceof AbstractSerializableParameter) {
@@ -1064,6 +1437,7 @@ public class SwaggerParser {
             // 处理example
             if (serializableParam.getExample() != null) {
                 requestParam.setExample(String.valueOf(serializableParam.getExample()));
+                requestParam.setExampleProvided(true);
             } else if (property != null) {
                 requestParam.setExample(getSwagger2PropertyExample(property));
             }
@@ -1086,7 +1460,7 @@ public class SwaggerParser {
      * 解析Swagger 2.0 Response
      */
     private List<ResponseParam> parseSwagger2Response(String statusCode, Response response, 
-                                                      io.swagger.models.Swagger swagger, String parentPath) {
+                                                      ParseContext ctx, String parentPath) {
         List<ResponseParam> params = new ArrayList<>();
         
         // 解析response body
@@ -1094,7 +1468,7 @@ public class SwaggerParser {
             Property schema = response.getSchema();
             
             // 生成完整的JSON示例
-            String fullJsonExample = Swagger2JsonExampleGenerator.generateJsonExample(schema, swagger);
+            String fullJsonExample = Swagger2JsonExampleGenerator.generateJsonExample(schema, ctx.getSwagger(), ctx.getExampleCache());
             
             ResponseParam bodyParam = new ResponseParam();
             bodyParam.setStatusCode(statusCode);
@@ -1117,6 +1491,7 @@ public class SwaggerParser {
                 }
                 if (responseExample != null) {
                     bodyParam.setExample(String.valueOf(responseExample));
+                    bodyParam.setExampleProvided(true);
                     log.debug("使用Swagger 2.0 Response的examples字段作为备选");
                 } else {
                     // 最后使用getSwagger2PropertyExample作为备选
@@ -1129,24 +1504,18 @@ public class SwaggerParser {
             
             // 扁平化解析schema
             if (schema instanceof ObjectProperty) {
-                params.addAll(parseSwagger2ObjectProperty((ObjectProperty) schema, statusCode, "", null, swagger));
+                params.addAll(parseSwagger2ObjectProperty((ObjectProperty) schema, statusCode, "", null, ctx));
             } else if (schema instanceof ArrayProperty) {
                 ArrayProperty arrayProp = (ArrayProperty) schema;
                 if (arrayProp.getItems() instanceof ObjectProperty) {
                     params.addAll(parseSwagger2ObjectProperty((ObjectProperty) arrayProp.getItems(), 
-                                                              statusCode, "[0]", null, swagger));
+                                                              statusCode, "[0]", null, ctx));
                 }
             } else if (schema instanceof RefProperty) {
                 // 处理$ref引用
                 RefProperty refProp = (RefProperty) schema;
-                String ref = refProp.getSimpleRef();
-                if (swagger.getDefinitions() != null) {
-                    Model model = swagger.getDefinitions().get(ref);
-                    if (model instanceof ModelImpl) {
-                        // 注意：parseSwagger2Model用于RequestParam，这里应该使用parseSwagger2ResponseModel
-                        params.addAll(parseSwagger2ResponseModel((ModelImpl) model, statusCode, "", null, swagger));
-                    }
-                }
+                // 注意：parseSwagger2Model用于RequestParam，这里应该使用parseSwagger2ResponseModel
+                params.addAll(parseSwagger2RefResponseModel(refProp.getSimpleRef(), statusCode, "", ctx));
             }
         }
         
@@ -1193,7 +1562,7 @@ public class SwaggerParser {
      * 解析Swagger 2.0 Model
      */
     private List<RequestParam> parseSwagger2Model(ModelImpl model, Long parentId, String parentPath, 
-                                                  String location, io.swagger.models.Swagger swagger) {
+                                                  String location, ParseContext ctx) {
         List<RequestParam> params = new ArrayList<>();
         
         if (model.getProperties() != null) {
@@ -1244,13 +1613,7 @@ public class SwaggerParser {
                             // 如果嵌套属性也是对象或引用，继续递归（通过parseSwagger2Model）
                             if (nestedProperty instanceof RefProperty) {
                                 RefProperty nestedRefProp = (RefProperty) nestedProperty;
-                                String nestedRef = nestedRefProp.getSimpleRef();
-                                if (swagger.getDefinitions() != null) {
-                                    Model nestedModel = swagger.getDefinitions().get(nestedRef);
-                                    if (nestedModel instanceof ModelImpl) {
-                                        params.addAll(parseSwagger2Model((ModelImpl) nestedModel, null, nestedPath, location, swagger));
-                                    }
-                                }
+                                params.addAll(parseSwagger2RefModel(nestedRefProp.getSimpleRef(), nestedPath, location, ctx));
                             }
                         }
                     }
@@ -1280,13 +1643,7 @@ public class SwaggerParser {
                     }
                 } else if (property instanceof RefProperty) {
                     RefProperty refProp = (RefProperty) property;
-                    String ref = refProp.getSimpleRef();
-                    if (swagger.getDefinitions() != null) {
-                        Model refModel = swagger.getDefinitions().get(ref);
-                        if (refModel instanceof ModelImpl) {
-                            params.addAll(parseSwagger2Model((ModelImpl) refModel, null, currentPath, location, swagger));
-                        }
-                    }
+                    params.addAll(parseSwagger2RefModel(refProp.getSimpleRef(), currentPath, location, ctx));
                 }
             }
         }
@@ -1299,7 +1656,7 @@ public class SwaggerParser {
      */
     private List<ResponseParam> parseSwagger2ObjectProperty(ObjectProperty objectProperty, String statusCode, 
                                                             String parentPath, Long parentId, 
-                                                            io.swagger.models.Swagger swagger) {
+                                                            ParseContext ctx) {
         List<ResponseParam> params = new ArrayList<>();
         
         if (objectProperty.getProperties() != null) {
@@ -1330,22 +1687,16 @@ public class SwaggerParser {
                 
                 // 递归处理嵌套对象
                 if (property instanceof ObjectProperty) {
-                    params.addAll(parseSwagger2ObjectProperty((ObjectProperty) property, statusCode, currentPath, null, swagger));
+                    params.addAll(parseSwagger2ObjectProperty((ObjectProperty) property, statusCode, currentPath, null, ctx));
                 } else if (property instanceof ArrayProperty) {
                     ArrayProperty arrayProp = (ArrayProperty) property;
                     if (arrayProp.getItems() instanceof ObjectProperty) {
                         params.addAll(parseSwagger2ObjectProperty((ObjectProperty) arrayProp.getItems(), 
-                                                                  statusCode, currentPath + "[0]", null, swagger));
+                                                                  statusCode, currentPath + "[0]", null, ctx));
                     }
                 } else if (property instanceof RefProperty) {
                     RefProperty refProp = (RefProperty) property;
-                    String ref = refProp.getSimpleRef();
-                    if (swagger.getDefinitions() != null) {
-                        Model model = swagger.getDefinitions().get(ref);
-                        if (model instanceof ModelImpl) {
-                            params.addAll(parseSwagger2ResponseModel((ModelImpl) model, statusCode, currentPath, null, swagger));
-                        }
-                    }
+                    params.addAll(parseSwagger2RefResponseModel(refProp.getSimpleRef(), statusCode, currentPath, ctx));
                 }
             }
         }
@@ -1358,7 +1709,7 @@ public class SwaggerParser {
      */
     private List<ResponseParam> parseSwagger2ResponseModel(ModelImpl model, String statusCode, 
                                                            String parentPath, Long parentId, 
-                                                           io.swagger.models.Swagger swagger) {
+                                                           ParseContext ctx) {
         List<ResponseParam> params = new ArrayList<>();
         
         if (model.getProperties() != null) {
@@ -1389,22 +1740,16 @@ public class SwaggerParser {
                 
                 // 递归处理嵌套对象
                 if (property instanceof ObjectProperty) {
-                    params.addAll(parseSwagger2ObjectProperty((ObjectProperty) property, statusCode, currentPath, null, swagger));
+                    params.addAll(parseSwagger2ObjectProperty((ObjectProperty) property, statusCode, currentPath, null, ctx));
                 } else if (property instanceof ArrayProperty) {
                     ArrayProperty arrayProp = (ArrayProperty) property;
                     if (arrayProp.getItems() instanceof ObjectProperty) {
                         params.addAll(parseSwagger2ObjectProperty((ObjectProperty) arrayProp.getItems(), 
-                                                                  statusCode, currentPath + "[0]", null, swagger));
+                                                                  statusCode, currentPath + "[0]", null, ctx));
                     }
                 } else if (property instanceof RefProperty) {
                     RefProperty refProp = (RefProperty) property;
-                    String ref = refProp.getSimpleRef();
-                    if (swagger.getDefinitions() != null) {
-                        Model refModel = swagger.getDefinitions().get(ref);
-                        if (refModel instanceof ModelImpl) {
-                            params.addAll(parseSwagger2ResponseModel((ModelImpl) refModel, statusCode, currentPath, null, swagger));
-                        }
-                    }
+                    params.addAll(parseSwagger2RefResponseModel(refProp.getSimpleRef(), statusCode, currentPath, ctx));
                 }
             }
         }
@@ -1412,6 +1757,33 @@ public class SwaggerParser {
         return params;
     }
 
+    /**
+     * 解析Swagger 2.0 definitions中引用的Model（请求参数），同一Model的扁平化结果只计算一次
+     */
+    private List<RequestParam> parseSwagger2RefModel(String ref, String parentPath, String location, ParseContext ctx) {
+        Model model = ctx.getDefinition(ref);
+        if (!(model instanceof ModelImpl)) {
+            return new ArrayList<>();
+        }
+        String cacheKey = ref + "|" + parentPath.isEmpty() + "|" + location;
+        return expandRequestRef(ref, cacheKey, true, parentPath, ctx,
+            rootPath -> parseSwagger2Model((ModelImpl) model, null, rootPath, location, ctx));
+    }
+
+    /**
+     * 解析Swagger 2.0 definitions中引用的Model（响应参数），同一Model的扁平化结果只计算一次
+     */
+    private List<ResponseParam> parseSwagger2RefResponseModel(String ref, String statusCode, String parentPath, 
+                                                              ParseContext ctx) {
+        Model model = ctx.getDefinition(ref);
+        if (!(model instanceof ModelImpl)) {
+            return new ArrayList<>();
+        }
+        String cacheKey = ref + "|" + parentPath.isEmpty();
+        return expandResponseRef(ref, cacheKey, statusCode, null, parentPath, ctx,
+            rootPath -> parseSwagger2ResponseModel((ModelImpl) model, statusCode, rootPath, null, ctx));
+    }
+
     /**
      * 获取Swagger 2.0 Property类型
      */
@@ -1501,8 +1873,8 @@ public class SwaggerParser {
     /**
      * 生成Swagger 2.0 Model的JSON示例
      */
-    private String generateSwagger2JsonExample(Model model, io.swagger.models.Swagger swagger) {
-        return Swagger2JsonExampleGenerator.generateJsonExampleFromModel(model, swagger);
+    private String generateSwagger2JsonExample(Model model, ParseContext ctx) {
+        return Swagger2JsonExampleGenerator.generateJsonExampleFromModel(model, ctx.getSwagger(), ctx.getExampleCache());
     }
 
     /**
@@ -1512,6 +1884,8 @@ public class SwaggerParser {
         private SwaggerInfo swaggerInfo;
         private List<ServerInfo> servers;
         private List<ApiInfo> apiInfos;
+        private long flattenCacheHits;
+        private long flattenCacheMisses;
 
         public SwaggerInfo getSwaggerInfo() {
             return swaggerInfo;
@@ -1536,6 +1910,28 @@ public class SwaggerParser {
         public void setApiInfos(List<ApiInfo> apiInfos) {
             this.apiInfos = apiInfos;
         }
+
+        /**
+         * 本次解析中扁平化模板缓存的命中次数
+         */
+        public long getFlattenCacheHits() {
+            return flattenCacheHits;
+        }
+
+        public void setFlattenCacheHits(long flattenCacheHits) {
+            this.flattenCacheHits = flattenCacheHits;
+        }
+
+        /**
+         * 本次解析中扁平化模板缓存的未命中次数
+         */
+        public long getFlattenCacheMisses() {
+            return flattenCacheMisses;
+        }
+
+        public void setFlattenCacheMisses(long flattenCacheMisses) {
+            this.flattenCacheMisses = flattenCacheMisses;
+        }
     }
 }
 
@@ -0,0 +1,34 @@
+package com.simulator.repository;
+
+import com.simulator.entity.ApiDetailPayload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 接口详情响应Repository
+ * 
+ * @author simulator
+ * @date 2024
+ */
+@Repository
+public interface ApiDetailPayloadRepository extends JpaRepository<ApiDetailPayload, Long> {
+
+    /**
+     * 根据接口ID查询已生效文档的接口详情响应
+     */
+    @Query("select p from ApiDetailPayload p where p.apiId = :apiId and p.apiId in "
+        + "(select a.id from ApiInfo a where a.swaggerId in (select s.id from SwaggerInfo s where s.status = 'ACTIVE'))")
+    Optional<ApiDetailPayload> findActiveById(@Param("apiId") Long apiId);
+
+    /**
+     * 根据Swagger文档ID删除所有接口详情响应（单条DELETE语句）
+     */
+    @Modifying
+    @Query("delete from ApiDetailPayload p where p.apiId in (select a.id from ApiInfo a where a.swaggerId = :swaggerId)")
+    int deleteBySwaggerId(@Param("swaggerId") Long swaggerId);
+}
@@ -1,15 +1,23 @@
 package com.simulator.repository;
 
 import com.simulator.entity.ApiInfo;
+import com.simulator.repository.projection.ApiInfoSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 接口信息Repository
@@ -20,6 +28,41 @@ import java.util.Optional;
 @Repository
 public interface ApiInfoRepository extends JpaRepository<ApiInfo, Long> {
 
+    /**
+     * 接口摘要查询列（不含TEXT类型的描述）
+     */
+    String SUMMARY_SELECT = "select a.id as id, a.path as path, a.method as method, a.swaggerId as swaggerId, "
+        + "a.tags as tags, a.operationId as operationId, a.createTime as createTime, a.updateTime as updateTime from ApiInfo a ";
+
+    /**
+     * 已生效文档条件
+     */
+    String ACTIVE_CONDITION = "a.swaggerId in (select s.id from SwaggerInfo s where s.status = 'ACTIVE')";
+
+    /**
+     * 标签条件（精确匹配）
+     */
+    String TAG_CONDITION = "a.id in (select t.apiId from ApiTag t where t.tagName = :tag)";
+
+    /**
+     * 游标分页的可选过滤条件（参数为null时不过滤）
+     */
+    String SCROLL_FILTER = "(:path is null or a.path like concat('%', :path, '%')) "
+        + "and (:method is null or a.method = :method) "
+        + "and (:tag is null or a.id in (select t.apiId from ApiTag t where t.tagName = :tag)) and " + ACTIVE_CONDITION;
+
+    /**
+     * 游标之后（倒序）
+     */
+    String SCROLL_AFTER_DESC = " and (:afterTime is null or a.createTime < :afterTime "
+        + "or (a.createTime = :afterTime and a.id < :afterId)) order by a.createTime desc, a.id desc";
+
+    /**
+     * 游标之后（正序）
+     */
+    String SCROLL_AFTER_ASC = " and (:afterTime is null or a.createTime > :afterTime "
+        + "or (a.createTime = :afterTime and a.id > :afterId)) order by a.createTime asc, a.id asc";
+
     /**
      * 根据路径和方法查询接口
      */
@@ -44,6 +87,132 @@ public interface ApiInfoRepository extends JpaRepository<ApiInfo, Long> {
      * 根据Swagger文档ID查询
      */
     List<ApiInfo> findBySwaggerId(Long swaggerId);
+
+    /**
+     * 统计Swagger文档的接口数量
+     */
+    long countBySwaggerId(Long swaggerId);
+
+    /**
+     * 查询已生效文档的接口
+     */
+    @Query("select a from ApiInfo a where a.swaggerId in (select s.id from SwaggerInfo s where s.status = 'ACTIVE')")
+    Page<ApiInfo> findAllActive(Pageable pageable);
+
+    /**
+     * 根据路径模糊查询已生效文档的接口
+     */
+    @Query("select a from ApiInfo a where a.path like concat('%', :path, '%') and a.swaggerId in (select s.id from SwaggerInfo s where s.status = 'ACTIVE')")
+    Page<ApiInfo> findActiveByPathContaining(@Param("path") String path, Pageable pageable);
+
+    /**
+     * 根据方法查询已生效文档的接口
+     */
+    @Query("select a from ApiInfo a where a.method = :method and a.swaggerId in (select s.id from SwaggerInfo s where s.status = 'ACTIVE')")
+    Page<ApiInfo> findActiveByMethod(@Param("method") String method, Pageable pageable);
+
+    /**
+     * 根据标签（精确匹配，走api_tag表索引）查询已生效文档的接口
+     */
+    @Query("select a from ApiInfo a where a.id in (select t.apiId from ApiTag t where t.tagName = :tag) and a.swaggerId in (select s.id from SwaggerInfo s where s.status = 'ACTIVE')")
+    Page<ApiInfo> findActiveByTag(@Param("tag") String tag, Pageable pageable);
+
+    /**
+     * 根据ID查询已生效文档的接口
+     */
+    @Query("select a from ApiInfo a where a.id = :id and a.swaggerId in (select s.id from SwaggerInfo s where s.status = 'ACTIVE')")
+    Optional<ApiInfo> findActiveById(@Param("id") Long id);
+
+    /**
+     * 查询已生效文档的接口摘要
+     */
+    @Query(value = SUMMARY_SELECT + "where " + ACTIVE_CONDITION,
+        countQuery = "select count(a) from ApiInfo a where " + ACTIVE_CONDITION)
+    Page<ApiInfoSummary> findAllActiveSummaries(Pageable pageable);
+
+    /**
+     * 根据路径模糊查询已生效文档的接口摘要
+     */
+    @Query(value = SUMMARY_SELECT + "where a.path like concat('%', :path, '%') and " + ACTIVE_CONDITION,
+        countQuery = "select count(a) from ApiInfo a where a.path like concat('%', :path, '%') and " + ACTIVE_CONDITION)
+    Page<ApiInfoSummary> findActiveSummariesByPathContaining(@Param("path") String path, Pageable pageable);
+
+    /**
+     * 根据方法查询已生效文档的接口摘要
+     */
+    @Query(value = SUMMARY_SELECT + "where a.method = :method and " + ACTIVE_CONDITION,
+        countQuery = "select count(a) from ApiInfo a where a.method = :method and " + ACTIVE_CONDITION)
+    Page<ApiInfoSummary> findActiveSummariesByMethod(@Param("method") String method, Pageable pageable);
+
+    /**
+     * 根据标签（精确匹配）查询已生效文档的接口摘要
+     */
+    @Query(value = SUMMARY_SELECT + "where " + TAG_CONDITION + " and " + ACTIVE_CONDITION,
+        countQuery = "select count(a) from ApiInfo a where " + TAG_CONDITION + " and " + ACTIVE_CONDITION)
+    Page<ApiInfoSummary> findActiveSummariesByTag(@Param("tag") String tag, Pageable pageable);
+
+    /**
+     * 根据ID批量查询已生效文档的接口
+     */
+    @Query("select a from ApiInfo a where a.id in :ids and " + ACTIVE_CONDITION)
+    List<ApiInfo> findActiveByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询文档下所有接口ID（按ID排序）
+     */
+    @Query("select a.id from ApiInfo a where a.swaggerId = :swaggerId order by a.id")
+    List<Long> findIdsBySwaggerId(@Param("swaggerId") Long swaggerId);
+
+    /**
+     * 流式读取文档下所有接口（按ID排序）
+     * fetchSize为Integer.MIN_VALUE时MySQL驱动逐行读取结果集，需在只读事务中消费并及时关闭
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from ApiInfo a where a.swaggerId = :swaggerId order by a.id")
+    Stream<ApiInfo> streamBySwaggerId(@Param("swaggerId") Long swaggerId);
+
+    /**
+     * 游标分页查询已生效文档的接口（按创建时间、ID倒序，不执行count查询）
+     * limit传入PageRequest.of(0, n)只用于限制行数
+     */
+    @Query("select a from ApiInfo a where " + SCROLL_FILTER + SCROLL_AFTER_DESC)
+    List<ApiInfo> scrollActiveDesc(@Param("path") String path, @Param("method") String method, @Param("tag") String tag,
+                                   @Param("afterTime") LocalDateTime afterTime, @Param("afterId") Long afterId,
+                                   Pageable limit);
+
+    /**
+     * 游标分页查询已生效文档的接口（按创建时间、ID正序）
+     */
+    @Query("select a from ApiInfo a where " + SCROLL_FILTER + SCROLL_AFTER_ASC)
+    List<ApiInfo> scrollActiveAsc(@Param("path") String path, @Param("method") String method, @Param("tag") String tag,
+                                  @Param("afterTime") LocalDateTime afterTime, @Param("afterId") Long afterId,
+                                  Pageable limit);
+
+    /**
+     * 游标分页查询已生效文档的接口摘要（倒序）
+     */
+    @Query(SUMMARY_SELECT + "where " + SCROLL_FILTER + SCROLL_AFTER_DESC)
+    List<ApiInfoSummary> scrollActiveSummariesDesc(@Param("path") String path, @Param("method") String method,
+                                                   @Param("tag") String tag, @Param("afterTime") LocalDateTime afterTime,
+                                                   @Param("afterId") Long afterId, Pageable limit);
+
+    /**
+     * 游标分页查询已生效文档的接口摘要（正序）
+     */
+    @Query(SUMMARY_SELECT + "where " + SCROLL_FILTER + SCROLL_AFTER_ASC)
+    List<ApiInfoSummary> scrollActiveSummariesAsc(@Param("path") String path, @Param("method") String method,
+                                                  @Param("tag") String tag, @Param("afterTime") LocalDateTime afterTime,
+                                                  @Param("afterId") Long afterId, Pageable limit);
+
+    /**
+     * 根据Swagger文档ID删除所有接口
+     */
+    @Modifying
+    @Query("delete from ApiInfo a where a.swaggerId = :swaggerId")
+    int deleteBySwaggerId(@Param("swaggerId") Long swaggerId);
 }
 
 
@@ -0,0 +1,68 @@
+package com.simulator.repository;
+
+import com.simulator.entity.ApiTag;
+import com.simulator.entity.ApiTagId;
+import com.simulator.repository.projection.TagFacet;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 接口标签Repository
+ * 
+ * @author simulator
+ * @date 2024
+ */
+@Repository
+public interface ApiTagRepository extends JpaRepository<ApiTag, ApiTagId> {
+
+    /**
+     * 统计文档下每个标签的接口数量（走swagger_id,tag_name索引）
+     */
+    @Query("select t.tagName as tagName, count(t) as apiCount from ApiTag t where t.swaggerId = :swaggerId "
+        + "group by t.tagName order by t.tagName")
+    List<TagFacet> findTagFacetsBySwaggerId(@Param("swaggerId") Long swaggerId);
+
+    /**
+     * 根据接口ID批量删除标签（单条DELETE语句）
+     */
+    @Modifying
+    @Query("delete from ApiTag t where t.apiId in :apiIds")
+    int deleteByApiIdIn(@Param("apiIds") Collection<Long> apiIds);
+
+    /**
+     * 任取一个已有标签的接口ID，标签表为空时返回null
+     */
+    @Query(value = "select api_id from api_tag limit 1", nativeQuery = true)
+    Long findAnyApiId();
+
+    /**
+     * 将api_info.tags按逗号拆分写入标签表（升级前导入的接口只有tags字段），已存在的行跳过
+     *
+     * @return 写入的行数
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO api_tag (api_id, tag_name, swagger_id) "
+        + "WITH RECURSIVE split AS ("
+        + " SELECT id, swagger_id, TRIM(SUBSTRING_INDEX(tags, ',', 1)) AS tag_name,"
+        + "  IF(LOCATE(',', tags) > 0, SUBSTRING(tags, LOCATE(',', tags) + 1), NULL) AS rest"
+        + " FROM api_info WHERE tags IS NOT NULL AND tags <> ''"
+        + " UNION ALL"
+        + " SELECT id, swagger_id, TRIM(SUBSTRING_INDEX(rest, ',', 1)),"
+        + "  IF(LOCATE(',', rest) > 0, SUBSTRING(rest, LOCATE(',', rest) + 1), NULL)"
+        + " FROM split WHERE rest IS NOT NULL"
+        + ") SELECT id, tag_name, swagger_id FROM split WHERE tag_name <> ''", nativeQuery = true)
+    int backfillFromApiInfo();
+
+    /**
+     * 根据Swagger文档ID删除所有标签（单条DELETE语句）
+     */
+    @Modifying
+    @Query("delete from ApiTag t where t.swaggerId = :swaggerId")
+    int deleteBySwaggerId(@Param("swaggerId") Long swaggerId);
+}
@@ -1,12 +1,21 @@
 package com.simulator.repository;
 
 import com.simulator.entity.RequestParam;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import com.simulator.repository.projection.RequestParamExample;
+import com.simulator.repository.projection.RequestParamSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 请求参数Repository
@@ -22,6 +31,16 @@ public interface RequestParamRepository extends JpaRepository<RequestParam, Long
      */
     List<RequestParam> findByApiId(Long apiId);
 
+    /**
+     * 根据接口ID批量查询请求参数
+     */
+    List<RequestParam> findByApiIdIn(Collection<Long> apiIds);
+
+    /**
+     * 根据接口ID批量查询请求参数（按接口ID、参数ID排序）
+     */
+    List<RequestParam> findByApiIdInOrderByApiIdAscIdAsc(Collection<Long> apiIds);
+
     /**
      * 根据接口ID和位置查询请求参数
      */
@@ -32,10 +51,63 @@ public interface RequestParamRepository extends JpaRepository<RequestParam, Long
      */
     List<RequestParam> findByApiIdAndParamType(Long apiId, String paramType);
 
+    /**
+     * 根据接口ID查询请求参数摘要（不读取示例值和描述）
+     */
+    List<RequestParamSummary> findSummaryByApiIdOrderById(Long apiId);
+
+    /**
+     * 查询文档下所有请求参数摘要（按接口ID、参数ID排序），用于编译请求校验计划
+     */
+    @Query("select p.id as id, p.apiId as apiId, p.paramName as paramName, p.location as location, "
+        + "p.contentType as contentType, p.paramType as paramType, p.required as required, p.pattern as pattern, "
+        + "p.hierarchyPath as hierarchyPath, p.parentId as parentId from RequestParam p "
+        + "where p.apiId in (select a.id from ApiInfo a where a.swaggerId = :swaggerId) order by p.apiId, p.id")
+    List<RequestParamSummary> findSummaryBySwaggerId(@Param("swaggerId") Long swaggerId);
+
+    /**
+     * 根据接口ID和位置查询请求参数摘要
+     */
+    List<RequestParamSummary> findSummaryByApiIdAndLocationOrderById(Long apiId, String location);
+
+    /**
+     * 根据接口ID和参数类型查询请求参数摘要
+     */
+    List<RequestParamSummary> findSummaryByApiIdAndParamTypeOrderById(Long apiId, String paramType);
+
+    /**
+     * 查询单个请求参数的示例值
+     */
+    Optional<RequestParamExample> findExampleByIdAndApiId(Long id, Long apiId);
+
+    /**
+     * 流式读取文档下所有请求参数（按接口ID、参数ID排序），需在只读事务中消费并及时关闭
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from RequestParam p where p.apiId in (select a.id from ApiInfo a where a.swaggerId = :swaggerId) order by p.apiId, p.id")
+    Stream<RequestParam> streamBySwaggerId(@Param("swaggerId") Long swaggerId);
+
     /**
      * 根据接口ID删除所有请求参数
      */
     void deleteByApiId(Long apiId);
+
+    /**
+     * 根据接口ID批量删除请求参数（单条DELETE语句）
+     */
+    @Modifying
+    @Query("delete from RequestParam p where p.apiId in :apiIds")
+    int deleteByApiIdIn(@Param("apiIds") Collection<Long> apiIds);
+
+    /**
+     * 根据Swagger文档ID删除所有请求参数（单条DELETE语句）
+     */
+    @Modifying
+    @Query("delete from RequestParam p where p.apiId in (select a.id from ApiInfo a where a.swaggerId = :swaggerId)")
+    int deleteBySwaggerId(@Param("swaggerId") Long swaggerId);
 }
 
 
@@ -1,10 +1,21 @@
 package com.simulator.repository;
 
 import com.simulator.entity.ResponseParam;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import com.simulator.repository.projection.ResponseParamExample;
+import com.simulator.repository.projection.ResponseParamSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 响应参数Repository
@@ -20,6 +31,16 @@ public interface ResponseParamRepository extends JpaRepository<ResponseParam, Lo
      */
     List<ResponseParam> findByApiId(Long apiId);
 
+    /**
+     * 根据接口ID批量查询响应参数
+     */
+    List<ResponseParam> findByApiIdIn(Collection<Long> apiIds);
+
+    /**
+     * 根据接口ID批量查询响应参数（按接口ID、参数ID排序）
+     */
+    List<ResponseParam> findByApiIdInOrderByApiIdAscIdAsc(Collection<Long> apiIds);
+
     /**
      * 根据接口ID和状态码查询响应参数
      */
@@ -35,10 +56,67 @@ public interface ResponseParamRepository extends JpaRepository<ResponseParam, Lo
      */
     List<ResponseParam> findByApiIdAndStatusCodeAndLocation(Long apiId, String statusCode, String location);
 
+    /**
+     * 根据接口ID查询响应参数摘要（不读取示例值和描述）
+     */
+    List<ResponseParamSummary> findSummaryByApiIdOrderById(Long apiId);
+
+    /**
+     * 根据接口ID和状态码查询响应参数摘要
+     */
+    List<ResponseParamSummary> findSummaryByApiIdAndStatusCodeOrderById(Long apiId, String statusCode);
+
+    /**
+     * 根据接口ID和位置查询响应参数摘要
+     */
+    List<ResponseParamSummary> findSummaryByApiIdAndLocationOrderById(Long apiId, String location);
+
+    /**
+     * 根据接口ID、状态码和位置查询响应参数摘要
+     */
+    List<ResponseParamSummary> findSummaryByApiIdAndStatusCodeAndLocationOrderById(Long apiId, String statusCode, String location);
+
+    /**
+     * 查询单个响应参数的示例值
+     */
+    Optional<ResponseParamExample> findExampleByIdAndApiId(Long id, Long apiId);
+
+    /**
+     * 流式读取文档下所有响应参数（按接口ID、参数ID排序），需在只读事务中消费并及时关闭
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from ResponseParam p where p.apiId in (select a.id from ApiInfo a where a.swaggerId = :swaggerId) order by p.apiId, p.id")
+    Stream<ResponseParam> streamBySwaggerId(@Param("swaggerId") Long swaggerId);
+
+    /**
+     * 查询文档下用于模拟响应的参数：响应头和各状态码的响应体根参数（按接口ID、参数ID排序）
+     */
+    @Query("select p from ResponseParam p where p.apiId in (select a.id from ApiInfo a where a.swaggerId = :swaggerId) "
+        + "and (p.location = 'header' or (p.location = 'body' and (p.hierarchyPath = '' or p.hierarchyPath is null))) "
+        + "order by p.apiId, p.id")
+    List<ResponseParam> findMockResponsesBySwaggerId(@Param("swaggerId") Long swaggerId);
+
     /**
      * 根据接口ID删除所有响应参数
      */
     void deleteByApiId(Long apiId);
+
+    /**
+     * 根据接口ID批量删除响应参数（单条DELETE语句）
+     */
+    @Modifying
+    @Query("delete from ResponseParam p where p.apiId in :apiIds")
+    int deleteByApiIdIn(@Param("apiIds") Collection<Long> apiIds);
+
+    /**
+     * 根据Swagger文档ID删除所有响应参数（单条DELETE语句）
+     */
+    @Modifying
+    @Query("delete from ResponseParam p where p.apiId in (select a.id from ApiInfo a where a.swaggerId = :swaggerId)")
+    int deleteBySwaggerId(@Param("swaggerId") Long swaggerId);
 }
 
 
@@ -2,6 +2,9 @@ package com.simulator.repository;
 
 import com.simulator.entity.ServerInfo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -24,6 +27,13 @@ public interface ServerInfoRepository extends JpaRepository<ServerInfo, Long> {
      * 根据Swagger文档ID和服务器URL查询
      */
     Optional<ServerInfo> findBySwaggerIdAndServerUrl(Long swaggerId, String serverUrl);
+
+    /**
+     * 根据Swagger文档ID删除所有服务器
+     */
+    @Modifying
+    @Query("delete from ServerInfo s where s.swaggerId = :swaggerId")
+    int deleteBySwaggerId(@Param("swaggerId") Long swaggerId);
 }
 
 
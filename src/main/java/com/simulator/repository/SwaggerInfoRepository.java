@@ -1,10 +1,15 @@
 package com.simulator.repository;
 
 import com.simulator.entity.SwaggerInfo;
+import com.simulator.repository.projection.SwaggerInfoSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Swagger文档信息Repository
@@ -24,5 +29,48 @@ public interface SwaggerInfoRepository extends JpaRepository<SwaggerInfo, Long>
      * 根据版本查询
      */
     List<SwaggerInfo> findByVersion(String version);
+
+    /**
+     * 判断指定状态的文档是否存在
+     */
+    boolean existsByIdAndStatus(Long id, String status);
+
+    /**
+     * 查询指定状态的文档摘要（不读取文档原文）
+     */
+    Optional<SwaggerInfoSummary> findSummaryByIdAndStatus(Long id, String status);
+
+    /**
+     * 查询全部已生效文档ID
+     */
+    @Query("select s.id from SwaggerInfo s where s.status = 'ACTIVE' order by s.id")
+    List<Long> findActiveIds();
+
+    /**
+     * 根据内容摘要查询已生效文档ID（新的在前）
+     */
+    @Query("select s.id from SwaggerInfo s where s.contentHash = :contentHash and s.status = 'ACTIVE' order by s.id desc")
+    List<Long> findActiveIdsByContentHash(@Param("contentHash") String contentHash);
+
+    /**
+     * 根据内容摘要和来源URL查询已生效文档ID（新的在前），来源URL为null时只匹配文件/内容导入的文档
+     */
+    @Query("select s.id from SwaggerInfo s where s.contentHash = :contentHash and s.status = 'ACTIVE' "
+        + "and ((:sourceUrl is null and s.sourceUrl is null) or s.sourceUrl = :sourceUrl) order by s.id desc")
+    List<Long> findActiveIdsByContentHashAndSourceUrl(@Param("contentHash") String contentHash,
+                                                       @Param("sourceUrl") String sourceUrl);
+
+    /**
+     * 根据来源URL查询已生效文档ID（新的在前）
+     */
+    @Query("select s.id from SwaggerInfo s where s.sourceUrl = :sourceUrl and s.status = 'ACTIVE' order by s.id desc")
+    List<Long> findActiveIdsBySourceUrl(@Param("sourceUrl") String sourceUrl);
+
+    /**
+     * 更新文档状态（单条UPDATE语句）
+     */
+    @Modifying
+    @Query("update SwaggerInfo s set s.status = :status where s.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") String status);
 }
 
@@ -0,0 +1,29 @@
+package com.simulator.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * 接口摘要投影
+ * 列表查询只读取窄列，不读取TEXT类型的描述
+ *
+ * @author simulator
+ * @date 2024
+ */
+public interface ApiInfoSummary {
+
+    Long getId();
+
+    String getPath();
+
+    String getMethod();
+
+    Long getSwaggerId();
+
+    String getTags();
+
+    String getOperationId();
+
+    LocalDateTime getCreateTime();
+
+    LocalDateTime getUpdateTime();
+}
@@ -0,0 +1,18 @@
+package com.simulator.repository.projection;
+
+/**
+ * 请求参数示例投影
+ *
+ * @author simulator
+ * @date 2024
+ */
+public interface RequestParamExample {
+
+    Long getId();
+
+    String getExample();
+
+    String getPatternExample();
+
+    String getFullJsonExample();
+}
@@ -0,0 +1,31 @@
+package com.simulator.repository.projection;
+
+/**
+ * 请求参数摘要投影
+ * 只读取名称、类型、位置等窄列，不读取示例值和描述（LONGTEXT/TEXT）
+ *
+ * @author simulator
+ * @date 2024
+ */
+public interface RequestParamSummary {
+
+    Long getId();
+
+    Long getApiId();
+
+    String getParamName();
+
+    String getLocation();
+
+    String getContentType();
+
+    String getParamType();
+
+    Boolean getRequired();
+
+    String getPattern();
+
+    String getHierarchyPath();
+
+    Long getParentId();
+}
@@ -0,0 +1,14 @@
+package com.simulator.repository.projection;
+
+/**
+ * 响应参数示例投影
+ *
+ * @author simulator
+ * @date 2024
+ */
+public interface ResponseParamExample {
+
+    Long getId();
+
+    String getExample();
+}
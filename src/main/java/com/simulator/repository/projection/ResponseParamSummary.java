@@ -0,0 +1,29 @@
+package com.simulator.repository.projection;
+
+/**
+ * 响应参数摘要投影
+ * 只读取名称、类型、位置等窄列，不读取示例值和描述（LONGTEXT/TEXT）
+ *
+ * @author simulator
+ * @date 2024
+ */
+public interface ResponseParamSummary {
+
+    Long getId();
+
+    Long getApiId();
+
+    String getStatusCode();
+
+    String getParamName();
+
+    String getLocation();
+
+    String getParamType();
+
+    String getPattern();
+
+    String getHierarchyPath();
+
+    Long getParentId();
+}
@@ -0,0 +1,27 @@
+package com.simulator.repository.projection;
+
+/**
+ * 文档摘要投影
+ * 不读取文档原文（LONGTEXT）
+ *
+ * @author simulator
+ * @date 2024
+ */
+public interface SwaggerInfoSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    String getVersion();
+
+    String getDescription();
+
+    String getSwaggerVersion();
+
+    String getSource();
+
+    String getSourceUrl();
+
+    String getContentHash();
+}
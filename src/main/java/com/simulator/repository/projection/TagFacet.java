@@ -0,0 +1,14 @@
+package com.simulator.repository.projection;
+
+/**
+ * 标签统计投影
+ *
+ * @author simulator
+ * @date 2024
+ */
+public interface TagFacet {
+
+    String getTagName();
+
+    Long getApiCount();
+}
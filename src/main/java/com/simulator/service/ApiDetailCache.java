@@ -0,0 +1,207 @@
+package com.simulator.service;
+
+import cn.hutool.core.util.ZipUtil;
+import com.simulator.dto.CacheStatsDTO;
+import com.simulator.entity.ApiDetailPayload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * 接口详情缓存
+ * 进程内LRU缓存预生成的详情响应，按条目数和占用字节数双重限制；导入修改或删除接口时按apiId失效
+ * 不支持gzip的客户端请求时，解压后的响应随条目缓存（计入占用），同一响应只解压一次
+ *
+ * @author simulator
+ * @date 2024
+ */
+@Component
+public class ApiDetailCache {
+
+    /**
+     * 每个对象的估算固定开销（字节）
+     */
+    private static final int OBJECT_OVERHEAD = 64;
+
+    /**
+     * 最大条目数，0表示不缓存
+     */
+    @Value("${simulator.cache.api-detail.max-entries:2000}")
+    private int maxEntries;
+
+    /**
+     * 最大估算占用（MB）
+     */
+    @Value("${simulator.cache.api-detail.max-weight-mb:64}")
+    private long maxWeightMb;
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * 获取接口详情响应
+     *
+     * @param apiId 接口ID
+     * @return 缓存的接口详情响应，未缓存时返回null
+     */
+    public synchronized ApiDetailPayload get(Long apiId) {
+        Entry entry = entries.get(apiId);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.payload;
+    }
+
+    /**
+     * 当前失效代数，查询数据库前获取，放入缓存时校验
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * 放入接口详情响应
+     * 查询期间发生过失效时不放入，避免缓存导入前读到的旧数据
+     *
+     * @param apiId 接口ID
+     * @param payload 接口详情响应
+     * @param readGeneration 查询数据库前获取的失效代数
+     */
+    public synchronized void put(Long apiId, ApiDetailPayload payload, long readGeneration) {
+        long maxWeight = maxWeightMb * 1024 * 1024;
+        if (maxEntries <= 0 || readGeneration != generation) {
+            return;
+        }
+        long entryWeight = weigh(payload);
+        if (entryWeight > maxWeight) {
+            return;
+        }
+        Entry previous = entries.put(apiId, new Entry(payload, entryWeight));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entryWeight;
+        evict(maxWeight);
+    }
+
+    /**
+     * 获取解压后的接口详情响应
+     * 响应仍在缓存中时解压结果随条目缓存，否则每次解压
+     *
+     * @param payload 接口详情响应
+     * @return 未压缩的响应JSON
+     */
+    public byte[] plainBody(ApiDetailPayload payload) {
+        synchronized (this) {
+            Entry entry = entries.get(payload.getApiId());
+            if (entry != null && entry.payload == payload && entry.plainBody != null) {
+                return entry.plainBody;
+            }
+        }
+        byte[] plainBody = ZipUtil.unGzip(payload.getBody());
+        synchronized (this) {
+            Entry entry = entries.get(payload.getApiId());
+            if (entry != null && entry.payload == payload && entry.plainBody == null) {
+                entry.plainBody = plainBody;
+                entry.weight += plainBody.length;
+                weight += plainBody.length;
+                evict(maxWeightMb * 1024 * 1024);
+            }
+        }
+        return plainBody;
+    }
+
+    /**
+     * 按最近最少使用淘汰，直到条目数和占用都不超过上限
+     */
+    private void evict(long maxWeight) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && iterator.hasNext()) {
+            weight -= iterator.next().weight;
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * 使接口详情失效
+     * 在事务中调用时，提交后再失效一次，避免提交前被并发查询重新缓存旧数据
+     *
+     * @param apiIds 被修改或删除的接口ID
+     */
+    public void invalidate(Collection<Long> apiIds) {
+        if (apiIds.isEmpty()) {
+            return;
+        }
+        invalidateNow(apiIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Collection<Long> committedIds = new ArrayList<>(apiIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(committedIds);
+                }
+            });
+        }
+    }
+
+    private synchronized void invalidateNow(Collection<Long> apiIds) {
+        generation++;
+        for (Long apiId : apiIds) {
+            Entry entry = entries.remove(apiId);
+            if (entry != null) {
+                weight -= entry.weight;
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * 获取缓存统计
+     */
+    public synchronized CacheStatsDTO getStats() {
+        CacheStatsDTO stats = new CacheStatsDTO();
+        stats.setName("apiDetail");
+        stats.setSize(entries.size());
+        stats.setMaxEntries(maxEntries);
+        stats.setWeight(weight);
+        stats.setMaxWeight(maxWeightMb * 1024 * 1024);
+        stats.setHits(hits);
+        stats.setMisses(misses);
+        stats.setHitRate(hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        stats.setEvictions(evictions);
+        stats.setInvalidations(invalidations);
+        return stats;
+    }
+
+    /**
+     * 估算占用：压缩后的响应字节数加固定开销（解压后的响应缓存时另计）
+     */
+    static long weigh(ApiDetailPayload payload) {
+        return OBJECT_OVERHEAD + (payload.getBody() != null ? payload.getBody().length : 0);
+    }
+
+    private static class Entry {
+        private final ApiDetailPayload payload;
+        private long weight;
+        private byte[] plainBody;
+
+        Entry(ApiDetailPayload payload, long weight) {
+            this.payload = payload;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.simulator.service;
+
+import com.simulator.dto.ApiInfoDTO;
+import com.simulator.dto.ApiSearchRequest;
+import com.simulator.entity.ApiInfo;
+import com.simulator.repository.ApiInfoRepository;
+import com.simulator.repository.SwaggerInfoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 接口搜索索引
+ * 在内存中为已生效文档的接口建立倒排索引：路径、标签、操作ID、描述按三字符片段（trigram）索引，
+ * 请求方法和文档ID按值索引。搜索时对各条件的倒排表求交集得到候选接口，再逐个校验原文，
+ * 耗时只与命中的倒排表长度相关，不随接口总数线性增长
+ * 启动时从数据库构建，之后每次导入提交后按文档增量更新
+ *
+ * @author simulator
+ * @date 2024
+ */
+@Slf4j
+@Component
+public class ApiSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final char FIELD_PATH = 'p';
+    private static final char FIELD_TAGS = 't';
+    private static final char FIELD_OPERATION_ID = 'o';
+    private static final char FIELD_DESCRIPTION = 'd';
+
+    private final ApiInfoRepository apiInfoRepository;
+    private final SwaggerInfoRepository swaggerInfoRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 串行执行重新加载：查询不在读写锁内，依次执行保证后提交的导入最后写入索引
+     */
+    private final Object reloadLock = new Object();
+
+    /**
+     * 按序号存放的接口，已删除的位置为null；序号只增不减，倒排表因此天然有序
+     */
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<Long, Integer> ordinalsByApiId = new HashMap<>();
+    private final Map<String, Postings> grams = new HashMap<>();
+    private final Map<String, Postings> methods = new HashMap<>();
+    private final Map<Long, Postings> swaggers = new HashMap<>();
+
+    /**
+     * 已删除但仍留在倒排表中的序号数，超过存活数时整体压缩
+     */
+    private int removedCount;
+
+    public ApiSearchIndex(ApiInfoRepository apiInfoRepository, SwaggerInfoRepository swaggerInfoRepository) {
+        this.apiInfoRepository = apiInfoRepository;
+        this.swaggerInfoRepository = swaggerInfoRepository;
+    }
+
+    /**
+     * 启动后从数据库构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startTime = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Long swaggerId : swaggerInfoRepository.findActiveIds()) {
+                for (ApiInfo apiInfo : apiInfoRepository.findBySwaggerId(swaggerId)) {
+                    add(apiInfo);
+                }
+            }
+            log.info("接口搜索索引构建完成，共{}个接口，{}个片段，耗时{}ms",
+                ordinalsByApiId.size(), grams.size(), System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            log.error("接口搜索索引构建失败", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 从数据库重新加载文档的接口（导入提交后调用）
+     * 查询在加写锁前完成，写锁只覆盖内存中的替换，搜索不会等待数据库查询
+     *
+     * @param swaggerId 文档ID
+     */
+    public void reloadSwagger(Long swaggerId) {
+        synchronized (reloadLock) {
+            replaceSwagger(swaggerId, apiInfoRepository.findBySwaggerId(swaggerId));
+        }
+    }
+
+    /**
+     * 用给定接口替换文档在索引中的全部接口
+     *
+     * @param swaggerId 文档ID
+     * @param apiInfos 文档当前的接口
+     */
+    public void replaceSwagger(Long swaggerId, Collection<ApiInfo> apiInfos) {
+        lock.writeLock().lock();
+        try {
+            Postings previous = swaggers.get(swaggerId);
+            if (previous != null) {
+                for (int i = 0; i < previous.size; i++) {
+                    remove(previous.ordinals[i]);
+                }
+            }
+            for (ApiInfo apiInfo : apiInfos) {
+                add(apiInfo);
+            }
+            if (removedCount > 1024 && removedCount > ordinalsByApiId.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 组合搜索
+     *
+     * @param request 搜索条件
+     * @return 按接口ID倒序分页的接口
+     */
+    public Page<ApiInfoDTO> search(ApiSearchRequest request) {
+        int page = request.getPage() != null ? request.getPage() : 0;
+        int size = request.getSize() != null ? request.getSize() : 10;
+        String method = isBlank(request.getMethod()) ? null : request.getMethod().trim().toUpperCase(Locale.ROOT);
+        List<String> pathTerms = terms(request.getPath());
+        List<String> tagTerms = terms(request.getTags());
+        List<String> operationIdTerms = terms(request.getOperationId());
+        List<String> descriptionTerms = terms(request.getDescription());
+
+        List<Entry> matched = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            // 1. 收集各条件的倒排表，任一条件无倒排表说明没有结果
+            List<Postings> lists = new ArrayList<>();
+            boolean possible = collect(lists, request.getSwaggerId() != null ? swaggers.get(request.getSwaggerId()) : null,
+                    request.getSwaggerId() != null)
+                && collect(lists, method != null ? methods.get(method) : null, method != null)
+                && collectGrams(lists, FIELD_PATH, pathTerms)
+                && collectGrams(lists, FIELD_TAGS, tagTerms)
+                && collectGrams(lists, FIELD_OPERATION_ID, operationIdTerms)
+                && collectGrams(lists, FIELD_DESCRIPTION, descriptionTerms);
+            if (possible) {
+                // 2. 求交集得到候选，再校验原文（片段命中不代表子串命中，且可能包含已删除的序号）
+                int[] candidates = intersect(lists);
+                int count = candidates != null ? candidates.length : entries.size();
+                for (int i = 0; i < count; i++) {
+                    Entry entry = entries.get(candidates != null ? candidates[i] : i);
+                    if (entry != null
+                            && (method == null || method.equals(entry.method))
+                            && (request.getSwaggerId() == null || request.getSwaggerId().equals(entry.dto.getSwaggerId()))
+                            && containsAll(entry.path, pathTerms)
+                            && containsAll(entry.tags, tagTerms)
+                            && containsAll(entry.operationId, operationIdTerms)
+                            && containsAll(entry.description, descriptionTerms)) {
+                        matched.add(entry);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matched.sort((a, b) -> Long.compare(b.dto.getId(), a.dto.getId()));
+        int from = (int) Math.min((long) page * size, matched.size());
+        int to = Math.min(from + size, matched.size());
+        List<ApiInfoDTO> content = new ArrayList<>(to - from);
+        for (Entry entry : matched.subList(from, to)) {
+            content.add(entry.dto);
+        }
+        return new PageImpl<>(content, PageRequest.of(page, size), matched.size());
+    }
+
+    /**
+     * 已索引的接口数量
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsByApiId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(ApiInfo apiInfo) {
+        Integer previous = ordinalsByApiId.get(apiInfo.getId());
+        if (previous != null) {
+            remove(previous);
+        }
+        Entry entry = new Entry(apiInfo);
+        int ordinal = entries.size();
+        entries.add(entry);
+        ordinalsByApiId.put(apiInfo.getId(), ordinal);
+        index(entry, ordinal);
+    }
+
+    private void index(Entry entry, int ordinal) {
+        swaggers.computeIfAbsent(entry.dto.getSwaggerId(), key -> new Postings()).add(ordinal);
+        if (entry.method != null) {
+            methods.computeIfAbsent(entry.method, key -> new Postings()).add(ordinal);
+        }
+        Set<String> keys = new HashSet<>();
+        addGrams(keys, FIELD_PATH, entry.path);
+        addGrams(keys, FIELD_TAGS, entry.tags);
+        addGrams(keys, FIELD_OPERATION_ID, entry.operationId);
+        addGrams(keys, FIELD_DESCRIPTION, entry.description);
+        for (String key : keys) {
+            grams.computeIfAbsent(key, k -> new Postings()).add(ordinal);
+        }
+    }
+
+    /**
+     * 删除时只清空序号对应的接口，倒排表中的序号在搜索校验时跳过，压缩时一并清理
+     */
+    private void remove(int ordinal) {
+        Entry entry = entries.get(ordinal);
+        if (entry != null) {
+            entries.set(ordinal, null);
+            ordinalsByApiId.remove(entry.dto.getId());
+            removedCount++;
+        }
+    }
+
+    private void compact() {
+        List<Entry> live = new ArrayList<>(ordinalsByApiId.size());
+        for (Entry entry : entries) {
+            if (entry != null) {
+                live.add(entry);
+            }
+        }
+        clear();
+        for (Entry entry : live) {
+            int ordinal = entries.size();
+            entries.add(entry);
+            ordinalsByApiId.put(entry.dto.getId(), ordinal);
+            index(entry, ordinal);
+        }
+    }
+
+    private void clear() {
+        entries.clear();
+        ordinalsByApiId.clear();
+        grams.clear();
+        methods.clear();
+        swaggers.clear();
+        removedCount = 0;
+    }
+
+    private static boolean collect(List<Postings> lists, Postings postings, boolean required) {
+        if (!required) {
+            return true;
+        }
+        if (postings == null) {
+            return false;
+        }
+        lists.add(postings);
+        return true;
+    }
+
+    /**
+     * 收集文本条件的片段倒排表，不足三个字符的词没有片段，只在校验阶段匹配
+     */
+    private boolean collectGrams(List<Postings> lists, char field, List<String> terms) {
+        Set<String> keys = new HashSet<>();
+        for (String term : terms) {
+            addGrams(keys, field, term);
+        }
+        for (String key : keys) {
+            if (!collect(lists, grams.get(key), true)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 对有序倒排表求交集，从最短的开始；没有倒排表时返回null表示全部序号
+     */
+    private static int[] intersect(List<Postings> lists) {
+        if (lists.isEmpty()) {
+            return null;
+        }
+        lists.sort(Comparator.comparingInt(postings -> postings.size));
+        Postings shortest = lists.get(0);
+        int[] result = Arrays.copyOf(shortest.ordinals, shortest.size);
+        int length = result.length;
+        for (int i = 1; i < lists.size() && length > 0; i++) {
+            Postings other = lists.get(i);
+            int kept = 0;
+            int position = 0;
+            for (int j = 0; j < length; j++) {
+                int ordinal = result[j];
+                position = Arrays.binarySearch(other.ordinals, position, other.size, ordinal);
+                if (position >= 0) {
+                    result[kept++] = ordinal;
+                    position++;
+                } else {
+                    position = -position - 1;
+                }
+            }
+            length = kept;
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    private static void addGrams(Set<String> keys, char field, String text) {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            keys.add(field + text.substring(i, i + GRAM_LENGTH));
+        }
+    }
+
+    private static boolean containsAll(String text, List<String> terms) {
+        for (String term : terms) {
+            if (!text.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> terms(String value) {
+        if (isBlank(value)) {
+            return Collections.emptyList();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : value.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * 已索引的接口：返回用的DTO和小写化的检索字段
+     */
+    private static class Entry {
+        private final ApiInfoDTO dto;
+        private final String method;
+        private final String path;
+        private final String tags;
+        private final String operationId;
+        private final String description;
+
+        Entry(ApiInfo apiInfo) {
+            dto = new ApiInfoDTO();
+            dto.setId(apiInfo.getId());
+            dto.setPath(apiInfo.getPath());
+            dto.setMethod(apiInfo.getMethod());
+            dto.setSwaggerId(apiInfo.getSwaggerId());
+            dto.setDescription(apiInfo.getDescription());
+            dto.setTags(apiInfo.getTags());
+            dto.setOperationId(apiInfo.getOperationId());
+            dto.setCreateTime(apiInfo.getCreateTime());
+            dto.setUpdateTime(apiInfo.getUpdateTime());
+            method = apiInfo.getMethod() != null ? apiInfo.getMethod().toUpperCase(Locale.ROOT) : null;
+            path = normalize(apiInfo.getPath());
+            tags = normalize(apiInfo.getTags());
+            operationId = normalize(apiInfo.getOperationId());
+            description = normalize(apiInfo.getDescription());
+        }
+    }
+
+    /**
+     * 有序的序号倒排表
+     */
+    private static class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+}
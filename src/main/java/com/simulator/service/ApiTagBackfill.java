@@ -0,0 +1,51 @@
+package com.simulator.service;
+
+import com.simulator.repository.ApiTagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 接口标签表数据迁移
+ * 按标签筛选接口和统计标签只读api_tag表；升级前导入的接口只有api_info.tags字段，
+ * 而ddl-auto: update只会建出空表。启动时若标签表为空，则从api_info.tags拆分写入
+ * 在ApplicationReadyEvent之前执行，搜索索引和路由表加载时标签已就绪
+ *
+ * @author simulator
+ * @date 2024
+ */
+@Slf4j
+@Component
+public class ApiTagBackfill {
+
+    private final ApiTagRepository apiTagRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    public ApiTagBackfill(ApiTagRepository apiTagRepository, PlatformTransactionManager transactionManager) {
+        this.apiTagRepository = apiTagRepository;
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * 标签表为空时从api_info.tags回填
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void backfill() {
+        try {
+            if (apiTagRepository.findAnyApiId() != null) {
+                return;
+            }
+            long startTime = System.currentTimeMillis();
+            Integer rows = new TransactionTemplate(transactionManager)
+                .execute(status -> apiTagRepository.backfillFromApiInfo());
+            if (rows != null && rows > 0) {
+                log.info("接口标签表回填完成，共{}行，耗时{}ms", rows, System.currentTimeMillis() - startTime);
+            }
+        } catch (RuntimeException e) {
+            log.error("接口标签表回填失败，可手动执行schema.sql中的迁移语句", e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.simulator.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 数据版本登记
+ * 在内存中记录文档和接口的版本号，导入修改数据时递增，查询接口据此生成ETag，
+ * 条件请求无需查询数据库即可判断是否返回304
+ * 版本号只在本进程内有效（重启后全部变化），多实例部署时各实例独立计算
+ * 接口版本和详情ETag各最多记录maxEntries个，超出时淘汰最久未访问的；
+ * 淘汰的接口版本计入版本下限，未记录的接口按下限计算版本，已发出的ETag不会再次出现
+ *
+ * @author simulator
+ * @date 2024
+ */
+@Component
+public class DataVersions {
+
+    /**
+     * 进程标识，保证重启后的ETag与重启前不同
+     */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    /**
+     * 版本序列，每次变更分配一个新值
+     */
+    private long sequence;
+
+    /**
+     * 全部文档的版本（任意导入变更时递增）
+     */
+    private long documentsVersion;
+
+    /**
+     * 接口版本和详情ETag各自的最大记录数
+     */
+    @Value("${simulator.cache.data-versions.max-entries:100000}")
+    private int maxEntries = 100000;
+
+    /**
+     * 未记录的接口的版本（初始为0，淘汰记录时提升到被淘汰的版本）
+     */
+    private long versionFloor;
+
+    /**
+     * 被导入修改或删除过的接口的版本（按访问顺序）
+     */
+    private final Map<Long, Long> apiVersions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            if (size() <= maxEntries) {
+                return false;
+            }
+            versionFloor = Math.max(versionFloor, eldest.getValue());
+            return true;
+        }
+    };
+
+    /**
+     * 已输出过的接口详情响应ETag（按访问顺序）
+     */
+    private final Map<Long, String> detailETags = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * 接口列表ETag
+     */
+    public synchronized String listETag() {
+        return "\"" + epoch + "-" + documentsVersion + "\"";
+    }
+
+    /**
+     * 接口版本号，查询数据库前获取
+     */
+    public synchronized long apiVersion(Long apiId) {
+        return apiVersions.getOrDefault(apiId, versionFloor);
+    }
+
+    /**
+     * 接口参数ETag
+     */
+    public synchronized String apiETag(Long apiId) {
+        return "\"" + epoch + "-" + apiId + "-" + apiVersion(apiId) + "\"";
+    }
+
+    /**
+     * 已输出过的接口详情响应ETag（不含引号），未记录或接口已变化时返回null
+     */
+    public synchronized String knownDetailETag(Long apiId) {
+        return detailETags.get(apiId);
+    }
+
+    /**
+     * 记录接口详情响应ETag
+     * 查询期间接口发生过变化时不记录，避免记录导入前读到的旧响应
+     *
+     * @param apiId 接口ID
+     * @param etag 响应ETag（不含引号）
+     * @param readVersion 查询数据库前获取的接口版本号
+     */
+    public synchronized void rememberDetailETag(Long apiId, String etag, long readVersion) {
+        if (apiVersion(apiId) == readVersion) {
+            detailETags.put(apiId, etag);
+        }
+    }
+
+    /**
+     * 接口被修改或删除
+     * 在事务中调用时提交后再递增一次，避免提交前的并发查询以旧数据登记新版本
+     *
+     * @param apiIds 接口ID
+     */
+    public void apisChanged(Collection<Long> apiIds) {
+        if (apiIds.isEmpty()) {
+            return;
+        }
+        List<Long> changedIds = new ArrayList<>(apiIds);
+        bumpApis(changedIds);
+        afterCommit(() -> bumpApis(changedIds));
+    }
+
+    /**
+     * 文档新增、生效或文档信息变化
+     */
+    public void documentsChanged() {
+        bumpDocuments();
+        afterCommit(this::bumpDocuments);
+    }
+
+    private synchronized void bumpApis(List<Long> apiIds) {
+        documentsVersion = ++sequence;
+        for (Long apiId : apiIds) {
+            apiVersions.put(apiId, ++sequence);
+            detailETags.remove(apiId);
+        }
+    }
+
+    private synchronized void bumpDocuments() {
+        documentsVersion = ++sequence;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
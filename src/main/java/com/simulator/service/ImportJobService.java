@@ -0,0 +1,200 @@
+package com.simulator.service;
+
+import cn.hutool.core.thread.NamedThreadFactory;
+import com.simulator.dto.ImportJobDTO;
+import com.simulator.dto.SwaggerImportRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * 异步导入任务服务
+ * 导入在有界工作线程池中执行，HTTP请求提交后立即返回任务ID，任务状态保存在内存中供查询
+ *
+ * @author simulator
+ * @date 2024
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportJobService {
+
+    private final SwaggerService swaggerService;
+
+    /**
+     * 导入工作线程数
+     */
+    @Value("${simulator.import.worker-threads:2}")
+    private int workerThreads;
+
+    /**
+     * 等待执行的任务上限，超出时拒绝提交
+     */
+    @Value("${simulator.import.queue-capacity:16}")
+    private int queueCapacity;
+
+    /**
+     * 已结束任务的保留时间（分钟）
+     */
+    @Value("${simulator.import.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new NamedThreadFactory("swagger-import-", false));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 提交导入任务（文档内容或URL）
+     *
+     * @param request 导入请求
+     * @return 任务信息
+     * @throws RejectedExecutionException 任务队列已满
+     */
+    public ImportJobDTO submit(SwaggerImportRequest request) {
+        String source = request.getUrl() != null && !request.getUrl().isEmpty() ? request.getUrl() : "content";
+        return submit(source, progress -> swaggerService.importSwagger(request, progress), null);
+    }
+
+    /**
+     * 提交文件导入任务
+     * 任务结束后删除该文件
+     *
+     * @param file 文档文件（由任务接管）
+     * @param contentType 内容类型（json/yaml）
+     * @param fileName 原始文件名
+     * @return 任务信息
+     * @throws RejectedExecutionException 任务队列已满
+     */
+    public ImportJobDTO submitFile(Path file, String contentType, String fileName) {
+        return submit(fileName, progress -> swaggerService.importSwaggerFile(file, contentType, null, progress),
+            () -> deleteFile(file));
+    }
+
+    /**
+     * 查询导入任务
+     *
+     * @param jobId 任务ID
+     * @return 任务信息，不存在（或已过期清理）时返回null
+     */
+    public ImportJobDTO getJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        return job != null ? job.toDTO() : null;
+    }
+
+    private ImportJobDTO submit(String source, ToIntFunction<ImportProgress> task, Runnable cleanup) {
+        removeExpiredJobs();
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), source);
+        jobs.put(job.jobId, job);
+        try {
+            executor.execute(() -> run(job, task, cleanup));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.jobId);
+            if (cleanup != null) {
+                cleanup.run();
+            }
+            log.warn("导入任务队列已满，拒绝任务: {}", source);
+            throw e;
+        }
+        log.info("已提交导入任务: {}，来源: {}", job.jobId, source);
+        return job.toDTO();
+    }
+
+    private void run(ImportJob job, ToIntFunction<ImportProgress> task, Runnable cleanup) {
+        job.startTime = LocalDateTime.now();
+        try {
+            job.importedCount = task.applyAsInt(job.progress);
+            job.progress.setPhase(ImportProgress.Phase.COMPLETED);
+            log.info("导入任务完成: {}，共{}个接口", job.jobId, job.importedCount);
+        } catch (Exception e) {
+            job.errorMessage = e.getMessage();
+            job.progress.setPhase(ImportProgress.Phase.FAILED);
+            log.error("导入任务失败: {}", job.jobId, e);
+        } finally {
+            if (cleanup != null) {
+                cleanup.run();
+            }
+            job.finishTime = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * 清理超过保留时间的已结束任务
+     */
+    private void removeExpiredJobs() {
+        LocalDateTime expireBefore = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.finishTime != null && job.finishTime.isBefore(expireBefore));
+    }
+
+    private void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除临时文件失败: {}", file, e);
+        }
+    }
+
+    /**
+     * 导入任务
+     */
+    private static class ImportJob {
+        private final String jobId;
+        private final String source;
+        private final ImportProgress progress = new ImportProgress();
+        private final LocalDateTime submitTime = LocalDateTime.now();
+        private volatile LocalDateTime startTime;
+        private volatile LocalDateTime finishTime;
+        private volatile Integer importedCount;
+        private volatile String errorMessage;
+
+        ImportJob(String jobId, String source) {
+            this.jobId = jobId;
+            this.source = source;
+        }
+
+        ImportJobDTO toDTO() {
+            ImportJobDTO dto = new ImportJobDTO();
+            dto.setJobId(jobId);
+            dto.setSource(source);
+            dto.setPhase(progress.getPhase().name());
+            dto.setTotalOperations(progress.getTotalOperations());
+            dto.setProcessedOperations(progress.getProcessedOperations());
+            dto.setWrittenRows(progress.getWrittenRows());
+            dto.setImportedCount(importedCount);
+            dto.setErrorMessage(errorMessage);
+            dto.setSubmitTime(submitTime);
+            dto.setStartTime(startTime);
+            dto.setFinishTime(finishTime);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.simulator.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 导入进度
+ * 由执行导入的线程更新，查询线程读取
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class ImportProgress {
+
+    /**
+     * 导入阶段
+     */
+    public enum Phase {
+        /** 等待执行 */
+        QUEUED,
+        /** 下载文档 */
+        DOWNLOADING,
+        /** 解析文档 */
+        PARSING,
+        /** 保存数据 */
+        SAVING,
+        /** 导入完成 */
+        COMPLETED,
+        /** 导入失败 */
+        FAILED
+    }
+
+    private volatile Phase phase = Phase.QUEUED;
+    private volatile int totalOperations;
+    private final AtomicInteger processedOperations = new AtomicInteger();
+    private final AtomicLong writtenRows = new AtomicLong();
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public void setPhase(Phase phase) {
+        this.phase = phase;
+    }
+
+    /**
+     * 解析得到的接口总数
+     */
+    public int getTotalOperations() {
+        return totalOperations;
+    }
+
+    public void setTotalOperations(int totalOperations) {
+        this.totalOperations = totalOperations;
+    }
+
+    /**
+     * 已保存的接口数
+     */
+    public int getProcessedOperations() {
+        return processedOperations.get();
+    }
+
+    /**
+     * 已写入的参数行数
+     */
+    public long getWrittenRows() {
+        return writtenRows.get();
+    }
+
+    /**
+     * 记录一个接口保存完成
+     *
+     * @param rows 该接口写入的参数行数
+     */
+    public void operationSaved(int rows) {
+        processedOperations.incrementAndGet();
+        writtenRows.addAndGet(rows);
+    }
+}
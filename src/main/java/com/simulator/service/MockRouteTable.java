@@ -0,0 +1,354 @@
+package com.simulator.service;
+
+import com.simulator.dto.ApiMatchDTO;
+import com.simulator.entity.ApiInfo;
+import com.simulator.entity.RequestParam;
+import com.simulator.entity.ResponseParam;
+import com.simulator.repository.ApiInfoRepository;
+import com.simulator.repository.RequestParamRepository;
+import com.simulator.repository.ResponseParamRepository;
+import com.simulator.repository.SwaggerInfoRepository;
+import com.simulator.repository.projection.RequestParamSummary;
+import com.simulator.util.PathTemplateRouter;
+import com.simulator.util.RequestValidationPlan;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 模拟路由表
+ * 为已生效文档预编译请求方法+路径到模拟响应的路由（见{@link PathTemplateRouter}，固定段优先于路径变量），
+ * 响应体和响应头在加载时生成好，请求参数编译为校验计划（见{@link RequestValidationPlan}），请求时不查询数据库
+ * 每个文档的路由表构建完成后整体替换，查询无需加锁
+ * 启动时从数据库构建，之后每次导入提交后按文档重新加载
+ *
+ * @author simulator
+ * @date 2024
+ */
+@Slf4j
+@Component
+public class MockRouteTable {
+
+    /**
+     * 指定返回状态码的请求头（如404、4XX），未定义该状态码时返回默认响应
+     */
+    public static final String STATUS_HEADER = "X-Mock-Status";
+
+    private static final String DEFAULT_STATUS = "default";
+
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private final ApiInfoRepository apiInfoRepository;
+    private final SwaggerInfoRepository swaggerInfoRepository;
+    private final RequestParamRepository requestParamRepository;
+    private final ResponseParamRepository responseParamRepository;
+
+    private final Map<Long, PathTemplateRouter<MockRoute>> swaggers = new ConcurrentHashMap<>();
+
+    public MockRouteTable(ApiInfoRepository apiInfoRepository, SwaggerInfoRepository swaggerInfoRepository,
+                          RequestParamRepository requestParamRepository,
+                          ResponseParamRepository responseParamRepository) {
+        this.apiInfoRepository = apiInfoRepository;
+        this.swaggerInfoRepository = swaggerInfoRepository;
+        this.requestParamRepository = requestParamRepository;
+        this.responseParamRepository = responseParamRepository;
+    }
+
+    /**
+     * 启动后从数据库构建路由表
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startTime = System.currentTimeMillis();
+        try {
+            swaggers.clear();
+            for (Long swaggerId : swaggerInfoRepository.findActiveIds()) {
+                reloadSwagger(swaggerId);
+            }
+            log.info("模拟路由表构建完成，共{}个文档，{}个接口，耗时{}ms",
+                swaggers.size(), size(), System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            log.error("模拟路由表构建失败", e);
+        }
+    }
+
+    /**
+     * 从数据库重新加载文档的路由（导入提交后调用）
+     *
+     * @param swaggerId 文档ID
+     */
+    public void reloadSwagger(Long swaggerId) {
+        List<ApiInfo> apiInfos = apiInfoRepository.findBySwaggerId(swaggerId);
+        Map<Long, List<RequestParam>> requestParams = requestParamRepository.findSummaryBySwaggerId(swaggerId)
+            .stream()
+            .map(MockRouteTable::toRequestParam)
+            .collect(Collectors.groupingBy(RequestParam::getApiId));
+        Map<Long, List<ResponseParam>> responseParams = responseParamRepository.findMockResponsesBySwaggerId(swaggerId)
+            .stream()
+            .collect(Collectors.groupingBy(ResponseParam::getApiId));
+        swaggers.put(swaggerId, compile(apiInfos,
+            apiInfo -> requestParams.getOrDefault(apiInfo.getId(), Collections.emptyList()),
+            apiInfo -> responseParams.getOrDefault(apiInfo.getId(), Collections.emptyList())));
+    }
+
+    /**
+     * 用给定接口（含响应参数）替换文档的全部路由
+     *
+     * @param swaggerId 文档ID
+     * @param apiInfos 文档当前的接口
+     */
+    public void replaceSwagger(Long swaggerId, Collection<ApiInfo> apiInfos) {
+        swaggers.put(swaggerId, compile(apiInfos,
+            apiInfo -> apiInfo.getRequestParams() != null ? apiInfo.getRequestParams() : Collections.emptyList(),
+            apiInfo -> apiInfo.getResponseParams() != null ? apiInfo.getResponseParams() : Collections.emptyList()));
+    }
+
+    /**
+     * 匹配模拟响应
+     *
+     * @param swaggerId 文档ID
+     * @param method 请求方法
+     * @param path 请求路径（不含上下文路径和/mock/{swaggerId}前缀）
+     * @param status 指定的状态码，可为空
+     * @return 模拟响应，文档未加载或没有匹配的接口时返回null
+     */
+    public MockResponse match(Long swaggerId, String method, String path, String status) {
+        MockRoute route = route(swaggerId, method, path, null);
+        return route != null ? route.response(status) : null;
+    }
+
+    /**
+     * 匹配接口路由
+     *
+     * @param swaggerId 文档ID
+     * @param method 请求方法
+     * @param path 请求路径
+     * @param variables 接收路径变量，可为空
+     * @return 接口路由，文档未加载或没有匹配的接口时返回null
+     */
+    public MockRoute route(Long swaggerId, String method, String path, PathTemplateRouter.PathVariables variables) {
+        PathTemplateRouter<MockRoute> router = swaggers.get(swaggerId);
+        return router != null ? router.match(method.toUpperCase(Locale.ROOT), path, variables) : null;
+    }
+
+    /**
+     * 匹配请求对应的接口
+     *
+     * @param swaggerId 文档ID
+     * @param method 请求方法
+     * @param path 请求路径
+     * @return 接口及路径变量，文档未加载或没有匹配的接口时返回null
+     */
+    public ApiMatchDTO matchApi(Long swaggerId, String method, String path) {
+        PathTemplateRouter.PathVariables variables = new PathTemplateRouter.PathVariables();
+        MockRoute route = route(swaggerId, method, path, variables);
+        if (route == null) {
+            return null;
+        }
+        ApiMatchDTO match = new ApiMatchDTO();
+        match.setSwaggerId(swaggerId);
+        match.setApiId(route.apiId);
+        match.setMethod(route.method);
+        match.setPath(route.path);
+        match.setPathVariables(variables.toMap());
+        return match;
+    }
+
+    /**
+     * 已加载的接口数
+     */
+    public int size() {
+        return swaggers.values().stream().mapToInt(PathTemplateRouter::size).sum();
+    }
+
+    private static PathTemplateRouter<MockRoute> compile(Collection<ApiInfo> apiInfos,
+                                                         Function<ApiInfo, List<RequestParam>> requestsOf,
+                                                         Function<ApiInfo, List<ResponseParam>> responsesOf) {
+        PathTemplateRouter<MockRoute> router = new PathTemplateRouter<>();
+        for (ApiInfo apiInfo : apiInfos) {
+            String method = apiInfo.getMethod().toUpperCase(Locale.ROOT);
+            boolean added = router.add(method, apiInfo.getPath(), new MockRoute(apiInfo.getId(), method, apiInfo.getPath(),
+                RequestValidationPlan.compile(requestsOf.apply(apiInfo)), compileResponses(responsesOf.apply(apiInfo))));
+            if (!added) {
+                log.warn("接口{} {} {}与已加载的路径模板重复，忽略", apiInfo.getId(), method, apiInfo.getPath());
+            }
+        }
+        return router;
+    }
+
+    private static RequestParam toRequestParam(RequestParamSummary summary) {
+        RequestParam param = new RequestParam();
+        param.setApiId(summary.getApiId());
+        param.setParamName(summary.getParamName());
+        param.setLocation(summary.getLocation());
+        param.setContentType(summary.getContentType());
+        param.setParamType(summary.getParamType());
+        param.setRequired(summary.getRequired());
+        param.setPattern(summary.getPattern());
+        param.setHierarchyPath(summary.getHierarchyPath());
+        return param;
+    }
+
+    /**
+     * 按状态码生成模拟响应：响应体取该状态码第一个有示例值的响应体根参数，响应头取有示例值的响应头参数
+     */
+    private static Map<String, MockResponse> compileResponses(List<ResponseParam> responseParams) {
+        Map<String, String> bodies = new LinkedHashMap<>();
+        Map<String, HttpHeaders> headers = new LinkedHashMap<>();
+        for (ResponseParam param : responseParams) {
+            String statusCode = param.getStatusCode();
+            HttpHeaders statusHeaders = headers.computeIfAbsent(statusCode, key -> new HttpHeaders());
+            if ("header".equals(param.getLocation())) {
+                if (param.getExample() != null && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(param.getParamName())) {
+                    statusHeaders.add(param.getParamName(), param.getExample());
+                }
+            } else if ("body".equals(param.getLocation()) && isRoot(param) && param.getExample() != null) {
+                bodies.putIfAbsent(statusCode, param.getExample());
+            }
+        }
+
+        Map<String, MockResponse> responses = new LinkedHashMap<>();
+        for (Map.Entry<String, HttpHeaders> entry : headers.entrySet()) {
+            String statusCode = entry.getKey();
+            String body = bodies.get(statusCode);
+            HttpHeaders responseHeaders = entry.getValue();
+            if (body != null) {
+                responseHeaders.setContentType(isJson(body) ? MediaType.APPLICATION_JSON : TEXT_PLAIN_UTF8);
+            }
+            responses.put(statusCode, new MockResponse(httpStatus(statusCode),
+                body != null ? body.getBytes(StandardCharsets.UTF_8) : new byte[0],
+                HttpHeaders.readOnlyHttpHeaders(responseHeaders)));
+        }
+        return responses;
+    }
+
+    private static boolean isRoot(ResponseParam param) {
+        return param.getHierarchyPath() == null || param.getHierarchyPath().isEmpty();
+    }
+
+    private static boolean isJson(String body) {
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '{' || c == '[';
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 文档中的状态码转为HTTP状态码：2XX这类范围取整百，default取200
+     */
+    static int httpStatus(String statusCode) {
+        if (statusCode != null && statusCode.length() == 3 && Character.isDigit(statusCode.charAt(0))) {
+            if (Character.isDigit(statusCode.charAt(1)) && Character.isDigit(statusCode.charAt(2))) {
+                return Integer.parseInt(statusCode);
+            }
+            return (statusCode.charAt(0) - '0') * 100;
+        }
+        return 200;
+    }
+
+    /**
+     * 单个接口的路由（只读）
+     */
+    public static class MockRoute {
+        private final Long apiId;
+        private final String method;
+        private final String path;
+        private final RequestValidationPlan validationPlan;
+        private final Map<String, MockResponse> responses;
+        private final MockResponse defaultResponse;
+
+        MockRoute(Long apiId, String method, String path, RequestValidationPlan validationPlan,
+                  Map<String, MockResponse> responses) {
+            this.apiId = apiId;
+            this.method = method;
+            this.path = path;
+            this.validationPlan = validationPlan;
+            this.responses = responses;
+            this.defaultResponse = chooseDefault(responses);
+        }
+
+        public Long getApiId() {
+            return apiId;
+        }
+
+        public RequestValidationPlan getValidationPlan() {
+            return validationPlan;
+        }
+
+        /**
+         * 按指定状态码取模拟响应，未指定或未定义时返回默认响应
+         */
+        public MockResponse response(String status) {
+            if (status != null && !status.isEmpty()) {
+                MockResponse response = responses.get(status);
+                if (response == null) {
+                    response = responses.get(status.charAt(0) + "XX");
+                }
+                if (response != null) {
+                    return response;
+                }
+            }
+            return defaultResponse;
+        }
+
+        /**
+         * 默认响应：最小的2xx状态码，其次default，再次最小的状态码；文档未定义响应时返回空的200
+         */
+        private MockResponse chooseDefault(Map<String, MockResponse> responses) {
+            String chosen = null;
+            for (String statusCode : responses.keySet()) {
+                if (statusCode.startsWith("2") && (chosen == null || statusCode.compareTo(chosen) < 0)) {
+                    chosen = statusCode;
+                }
+            }
+            if (chosen == null && responses.containsKey(DEFAULT_STATUS)) {
+                chosen = DEFAULT_STATUS;
+            }
+            if (chosen == null) {
+                chosen = responses.keySet().stream().min(Comparator.naturalOrder()).orElse(null);
+            }
+            MockResponse response = chosen != null ? responses.get(chosen) : null;
+            return response != null ? response
+                : new MockResponse(200, new byte[0], HttpHeaders.readOnlyHttpHeaders(new HttpHeaders()));
+        }
+    }
+
+    /**
+     * 预生成的模拟响应（只读）
+     */
+    public static class MockResponse {
+        private final int status;
+        private final byte[] body;
+        private final HttpHeaders headers;
+
+        MockResponse(int status, byte[] body, HttpHeaders headers) {
+            this.status = status;
+            this.body = body;
+            this.headers = headers;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
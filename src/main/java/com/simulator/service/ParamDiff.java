@@ -0,0 +1,219 @@
+package com.simulator.service;
+
+import com.simulator.entity.RequestParam;
+import com.simulator.entity.ResponseParam;
+import com.simulator.util.ApiDigest;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * 接口参数差异
+ * 按参数位置和层级路径将新解析的参数与已保存的参数逐行匹配：
+ * 匹配且未变化的行保持不动，变化的行就地更新，其余分别插入和删除
+ * 文档提供的示例值和body参数的结构摘要参与比较；生成的示例值每次解析可能不同，不参与比较，只在行本身变化时
+ * 随其他字段一起更新（结构摘要变化即引用的组件变化，完整JSON示例随之更新），
+ * 或在子孙行变化时刷新（父参数的完整JSON示例由子参数的示例值拼成）
+ *
+ * @author simulator
+ * @date 2024
+ */
+final class ParamDiff<T> {
+
+    /**
+     * 需要插入的参数（新解析的实体）
+     */
+    private final List<T> inserted = new ArrayList<>();
+
+    /**
+     * 需要删除的参数（已保存的实体）
+     */
+    private final List<T> deleted = new ArrayList<>();
+
+    /**
+     * 新解析的参数与匹配到的已保存参数
+     */
+    private final Map<T, T> matched = new IdentityHashMap<>();
+
+    /**
+     * 就地更新的新解析参数
+     */
+    private final Set<T> updatedRows = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private ParamDiff() {
+    }
+
+    List<T> getInserted() {
+        return inserted;
+    }
+
+    List<T> getDeleted() {
+        return deleted;
+    }
+
+    int getUpdated() {
+        return updatedRows.size();
+    }
+
+    /**
+     * 新解析的参数对应的实体：匹配到已保存参数时返回已保存的参数，否则返回自身
+     */
+    T resolve(T parsed) {
+        return matched.getOrDefault(parsed, parsed);
+    }
+
+    /**
+     * 发生变化的行数
+     */
+    int getChangedRows() {
+        return inserted.size() + deleted.size() + updatedRows.size();
+    }
+
+    /**
+     * 计算请求参数差异，结构变化的已保存参数会被就地修改
+     *
+     * @param stored 已保存的参数
+     * @param parsed 新解析的参数
+     * @return 参数差异
+     */
+    static ParamDiff<RequestParam> diffRequestParams(List<RequestParam> stored, List<RequestParam> parsed) {
+        BiConsumer<RequestParam, RequestParam> copyExamples = (target, source) -> {
+            target.setPatternExample(source.getPatternExample());
+            target.setExample(source.getExample());
+            target.setExampleProvided(source.getExampleProvided());
+            target.setFullJsonExample(source.getFullJsonExample());
+        };
+        ParamDiff<RequestParam> diff = diff(stored, parsed,
+            param -> key(param.getLocation(), param.getContentType(), param.getHierarchyPath(), param.getParamName()),
+            (target, source) -> Objects.equals(target.getParamType(), source.getParamType())
+                && Objects.equals(target.getRequired(), source.getRequired())
+                && Objects.equals(target.getPattern(), source.getPattern())
+                && Objects.equals(target.getDescription(), source.getDescription())
+                && Objects.equals(target.getSchemaDigest(), source.getSchemaDigest())
+                && Objects.equals(ApiDigest.providedExample(target.getExampleProvided(), target.getExample()),
+                    ApiDigest.providedExample(source.getExampleProvided(), source.getExample())),
+            (target, source) -> {
+                target.setParamType(source.getParamType());
+                target.setRequired(source.getRequired());
+                target.setPattern(source.getPattern());
+                target.setDescription(source.getDescription());
+                target.setSchemaDigest(source.getSchemaDigest());
+                copyExamples.accept(target, source);
+            });
+        diff.refreshAncestors(stored, RequestParam::getParent, RequestParam::getId, RequestParam::getParentId,
+            copyExamples);
+        return diff;
+    }
+
+    /**
+     * 计算响应参数差异，结构变化的已保存参数会被就地修改
+     *
+     * @param stored 已保存的参数
+     * @param parsed 新解析的参数
+     * @return 参数差异
+     */
+    static ParamDiff<ResponseParam> diffResponseParams(List<ResponseParam> stored, List<ResponseParam> parsed) {
+        BiConsumer<ResponseParam, ResponseParam> copyExamples = (target, source) -> {
+            target.setExample(source.getExample());
+            target.setExampleProvided(source.getExampleProvided());
+        };
+        ParamDiff<ResponseParam> diff = diff(stored, parsed,
+            param -> key(param.getStatusCode(), param.getLocation(), param.getHierarchyPath(), param.getParamName()),
+            (target, source) -> Objects.equals(target.getParamType(), source.getParamType())
+                && Objects.equals(target.getPattern(), source.getPattern())
+                && Objects.equals(target.getDescription(), source.getDescription())
+                && Objects.equals(target.getSchemaDigest(), source.getSchemaDigest())
+                && Objects.equals(ApiDigest.providedExample(target.getExampleProvided(), target.getExample()),
+                    ApiDigest.providedExample(source.getExampleProvided(), source.getExample())),
+            (target, source) -> {
+                target.setParamType(source.getParamType());
+                target.setPattern(source.getPattern());
+                target.setDescription(source.getDescription());
+                target.setSchemaDigest(source.getSchemaDigest());
+                copyExamples.accept(target, source);
+            });
+        diff.refreshAncestors(stored, ResponseParam::getParent, ResponseParam::getId, ResponseParam::getParentId,
+            copyExamples);
+        return diff;
+    }
+
+    private static <T> ParamDiff<T> diff(List<T> stored, List<T> parsed, Function<T, String> keyFunction,
+                                         BiPredicate<T, T> sameStructure, BiConsumer<T, T> copy) {
+        ParamDiff<T> diff = new ParamDiff<>();
+        // 同一键可能对应多行（如同名参数），按出现顺序依次匹配
+        Map<String, Deque<T>> storedByKey = new HashMap<>();
+        if (stored != null) {
+            for (T param : stored) {
+                storedByKey.computeIfAbsent(keyFunction.apply(param), key -> new ArrayDeque<>()).add(param);
+            }
+        }
+        if (parsed != null) {
+            for (T param : parsed) {
+                Deque<T> candidates = storedByKey.get(keyFunction.apply(param));
+                T match = candidates != null ? candidates.poll() : null;
+                if (match == null) {
+                    diff.inserted.add(param);
+                    continue;
+                }
+                diff.matched.put(param, match);
+                if (!sameStructure.test(match, param)) {
+                    copy.accept(match, param);
+                    diff.updatedRows.add(param);
+                }
+            }
+        }
+        for (Deque<T> remaining : storedByKey.values()) {
+            diff.deleted.addAll(remaining);
+        }
+        return diff;
+    }
+
+    /**
+     * 有行插入、更新或删除时，刷新其祖先行（匹配到的已保存参数）的示例值
+     *
+     * @param stored 已保存的参数
+     * @param parent 新解析参数的父参数
+     * @param id 已保存参数的主键
+     * @param parentId 已保存参数的父参数ID
+     * @param copyExamples 将新解析参数的示例值复制到已保存参数
+     */
+    private void refreshAncestors(List<T> stored, Function<T, T> parent, Function<T, Long> id,
+                                  Function<T, Long> parentId, BiConsumer<T, T> copyExamples) {
+        List<T> changed = new ArrayList<>(inserted);
+        changed.addAll(updatedRows);
+        // 删除的行从其已保存的父参数开始，找到对应的新解析参数
+        if (!deleted.isEmpty() && stored != null) {
+            Map<Long, T> parsedByStoredId = new HashMap<>();
+            for (Map.Entry<T, T> entry : matched.entrySet()) {
+                parsedByStoredId.put(id.apply(entry.getValue()), entry.getKey());
+            }
+            for (T row : deleted) {
+                T parsedParent = parentId.apply(row) != null ? parsedByStoredId.get(parentId.apply(row)) : null;
+                if (parsedParent != null) {
+                    refresh(parsedParent, parent, copyExamples);
+                }
+            }
+        }
+        for (T row : changed) {
+            if (parent.apply(row) != null) {
+                refresh(parent.apply(row), parent, copyExamples);
+            }
+        }
+    }
+
+    private void refresh(T parsed, Function<T, T> parent, BiConsumer<T, T> copyExamples) {
+        for (T row = parsed; row != null && !updatedRows.contains(row); row = parent.apply(row)) {
+            T target = matched.get(row);
+            if (target != null) {
+                copyExamples.accept(target, row);
+                updatedRows.add(row);
+            }
+        }
+    }
+
+    private static String key(String... parts) {
+        return String.join("\u0000", Arrays.stream(parts).map(String::valueOf).toArray(String[]::new));
+    }
+}
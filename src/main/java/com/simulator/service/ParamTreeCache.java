@@ -0,0 +1,69 @@
+package com.simulator.service;
+
+import com.simulator.dto.ParamTreeDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * 参数树缓存
+ * 进程内LRU缓存组装好的参数树，条目记录组装前读取的接口版本号（见{@link DataVersions}），
+ * 接口被导入修改后版本号变化，旧条目不再命中，无需显式失效
+ *
+ * @author simulator
+ * @date 2024
+ */
+@Component
+public class ParamTreeCache {
+
+    /**
+     * 最大条目数，0表示不缓存
+     */
+    @Value("${simulator.cache.param-tree.max-entries:1000}")
+    private int maxEntries;
+
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 获取参数树
+     *
+     * @param apiId 接口ID
+     * @param version 当前接口版本号
+     * @return 缓存的参数树，未缓存或版本不一致时返回null
+     */
+    public synchronized ParamTreeDTO get(Long apiId, long version) {
+        Entry entry = entries.get(apiId);
+        return entry != null && entry.version == version ? entry.tree : null;
+    }
+
+    /**
+     * 放入参数树
+     *
+     * @param apiId 接口ID
+     * @param version 组装前读取的接口版本号
+     * @param tree 参数树
+     */
+    public synchronized void put(Long apiId, long version, ParamTreeDTO tree) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        entries.put(apiId, new Entry(version, tree));
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static class Entry {
+        private final long version;
+        private final ParamTreeDTO tree;
+
+        Entry(long version, ParamTreeDTO tree) {
+            this.version = version;
+            this.tree = tree;
+        }
+    }
+}
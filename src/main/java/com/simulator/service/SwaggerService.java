@@ -4,17 +4,39 @@ import com.simulator.dto.*;
 import com.simulator.entity.*;
 import com.simulator.parser.SwaggerParser;
 import com.simulator.repository.*;
+import com.simulator.repository.projection.*;
+import com.simulator.util.PageCursor;
+import com.simulator.util.ParamTree;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import cn.hutool.core.util.ZipUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.engine.jdbc.ClobProxy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Swagger服务类
@@ -27,12 +49,38 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SwaggerService {
 
+    /**
+     * 摘要视图：列表和参数查询只读取窄列
+     */
+    public static final String VIEW_SUMMARY = "summary";
+
+    /**
+     * 批量输出接口详情时每批的接口数量（IN列表长度）
+     */
+    private static final int DETAIL_BATCH_SIZE = 500;
+
     private final SwaggerParser swaggerParser;
     private final SwaggerInfoRepository swaggerInfoRepository;
     private final ApiInfoRepository apiInfoRepository;
     private final RequestParamRepository requestParamRepository;
     private final ResponseParamRepository responseParamRepository;
     private final ServerInfoRepository serverInfoRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final ApiDetailPayloadRepository apiDetailPayloadRepository;
+    private final ApiTagRepository apiTagRepository;
+    private final ApiDetailCache apiDetailCache;
+    private final DataVersions dataVersions;
+    private final ApiSearchIndex apiSearchIndex;
+    private final MockRouteTable mockRouteTable;
+    private final ParamTreeCache paramTreeCache;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 每个事务保存的接口数（0表示整个文档在一个事务中保存）
+     */
+    @Value("${simulator.import.chunk-size:200}")
+    private int importChunkSize;
 
     /**
      * 导入Swagger文档
@@ -40,131 +88,746 @@ public class SwaggerService {
      * @param request 导入请求
      * @return 导入的接口数量
      */
-    @Transactional(rollbackFor = Exception.class)
     public int importSwagger(SwaggerImportRequest request) {
+        return importSwagger(request, new ImportProgress());
+    }
+
+    /**
+     * 导入Swagger文档并报告进度
+     * 
+     * @param request 导入请求
+     * @param progress 导入进度
+     * @return 导入的接口数量
+     */
+    public int importSwagger(SwaggerImportRequest request, ImportProgress progress) {
+        return importSwagger(null, request, progress);
+    }
+
+    /**
+     * 重新导入指定的Swagger文档
+     * 新解析结果按(path, method)和参数层级路径与已保存的数据比较，只写入插入、更新和删除的行
+     * 
+     * @param swaggerId 已生效的Swagger文档ID
+     * @param request 导入请求
+     * @return 导入的接口数量
+     */
+    public int reimportSwagger(Long swaggerId, SwaggerImportRequest request) {
+        if (!swaggerInfoRepository.existsByIdAndStatus(swaggerId, SwaggerInfo.STATUS_ACTIVE)) {
+            throw new RuntimeException("Swagger文档不存在: " + swaggerId);
+        }
+        return importSwagger(swaggerId, request, new ImportProgress());
+    }
+
+    /**
+     * 导入Swagger文档
+     * 
+     * @param targetSwaggerId 重新导入的目标文档ID，为null时按内容/来源自动匹配
+     * @param request 导入请求
+     * @param progress 导入进度
+     * @return 导入的接口数量
+     */
+    private int importSwagger(Long targetSwaggerId, SwaggerImportRequest request, ImportProgress progress) {
+        // 如果提供了URL，先下载到临时文件再流式导入
+        if (request.getUrl() != null && !request.getUrl().isEmpty()) {
+            progress.setPhase(ImportProgress.Phase.DOWNLOADING);
+            Path tempFile = downloadToTempFile(request.getUrl());
+            try {
+                return importSwaggerFile(targetSwaggerId, tempFile, request.getContentType(), request.getUrl(), progress);
+            } finally {
+                deleteTempFile(tempFile);
+            }
+        }
+        
         try {
-            String content = request.getContent();
+            long startTime = System.currentTimeMillis();
             
-            // 如果提供了URL，从URL获取内容
-            if (request.getUrl() != null && !request.getUrl().isEmpty()) {
-                content = fetchContentFromUrl(request.getUrl());
+            // 内容与已有文档完全相同时直接返回
+            String contentHash = DigestUtil.sha256Hex(request.getContent());
+            Integer unchangedCount = findUnchangedImport(targetSwaggerId, null, contentHash, startTime, progress);
+            if (unchangedCount != null) {
+                return unchangedCount;
             }
             
             // 解析Swagger文档
-            SwaggerParser.ParseResult parseResult = swaggerParser.parse(content, request.getContentType());
+            progress.setPhase(ImportProgress.Phase.PARSING);
+            SwaggerParser.ParseResult parseResult = swaggerParser.parse(request.getContent(), request.getContentType());
+            parseResult.getSwaggerInfo().setContentHash(contentHash);
+            long parseTime = System.currentTimeMillis() - startTime;
             
-            // 1. 保存Swagger文档信息
-            SwaggerInfo swaggerInfo = parseResult.getSwaggerInfo();
-            if (request.getUrl() != null && !request.getUrl().isEmpty()) {
-                swaggerInfo.setSource("url");
-                swaggerInfo.setSourceUrl(request.getUrl());
-            } else {
-                swaggerInfo.setSource("file");
+            return saveParseResult(targetSwaggerId, parseResult, null, startTime, parseTime, progress);
+            
+        } catch (Exception e) {
+            log.error("导入Swagger文档失败", e);
+            throw new RuntimeException("导入Swagger文档失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 从文件导入Swagger文档
+     * 文档从文件流式解析，原始内容以字符流写入content字段，导入过程中不在内存中保留文档全文
+     * 
+     * @param file 文档文件
+     * @param contentType 内容类型（json/yaml），为空时自动判断
+     * @param sourceUrl 文档来源URL（通过URL导入时），否则为null
+     * @return 导入的接口数量
+     */
+    public int importSwaggerFile(Path file, String contentType, String sourceUrl) {
+        return importSwaggerFile(file, contentType, sourceUrl, new ImportProgress());
+    }
+
+    /**
+     * 从文件导入Swagger文档并报告进度
+     * 
+     * @param file 文档文件
+     * @param contentType 内容类型（json/yaml），为空时自动判断
+     * @param sourceUrl 文档来源URL（通过URL导入时），否则为null
+     * @param progress 导入进度
+     * @return 导入的接口数量
+     */
+    public int importSwaggerFile(Path file, String contentType, String sourceUrl, ImportProgress progress) {
+        return importSwaggerFile(null, file, contentType, sourceUrl, progress);
+    }
+
+    /**
+     * 从文件导入Swagger文档
+     * 
+     * @param targetSwaggerId 重新导入的目标文档ID，为null时按内容/来源自动匹配
+     * @param file 文档文件
+     * @param contentType 内容类型（json/yaml），为空时自动判断
+     * @param sourceUrl 文档来源URL（通过URL导入时），否则为null
+     * @param progress 导入进度
+     * @return 导入的接口数量
+     */
+    private int importSwaggerFile(Long targetSwaggerId, Path file, String contentType, String sourceUrl, 
+                                  ImportProgress progress) {
+        try (Reader contentReader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            long startTime = System.currentTimeMillis();
+            
+            // 内容与已有文档完全相同时直接返回
+            String contentHash = DigestUtil.sha256Hex(file.toFile());
+            Integer unchangedCount = findUnchangedImport(targetSwaggerId, sourceUrl, contentHash, startTime, progress);
+            if (unchangedCount != null) {
+                return unchangedCount;
             }
-            SwaggerInfo savedSwaggerInfo = swaggerInfoRepository.save(swaggerInfo);
-            Long swaggerId = savedSwaggerInfo.getId();
             
-            // 2. 保存服务器信息（关联swaggerId）
+            // 解析Swagger文档
+            progress.setPhase(ImportProgress.Phase.PARSING);
+            SwaggerParser.ParseResult parseResult = swaggerParser.parse(file, contentType);
+            parseResult.getSwaggerInfo().setContentHash(contentHash);
+            long parseTime = System.currentTimeMillis() - startTime;
+            
+            // 原始内容在保存文档信息时从文件读取
+            parseResult.getSwaggerInfo().setContent(ClobProxy.generateProxy(contentReader, countChars(file)));
+            return saveParseResult(targetSwaggerId, parseResult, sourceUrl, startTime, parseTime, progress);
+            
+        } catch (Exception e) {
+            log.error("导入Swagger文档失败", e);
+            throw new RuntimeException("导入Swagger文档失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 查找内容完全相同的已生效文档
+     * 未指定目标文档时只匹配同一来源的文档（与{@link #findReimportTarget}一致）：URL导入匹配同一来源URL的文档，
+     * 文件/内容导入只匹配文件/内容导入的文档；否则URL导入会返回其他来源的文档而不记录来源URL，
+     * 下次该URL内容变化时找不到已有文档，重复创建
+     * 
+     * @param targetSwaggerId 重新导入的目标文档ID，为null时按来源匹配
+     * @param sourceUrl 文档来源URL，为null表示文件/内容导入
+     * @param contentHash 文档原始内容摘要
+     * @param startTime 导入开始时间
+     * @param progress 导入进度
+     * @return 已有文档的接口数量，不存在时返回null
+     */
+    private Integer findUnchangedImport(Long targetSwaggerId, String sourceUrl, String contentHash, long startTime, 
+                                        ImportProgress progress) {
+        Long swaggerId;
+        if (targetSwaggerId != null) {
+            List<Long> swaggerIds = swaggerInfoRepository.findActiveIdsByContentHash(contentHash);
+            swaggerId = swaggerIds.contains(targetSwaggerId) ? targetSwaggerId : null;
+        } else {
+            List<Long> swaggerIds = swaggerInfoRepository.findActiveIdsByContentHashAndSourceUrl(contentHash, sourceUrl);
+            swaggerId = swaggerIds.isEmpty() ? null : swaggerIds.get(0);
+        }
+        if (swaggerId == null) {
+            return null;
+        }
+        int count = (int) apiInfoRepository.countBySwaggerId(swaggerId);
+        progress.setTotalOperations(count);
+        log.info("Swagger文档内容未变化，跳过导入，swaggerId: {}，共{}个接口，耗时{}ms", 
+            swaggerId, count, System.currentTimeMillis() - startTime);
+        return count;
+    }
+
+    /**
+     * 查找重新导入的目标文档：只有URL导入按来源URL匹配
+     * 文件/内容导入不按标题等元数据匹配（同名文档可能是另一版本或另一团队的文档），
+     * 需要原地更新时通过指定目标文档ID的接口导入
+     * 
+     * @return 已生效文档ID，不存在时返回null
+     */
+    private Long findReimportTarget(SwaggerInfo swaggerInfo) {
+        if (swaggerInfo.getSourceUrl() == null) {
+            return null;
+        }
+        List<Long> swaggerIds = swaggerInfoRepository.findActiveIdsBySourceUrl(swaggerInfo.getSourceUrl());
+        return swaggerIds.isEmpty() ? null : swaggerIds.get(0);
+    }
+
+    /**
+     * 保存解析结果
+     * 已有同一文档时只重写摘要变化的接口，见{@link #saveChangedApis}；
+     * 否则文档信息先以PENDING状态提交，接口按批次分别在独立事务中保存并清空持久化上下文，
+     * 全部写入后以一条UPDATE切换为ACTIVE，查询只返回ACTIVE文档的接口；中途失败则清理已写入的数据并标记为FAILED
+     * 
+     * @param targetSwaggerId 重新导入的目标文档ID，为null时按来源自动匹配
+     * @param parseResult 解析结果
+     * @param sourceUrl 文档来源URL，为null表示文件/内容导入
+     * @param startTime 导入开始时间
+     * @param parseTime 解析耗时
+     * @param progress 导入进度
+     * @return 导入的接口数量
+     */
+    private int saveParseResult(Long targetSwaggerId, SwaggerParser.ParseResult parseResult, String sourceUrl, 
+                                long startTime, long parseTime, ImportProgress progress) {
+        List<ApiInfo> apiInfos = parseResult.getApiInfos();
+        int count = apiInfos.size();
+        progress.setTotalOperations(count);
+        progress.setPhase(ImportProgress.Phase.SAVING);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        SwaggerInfo swaggerInfo = parseResult.getSwaggerInfo();
+        if (sourceUrl != null) {
+            swaggerInfo.setSource("url");
+            swaggerInfo.setSourceUrl(sourceUrl);
+        } else {
+            swaggerInfo.setSource("file");
+        }
+        Long existingSwaggerId = targetSwaggerId != null ? targetSwaggerId : findReimportTarget(swaggerInfo);
+        if (existingSwaggerId != null) {
+            return saveChangedApis(transactionTemplate, existingSwaggerId, parseResult, startTime, parseTime, progress);
+        }
+        
+        // 1. 保存Swagger文档信息（待生效）和服务器信息
+        swaggerInfo.setStatus(SwaggerInfo.STATUS_PENDING);
+        Long swaggerId = transactionTemplate.execute(status -> {
+            SwaggerInfo savedSwaggerInfo = swaggerInfoRepository.save(swaggerInfo);
             for (ServerInfo server : parseResult.getServers()) {
-                server.setSwaggerId(swaggerId);
-                serverInfoRepository.save(server);
+                server.setSwaggerId(savedSwaggerInfo.getId());
             }
+            serverInfoRepository.saveAll(parseResult.getServers());
+            return savedSwaggerInfo.getId();
+        });
+        
+        try {
+            // 2. 分批保存接口信息
+            long rowCount = saveApisInChunks(transactionTemplate, swaggerId, apiInfos, Collections.emptyMap(), progress);
             
-            // 3. 保存接口信息（关联swaggerId）
-            int count = 0;
-            for (ApiInfo apiInfo : parseResult.getApiInfos()) {
-                // 设置swaggerId
-                apiInfo.setSwaggerId(swaggerId);
-                
-                // 查找是否已存在相同swaggerId、路径和方法的接口
-                apiInfoRepository.findByPathAndMethod(apiInfo.getPath(), apiInfo.getMethod())
-                    .filter(existing -> existing.getSwaggerId().equals(swaggerId))
-                    .ifPresentOrElse(
-                        existing -> {
-                            // 更新现有接口
-                            Long apiId = existing.getId();
-                            // 删除旧的关联数据
-                            requestParamRepository.deleteByApiId(apiId);
-                            responseParamRepository.deleteByApiId(apiId);
-                            
-                            // 更新接口信息
-                            existing.setDescription(apiInfo.getDescription());
-                            existing.setTags(apiInfo.getTags());
-                            existing.setOperationId(apiInfo.getOperationId());
-                            apiInfoRepository.save(existing);
-                            
-                            // 保存新的关联数据
-                            saveApiRelatedData(existing.getId(), apiInfo);
-                        },
-                        () -> {
-                            // 保存新接口
-                            // 临时保存关联数据，避免级联保存时apiId为null
-                            List<RequestParam> tempRequestParams = apiInfo.getRequestParams();
-                            List<ResponseParam> tempResponseParams = apiInfo.getResponseParams();
-                            
-                            // 清空关联列表，避免级联保存
-                            apiInfo.setRequestParams(null);
-                            apiInfo.setResponseParams(null);
-                            
-                            // 先保存ApiInfo，获取ID
-                            ApiInfo saved = apiInfoRepository.save(apiInfo);
-                            
-                            // 恢复关联数据并设置apiId
-                            if (tempRequestParams != null) {
-                                apiInfo.setRequestParams(tempRequestParams);
-                            }
-                            if (tempResponseParams != null) {
-                                apiInfo.setResponseParams(tempResponseParams);
-                            }
-                            
-                            // 保存关联数据
-                            saveApiRelatedData(saved.getId(), apiInfo);
-                        }
-                    );
-                count++;
-            }
+            // 3. 全部写入后切换为生效状态
+            transactionTemplate.executeWithoutResult(status -> {
+                swaggerInfoRepository.updateStatus(swaggerId, SwaggerInfo.STATUS_ACTIVE);
+                dataVersions.documentsChanged();
+            });
+            refreshIndexes(swaggerId);
             
-            log.info("成功导入Swagger文档：{}，共{}个接口", savedSwaggerInfo.getTitle(), count);
+            log.info("成功导入Swagger文档：{}，共{}个接口，{}行参数，解析耗时{}ms，总耗时{}ms", 
+                swaggerInfo.getTitle(), count, rowCount, parseTime, System.currentTimeMillis() - startTime);
             return count;
             
+        } catch (RuntimeException e) {
+            discardStagedImport(transactionTemplate, swaggerId);
+            throw e;
+        }
+    }
+
+    /**
+     * 重新导入已有文档：只重写内容摘要变化的接口，删除新文档中已不存在的接口，最后更新文档信息和服务器列表
+     * 全部写入在同一个事务中完成（分批刷新并清空持久化上下文以限制内存），提交前其他查询只能看到旧数据；
+     * 中途失败时整体回滚，文档保持导入前的内容，异常向上抛出由调用方标记导入失败
+     * 
+     * @return 导入的接口数量
+     */
+    private int saveChangedApis(TransactionTemplate transactionTemplate, Long swaggerId, 
+                                SwaggerParser.ParseResult parseResult, long startTime, long parseTime, 
+                                ImportProgress progress) {
+        List<ApiInfo> apiInfos = parseResult.getApiInfos();
+        Map<String, ApiInfo> existingApis = loadExistingApis(swaggerId);
+        
+        // 1. 按接口摘要筛选变化的接口
+        List<ApiInfo> changedApis = new ArrayList<>();
+        Set<String> parsedKeys = new HashSet<>();
+        for (ApiInfo apiInfo : apiInfos) {
+            String key = apiKey(apiInfo.getPath(), apiInfo.getMethod());
+            parsedKeys.add(key);
+            ApiInfo existing = existingApis.get(key);
+            if (existing != null && Objects.equals(existing.getContentHash(), apiInfo.getContentHash())) {
+                progress.operationSaved(0);
+            } else {
+                changedApis.add(apiInfo);
+            }
+        }
+        List<Long> removedApiIds = existingApis.entrySet().stream()
+            .filter(entry -> !parsedKeys.contains(entry.getKey()))
+            .map(entry -> entry.getValue().getId())
+            .collect(Collectors.toList());
+        
+        // 2. 分批重写变化的接口（各批次加入外层事务，与第3步一起提交）
+        SwaggerInfo swaggerInfo = parseResult.getSwaggerInfo();
+        long rowCount = transactionTemplate.execute(outer -> {
+            long rows = saveApisInChunks(transactionTemplate, swaggerId, changedApis, existingApis, progress);
+            
+            // 3. 删除已不存在的接口，更新服务器和文档信息
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!removedApiIds.isEmpty()) {
+                    requestParamRepository.deleteByApiIdIn(removedApiIds);
+                    responseParamRepository.deleteByApiIdIn(removedApiIds);
+                    apiDetailPayloadRepository.deleteAllByIdInBatch(removedApiIds);
+                    apiTagRepository.deleteByApiIdIn(removedApiIds);
+                    apiInfoRepository.deleteAllByIdInBatch(removedApiIds);
+                    apisChanged(removedApiIds);
+                }
+                serverInfoRepository.deleteBySwaggerId(swaggerId);
+                for (ServerInfo server : parseResult.getServers()) {
+                    server.setSwaggerId(swaggerId);
+                }
+                serverInfoRepository.saveAll(parseResult.getServers());
+            
+                SwaggerInfo stored = swaggerInfoRepository.findById(swaggerId)
+                    .orElseThrow(() -> new RuntimeException("Swagger文档不存在: " + swaggerId));
+                stored.setTitle(swaggerInfo.getTitle());
+                stored.setVersion(swaggerInfo.getVersion());
+                stored.setDescription(swaggerInfo.getDescription());
+                stored.setSwaggerVersion(swaggerInfo.getSwaggerVersion());
+                stored.setContent(swaggerInfo.getContent());
+                stored.setContentHash(swaggerInfo.getContentHash());
+                stored.setSource(swaggerInfo.getSource());
+                stored.setSourceUrl(swaggerInfo.getSourceUrl());
+                dataVersions.documentsChanged();
+            });
+            return rows;
+        });
+        refreshIndexes(swaggerId);
+        
+        log.info("重新导入Swagger文档：{}，共{}个接口，重写{}个，删除{}个，{}行参数，解析耗时{}ms，总耗时{}ms", 
+            swaggerInfo.getTitle(), apiInfos.size(), changedApis.size(), removedApiIds.size(), rowCount, 
+            parseTime, System.currentTimeMillis() - startTime);
+        return apiInfos.size();
+    }
+
+    /**
+     * 导入提交后从数据库重新加载文档的搜索索引和模拟路由
+     * 加载完成后再递增一次版本号，避免索引更新前的搜索结果以新ETag被客户端缓存
+     */
+    private void refreshIndexes(Long swaggerId) {
+        apiSearchIndex.reloadSwagger(swaggerId);
+        mockRouteTable.reloadSwagger(swaggerId);
+        dataVersions.documentsChanged();
+    }
+
+    /**
+     * 组合搜索接口（基于内存倒排索引）
+     * 
+     * @param request 搜索条件
+     * @return 分页结果
+     */
+    public Page<ApiInfoDTO> searchApis(ApiSearchRequest request) {
+        return apiSearchIndex.search(request);
+    }
+
+    /**
+     * 分批保存接口，每批一个事务（已在外层事务中时加入外层事务），提交前刷新并清空一级缓存
+     * 
+     * @return 写入的参数行数
+     */
+    private long saveApisInChunks(TransactionTemplate transactionTemplate, Long swaggerId, List<ApiInfo> apiInfos,
+                                  Map<String, ApiInfo> existingApis, ImportProgress progress) {
+        int count = apiInfos.size();
+        int chunkSize = importChunkSize > 0 ? importChunkSize : Math.max(count, 1);
+        long rowCount = 0;
+        for (int from = 0; from < count; from += chunkSize) {
+            List<ApiInfo> chunk = apiInfos.subList(from, Math.min(from + chunkSize, count));
+            rowCount += transactionTemplate.execute(status -> {
+                long rows = upsertApis(swaggerId, chunk, existingApis, progress);
+                // 刷新触发JDBC批量插入，随后释放已持久化的实体
+                entityManager.flush();
+                entityManager.clear();
+                return rows;
+            });
+            // 已落库的接口不再保留在内存中
+            Collections.fill(chunk, null);
+        }
+        return rowCount;
+    }
+
+    /**
+     * 清理导入失败的文档已写入的数据，并将文档标记为FAILED
+     */
+    private void discardStagedImport(TransactionTemplate transactionTemplate, Long swaggerId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                apiDetailPayloadRepository.deleteBySwaggerId(swaggerId);
+                apiTagRepository.deleteBySwaggerId(swaggerId);
+                requestParamRepository.deleteBySwaggerId(swaggerId);
+                responseParamRepository.deleteBySwaggerId(swaggerId);
+                apiInfoRepository.deleteBySwaggerId(swaggerId);
+                serverInfoRepository.deleteBySwaggerId(swaggerId);
+                swaggerInfoRepository.updateStatus(swaggerId, SwaggerInfo.STATUS_FAILED);
+            });
         } catch (Exception e) {
-            log.error("导入Swagger文档失败", e);
-            throw new RuntimeException("导入Swagger文档失败: " + e.getMessage(), e);
+            log.error("清理导入失败的数据失败，swaggerId: {}", swaggerId, e);
+        }
+    }
+
+    /**
+     * 预加载文档下已有的接口，按(path, method)索引
+     */
+    private Map<String, ApiInfo> loadExistingApis(Long swaggerId) {
+        Map<String, ApiInfo> existingApis = new HashMap<>();
+        for (ApiInfo existing : apiInfoRepository.findBySwaggerId(swaggerId)) {
+            existingApis.putIfAbsent(apiKey(existing.getPath(), existing.getMethod()), existing);
+        }
+        return existingApis;
+    }
+
+    /**
+     * 批量新增或更新接口
+     * 根据预加载的已有接口(path, method)在内存中区分新增和更新；
+     * 已有接口的参数按api_id IN (...)一次性加载，按层级路径与新解析的参数比较，只写入插入、更新和删除的行；
+     * 保存后为这些接口预生成详情响应
+     * 
+     * @param swaggerId Swagger文档ID
+     * @param apiInfos 解析得到的接口列表
+     * @param existingApis 文档下已有的接口
+     * @param progress 导入进度
+     * @return 写入的参数行数
+     */
+    private long upsertApis(Long swaggerId, List<ApiInfo> apiInfos, Map<String, ApiInfo> existingApis,
+                            ImportProgress progress) {
+        List<ApiInfo> newApis = new ArrayList<>();
+        List<Long> existingApiIds = new ArrayList<>();
+        // 与apiInfos一一对应的已有接口ID，新接口为null
+        List<Long> targetIds = new ArrayList<>(apiInfos.size());
+        for (ApiInfo apiInfo : apiInfos) {
+            apiInfo.setSwaggerId(swaggerId);
+            ApiInfo existing = existingApis.get(apiKey(apiInfo.getPath(), apiInfo.getMethod()));
+            if (existing != null) {
+                existingApiIds.add(existing.getId());
+                targetIds.add(existing.getId());
+            } else {
+                newApis.add(apiInfo);
+                targetIds.add(null);
+            }
+        }
+        
+        // 已有接口及其参数在当前事务中加载（每张表一条查询）
+        Map<Long, ApiInfo> managedApis = new HashMap<>();
+        Map<Long, List<RequestParam>> storedRequestParams = Collections.emptyMap();
+        Map<Long, List<ResponseParam>> storedResponseParams = Collections.emptyMap();
+        if (!existingApiIds.isEmpty()) {
+            for (ApiInfo managed : apiInfoRepository.findAllById(existingApiIds)) {
+                managedApis.put(managed.getId(), managed);
+            }
+            storedRequestParams = requestParamRepository.findByApiIdIn(existingApiIds).stream()
+                .collect(Collectors.groupingBy(RequestParam::getApiId));
+            storedResponseParams = responseParamRepository.findByApiIdIn(existingApiIds).stream()
+                .collect(Collectors.groupingBy(ResponseParam::getApiId));
+        }
+        
+        // 保存新接口：临时移除关联列表，避免级联保存时apiId为null
+        Map<ApiInfo, List<RequestParam>> requestParams = new IdentityHashMap<>();
+        Map<ApiInfo, List<ResponseParam>> responseParams = new IdentityHashMap<>();
+        for (ApiInfo apiInfo : newApis) {
+            requestParams.put(apiInfo, apiInfo.getRequestParams());
+            responseParams.put(apiInfo, apiInfo.getResponseParams());
+            apiInfo.setRequestParams(null);
+            apiInfo.setResponseParams(null);
+        }
+        apiInfoRepository.saveAll(newApis);
+        for (ApiInfo apiInfo : newApis) {
+            apiInfo.setRequestParams(requestParams.get(apiInfo));
+            apiInfo.setResponseParams(responseParams.get(apiInfo));
+        }
+        
+        // 保存关联数据
+        long rowCount = 0;
+        List<SavedApi> savedApis = new ArrayList<>(apiInfos.size());
+        for (int i = 0; i < apiInfos.size(); i++) {
+            ApiInfo apiInfo = apiInfos.get(i);
+            Long existingId = targetIds.get(i);
+            SavedApi saved;
+            if (existingId == null) {
+                int rows = saveApiRelatedData(apiInfo.getId(), apiInfo);
+                saved = new SavedApi(apiInfo, apiInfo.getRequestParams(), apiInfo.getResponseParams(), rows);
+            } else {
+                // 更新现有接口（受管实体，提交时按脏检查更新）
+                ApiInfo managed = managedApis.get(existingId);
+                managed.setDescription(apiInfo.getDescription());
+                managed.setTags(apiInfo.getTags());
+                managed.setOperationId(apiInfo.getOperationId());
+                managed.setContentHash(apiInfo.getContentHash());
+                saved = applyParamDiff(managed, apiInfo, 
+                    storedRequestParams.get(existingId), storedResponseParams.get(existingId));
+            }
+            savedApis.add(saved);
+            progress.operationSaved(saved.rows);
+            rowCount += saved.rows;
+        }
+        
+        // 刷新使主键和时间戳生效后预生成详情响应
+        entityManager.flush();
+        saveDetailPayloads(savedApis, existingApiIds);
+        saveApiTags(swaggerId, apiInfos, savedApis, existingApiIds);
+        apisChanged(existingApiIds);
+        return rowCount;
+    }
+
+    /**
+     * 接口被修改或删除：使详情缓存失效并递增接口版本
+     */
+    private void apisChanged(List<Long> apiIds) {
+        apiDetailCache.invalidate(apiIds);
+        dataVersions.apisChanged(apiIds);
+    }
+
+    /**
+     * 预生成并保存接口详情响应，替换已有接口的旧响应
+     */
+    private void saveDetailPayloads(List<SavedApi> savedApis, List<Long> replacedApiIds) {
+        if (!replacedApiIds.isEmpty()) {
+            apiDetailPayloadRepository.deleteAllByIdInBatch(replacedApiIds);
+        }
+        for (SavedApi saved : savedApis) {
+            ApiDetailDTO detail = buildApiDetail(saved.apiInfo, saved.requestParams, saved.responseParams);
+            entityManager.persist(buildDetailPayload(saved.apiInfo.getId(), detail));
+        }
+    }
+
+    /**
+     * 写入接口标签，替换已有接口的旧标签
+     * 
+     * @param swaggerId Swagger文档ID
+     * @param apiInfos 解析得到的接口（携带标签列表）
+     * @param savedApis 与apiInfos一一对应的已保存接口
+     * @param replacedApiIds 已有接口ID
+     */
+    private void saveApiTags(Long swaggerId, List<ApiInfo> apiInfos, List<SavedApi> savedApis, 
+                             List<Long> replacedApiIds) {
+        if (!replacedApiIds.isEmpty()) {
+            apiTagRepository.deleteByApiIdIn(replacedApiIds);
+        }
+        for (int i = 0; i < apiInfos.size(); i++) {
+            for (String tagName : tagNames(apiInfos.get(i))) {
+                ApiTag apiTag = new ApiTag();
+                apiTag.setApiId(savedApis.get(i).apiInfo.getId());
+                apiTag.setTagName(tagName);
+                apiTag.setSwaggerId(swaggerId);
+                // 主键由接口ID和标签组成，直接persist，避免saveAll按merge逐行查询
+                entityManager.persist(apiTag);
+            }
+        }
+    }
+
+    /**
+     * 接口的标签（去重、去空白）；未携带标签列表时按逗号拆分tags字段
+     */
+    private static Set<String> tagNames(ApiInfo apiInfo) {
+        Collection<String> source = apiInfo.getTagNames() != null ? apiInfo.getTagNames()
+            : apiInfo.getTags() != null ? Arrays.asList(apiInfo.getTags().split(",")) : Collections.emptyList();
+        Set<String> tagNames = new LinkedHashSet<>();
+        for (String tagName : source) {
+            if (tagName != null && !tagName.trim().isEmpty()) {
+                tagNames.add(tagName.trim());
+            }
+        }
+        return tagNames;
+    }
+
+    /**
+     * 已保存的接口及其当前的全部参数
+     */
+    private static class SavedApi {
+        private final ApiInfo apiInfo;
+        private final List<RequestParam> requestParams;
+        private final List<ResponseParam> responseParams;
+        private final int rows;
+
+        SavedApi(ApiInfo apiInfo, List<RequestParam> requestParams, List<ResponseParam> responseParams, int rows) {
+            this.apiInfo = apiInfo;
+            this.requestParams = requestParams;
+            this.responseParams = responseParams;
+            this.rows = rows;
         }
     }
 
+    /**
+     * 按参数差异更新已有接口的参数：插入新增行，删除消失的行，结构变化的行由脏检查更新
+     * 
+     * @param managed 已有接口（受管实体）
+     * @param apiInfo 新解析的接口
+     * @return 接口更新后的全部参数（按主键排序）及变化的参数行数
+     */
+    private SavedApi applyParamDiff(ApiInfo managed, ApiInfo apiInfo, List<RequestParam> storedRequestParams, 
+                                    List<ResponseParam> storedResponseParams) {
+        Long apiId = managed.getId();
+        ParamDiff<RequestParam> requestDiff = 
+            ParamDiff.diffRequestParams(storedRequestParams, apiInfo.getRequestParams());
+        if (apiInfo.getRequestParams() != null) {
+            Set<RequestParam> inserted = identitySet(requestDiff.getInserted());
+            for (RequestParam parsed : apiInfo.getRequestParams()) {
+                // 父参数可能是已保存的行，也可能是本次插入的行（先父后子，persist时已分配主键）
+                Long parentId = parsed.getParent() != null ? requestDiff.resolve(parsed.getParent()).getId() : null;
+                if (inserted.contains(parsed)) {
+                    parsed.setApiId(apiId);
+                    parsed.setParentId(parentId);
+                    entityManager.persist(parsed);
+                } else {
+                    RequestParam target = requestDiff.resolve(parsed);
+                    if (!Objects.equals(target.getParentId(), parentId)) {
+                        target.setParentId(parentId);
+                    }
+                }
+            }
+        }
+        if (!requestDiff.getDeleted().isEmpty()) {
+            requestParamRepository.deleteAllInBatch(requestDiff.getDeleted());
+        }
+        
+        ParamDiff<ResponseParam> responseDiff = 
+            ParamDiff.diffResponseParams(storedResponseParams, apiInfo.getResponseParams());
+        if (apiInfo.getResponseParams() != null) {
+            Set<ResponseParam> inserted = identitySet(responseDiff.getInserted());
+            for (ResponseParam parsed : apiInfo.getResponseParams()) {
+                Long parentId = parsed.getParent() != null ? responseDiff.resolve(parsed.getParent()).getId() : null;
+                if (inserted.contains(parsed)) {
+                    parsed.setApiId(apiId);
+                    parsed.setParentId(parentId);
+                    entityManager.persist(parsed);
+                } else {
+                    ResponseParam target = responseDiff.resolve(parsed);
+                    if (!Objects.equals(target.getParentId(), parentId)) {
+                        target.setParentId(parentId);
+                    }
+                }
+            }
+        }
+        if (!responseDiff.getDeleted().isEmpty()) {
+            responseParamRepository.deleteAllInBatch(responseDiff.getDeleted());
+        }
+        
+        return new SavedApi(managed, 
+            currentParams(storedRequestParams, requestDiff, RequestParam::getId),
+            currentParams(storedResponseParams, responseDiff, ResponseParam::getId),
+            requestDiff.getChangedRows() + responseDiff.getChangedRows());
+    }
+
+    private static <T> Set<T> identitySet(Collection<T> items) {
+        Set<T> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        set.addAll(items);
+        return set;
+    }
+
+    /**
+     * 应用差异后的参数：已保存的参数去掉删除的行，加上插入的行，按主键排序（与按接口ID查询的顺序一致）
+     */
+    private static <T> List<T> currentParams(List<T> stored, ParamDiff<T> diff, Function<T, Long> idGetter) {
+        Set<T> deleted = identitySet(diff.getDeleted());
+        List<T> current = new ArrayList<>();
+        if (stored != null) {
+            for (T param : stored) {
+                if (!deleted.contains(param)) {
+                    current.add(param);
+                }
+            }
+        }
+        current.addAll(diff.getInserted());
+        current.sort(Comparator.comparing(idGetter));
+        return current;
+    }
+
+    /**
+     * 接口唯一键（path + method）
+     */
+    private static String apiKey(String path, String method) {
+        return method + " " + path;
+    }
+
     /**
      * 保存接口关联数据（请求参数、响应参数、头部信息）
+     * 主键按号段预分配，INSERT在flush时按批次发送；
+     * 参数按先父后子的顺序逐个persist，父参数的主键在persist时已分配，子参数的parent_id随INSERT一起写入
+     * 
+     * @return 写入的参数行数
      */
-    private void saveApiRelatedData(Long apiId, ApiInfo apiInfo) {
+    private int saveApiRelatedData(Long apiId, ApiInfo apiInfo) {
+        int rows = 0;
+        
         // 保存请求参数
         if (apiInfo.getRequestParams() != null) {
             for (RequestParam param : apiInfo.getRequestParams()) {
                 param.setApiId(apiId);
-                requestParamRepository.save(param);
+                param.setParentId(param.getParent() != null ? param.getParent().getId() : null);
+                entityManager.persist(param);
             }
+            rows += apiInfo.getRequestParams().size();
         }
         
         // 保存响应参数
         if (apiInfo.getResponseParams() != null) {
             for (ResponseParam param : apiInfo.getResponseParams()) {
                 param.setApiId(apiId);
-                responseParamRepository.save(param);
+                param.setParentId(param.getParent() != null ? param.getParent().getId() : null);
+                entityManager.persist(param);
             }
+            rows += apiInfo.getResponseParams().size();
         }
+        
+        return rows;
     }
 
     /**
-     * 从URL获取内容
+     * 将URL上的文档下载到临时文件
      */
-    private String fetchContentFromUrl(String url) {
+    private Path downloadToTempFile(String url) {
+        Path tempFile = null;
         try {
-            return cn.hutool.http.HttpUtil.get(url);
+            tempFile = Files.createTempFile("swagger-import-", ".tmp");
+            cn.hutool.http.HttpUtil.downloadFile(url, tempFile.toFile());
+            return tempFile;
         } catch (Exception e) {
+            deleteTempFile(tempFile);
             throw new RuntimeException("从URL获取Swagger文档失败: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * 删除临时文件
+     */
+    private void deleteTempFile(Path tempFile) {
+        if (tempFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            log.warn("删除临时文件失败: {}", tempFile, e);
+        }
+    }
+
+    /**
+     * 统计文件的字符数（按UTF-8解码，流式读取）
+     */
+    private long countChars(Path file) throws IOException {
+        long length = 0;
+        char[] buffer = new char[8192];
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                length += read;
+            }
+        }
+        return length;
+    }
+
     /**
      * 查询接口列表
      * 
@@ -181,22 +844,141 @@ public class SwaggerService {
         );
         Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
         
+        if (isSummaryView(request.getView())) {
+            return queryApiSummaries(request, pageable);
+        }
+
         Page<ApiInfo> page;
         
         // 根据条件查询
         if (request.getPath() != null && !request.getPath().isEmpty()) {
-            page = apiInfoRepository.findByPathContaining(request.getPath(), pageable);
+            page = apiInfoRepository.findActiveByPathContaining(request.getPath(), pageable);
         } else if (request.getMethod() != null && !request.getMethod().isEmpty()) {
-            page = apiInfoRepository.findByMethod(request.getMethod(), pageable);
+            page = apiInfoRepository.findActiveByMethod(request.getMethod(), pageable);
         } else if (request.getTags() != null && !request.getTags().isEmpty()) {
-            page = apiInfoRepository.findByTagsContaining(request.getTags(), pageable);
+            page = apiInfoRepository.findActiveByTag(request.getTags(), pageable);
         } else {
-            page = apiInfoRepository.findAll(pageable);
+            page = apiInfoRepository.findAllActive(pageable);
         }
         
         return page.map(this::convertToDTO);
     }
 
+    /**
+     * 游标分页查询接口列表
+     * 按(创建时间, ID)定位上一页末尾，每页只读取size+1行判断是否有下一页，不执行count查询，
+     * 翻到任意深度的耗时都与每页大小相关；path、method、tags条件同时生效
+     * 
+     * @param request 查询请求（使用cursor和size，忽略page）
+     * @return 游标分页结果
+     */
+    public CursorPageDTO<ApiInfoDTO> scrollApiList(ApiQueryRequest request) {
+        if (request.getSortBy() != null && !"createTime".equals(request.getSortBy())) {
+            throw new RuntimeException("游标分页仅支持按createTime排序");
+        }
+        boolean descending = !"ASC".equalsIgnoreCase(request.getSortDir());
+        PageCursor after = PageCursor.decode(request.getCursor());
+        LocalDateTime afterTime = after != null ? after.getCreateTime() : null;
+        Long afterId = after != null ? after.getId() : null;
+        String path = emptyToNull(request.getPath());
+        String method = emptyToNull(request.getMethod());
+        String tag = emptyToNull(request.getTags());
+        int size = request.getSize();
+        if (size < 1) {
+            throw new RuntimeException("每页大小必须大于0");
+        }
+        Pageable limit = PageRequest.of(0, size + 1);
+        
+        List<ApiInfoDTO> rows;
+        if (isSummaryView(request.getView())) {
+            rows = (descending
+                ? apiInfoRepository.scrollActiveSummariesDesc(path, method, tag, afterTime, afterId, limit)
+                : apiInfoRepository.scrollActiveSummariesAsc(path, method, tag, afterTime, afterId, limit))
+                .stream().map(this::convertSummaryToDTO).collect(Collectors.toList());
+        } else {
+            rows = (descending
+                ? apiInfoRepository.scrollActiveDesc(path, method, tag, afterTime, afterId, limit)
+                : apiInfoRepository.scrollActiveAsc(path, method, tag, afterTime, afterId, limit))
+                .stream().map(this::convertToDTO).collect(Collectors.toList());
+        }
+        
+        CursorPageDTO<ApiInfoDTO> result = new CursorPageDTO<>();
+        boolean hasNext = rows.size() > size;
+        List<ApiInfoDTO> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+        result.setContent(content);
+        result.setSize(size);
+        result.setHasNext(hasNext);
+        if (hasNext) {
+            ApiInfoDTO last = content.get(content.size() - 1);
+            result.setNextCursor(new PageCursor(last.getCreateTime(), last.getId()).encode());
+        }
+        return result;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 是否为摘要视图
+     */
+    public static boolean isSummaryView(String view) {
+        return VIEW_SUMMARY.equalsIgnoreCase(view);
+    }
+
+    /**
+     * 查询接口摘要列表（只读取窄列，不读取描述）
+     */
+    private Page<ApiInfoDTO> queryApiSummaries(ApiQueryRequest request, Pageable pageable) {
+        Page<ApiInfoSummary> page;
+        if (request.getPath() != null && !request.getPath().isEmpty()) {
+            page = apiInfoRepository.findActiveSummariesByPathContaining(request.getPath(), pageable);
+        } else if (request.getMethod() != null && !request.getMethod().isEmpty()) {
+            page = apiInfoRepository.findActiveSummariesByMethod(request.getMethod(), pageable);
+        } else if (request.getTags() != null && !request.getTags().isEmpty()) {
+            page = apiInfoRepository.findActiveSummariesByTag(request.getTags(), pageable);
+        } else {
+            page = apiInfoRepository.findAllActiveSummaries(pageable);
+        }
+        return page.map(this::convertSummaryToDTO);
+    }
+
+    /**
+     * 按请求方法和实际请求路径匹配文档中的接口（基于内存路由表）
+     * 
+     * @param swaggerId Swagger文档ID
+     * @param method 请求方法
+     * @param path 请求路径，如 /accounts/123/balances
+     * @return 接口及路径变量
+     */
+    public ApiMatchDTO matchApi(Long swaggerId, String method, String path) {
+        ApiMatchDTO match = mockRouteTable.matchApi(swaggerId, method, path);
+        if (match == null) {
+            throw new RuntimeException("未找到匹配的接口: " + method + " " + path);
+        }
+        return match;
+    }
+
+    /**
+     * 统计文档下每个标签的接口数量
+     * 
+     * @param swaggerId Swagger文档ID
+     * @return 标签及接口数量（按标签名排序）
+     */
+    public List<TagFacetDTO> getTagFacets(Long swaggerId) {
+        if (!swaggerInfoRepository.existsByIdAndStatus(swaggerId, SwaggerInfo.STATUS_ACTIVE)) {
+            throw new RuntimeException("Swagger文档不存在: " + swaggerId);
+        }
+        return apiTagRepository.findTagFacetsBySwaggerId(swaggerId).stream()
+            .map(facet -> {
+                TagFacetDTO dto = new TagFacetDTO();
+                dto.setTagName(facet.getTagName());
+                dto.setApiCount(facet.getApiCount());
+                return dto;
+            })
+            .collect(Collectors.toList());
+    }
+
     /**
      * 获取接口详情
      * 
@@ -204,27 +986,227 @@ public class SwaggerService {
      * @return 接口详情
      */
     public ApiDetailDTO getApiDetail(Long apiId) {
-        ApiInfo apiInfo = apiInfoRepository.findById(apiId)
+        ApiInfo apiInfo = apiInfoRepository.findActiveById(apiId)
             .orElseThrow(() -> new RuntimeException("接口不存在: " + apiId));
+        return buildApiDetail(apiInfo, requestParamRepository.findByApiId(apiId), 
+            responseParamRepository.findByApiId(apiId));
+    }
+
+    /**
+     * 批量输出接口详情（NDJSON，每行一个接口详情）
+     * 按批次加载接口，每批的请求/响应参数各用一条IN查询加载后在内存中分组，
+     * 写出后即释放，内存占用只与批次大小相关；不存在或未生效的接口跳过
+     * 
+     * @param apiIds 接口ID（按给定顺序输出）
+     * @param out 输出流
+     */
+    public void writeApiDetails(List<Long> apiIds, OutputStream out) throws IOException {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(apiIds));
+        for (int from = 0; from < distinctIds.size(); from += DETAIL_BATCH_SIZE) {
+            List<Long> batchIds = distinctIds.subList(from, Math.min(from + DETAIL_BATCH_SIZE, distinctIds.size()));
+            Map<Long, ApiInfo> apis = apiInfoRepository.findActiveByIdIn(batchIds).stream()
+                .collect(Collectors.toMap(ApiInfo::getId, Function.identity()));
+            if (apis.isEmpty()) {
+                continue;
+            }
+            Map<Long, List<RequestParam>> requestParams = requestParamRepository
+                .findByApiIdInOrderByApiIdAscIdAsc(apis.keySet()).stream()
+                .collect(Collectors.groupingBy(RequestParam::getApiId));
+            Map<Long, List<ResponseParam>> responseParams = responseParamRepository
+                .findByApiIdInOrderByApiIdAscIdAsc(apis.keySet()).stream()
+                .collect(Collectors.groupingBy(ResponseParam::getApiId));
+            for (Long apiId : batchIds) {
+                ApiInfo apiInfo = apis.get(apiId);
+                if (apiInfo != null) {
+                    ApiDetailDTO detail = buildApiDetail(apiInfo, requestParams.get(apiId), responseParams.get(apiId));
+                    out.write(objectMapper.writeValueAsBytes(detail));
+                    out.write('\n');
+                }
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * 查询文档下所有接口ID，用于批量输出接口详情
+     * 
+     * @param swaggerId Swagger文档ID
+     * @return 接口ID（按ID排序）
+     */
+    public List<Long> getApiIdsOfSwagger(Long swaggerId) {
+        if (!swaggerInfoRepository.existsByIdAndStatus(swaggerId, SwaggerInfo.STATUS_ACTIVE)) {
+            throw new RuntimeException("Swagger文档不存在: " + swaggerId);
+        }
+        return apiInfoRepository.findIdsBySwaggerId(swaggerId);
+    }
+
+    /**
+     * 获取待导出的文档信息（不含文档原文），文档不存在时抛出异常
+     * 
+     * @param swaggerId Swagger文档ID
+     * @return 文档信息
+     */
+    public SwaggerInfoSummary getExportableSwagger(Long swaggerId) {
+        return swaggerInfoRepository.findSummaryByIdAndStatus(swaggerId, SwaggerInfo.STATUS_ACTIVE)
+            .orElseThrow(() -> new RuntimeException("Swagger文档不存在: " + swaggerId));
+    }
+
+    /**
+     * 导出文档保存的全部数据（NDJSON，每行为{"type": ..., "data": ...}）
+     * 依次输出文档信息、服务器、接口、请求参数、响应参数；接口和参数通过只读事务中的流式查询逐行读取，
+     * 写出后立即从持久化上下文中移除，堆内存占用与文档大小无关，首行在查询参数前即已写出
+     * 
+     * @param swagger 文档信息
+     * @param out 输出流
+     */
+    public void exportSwagger(SwaggerInfoSummary swagger, OutputStream out) throws IOException {
+        Long swaggerId = swagger.getId();
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("id", swaggerId);
+        header.put("title", swagger.getTitle());
+        header.put("version", swagger.getVersion());
+        header.put("description", swagger.getDescription());
+        header.put("swaggerVersion", swagger.getSwaggerVersion());
+        header.put("source", swagger.getSource());
+        header.put("sourceUrl", swagger.getSourceUrl());
+        header.put("contentHash", swagger.getContentHash());
+        writeExportLine(out, "swagger", header);
+        for (ServerInfo server : serverInfoRepository.findBySwaggerId(swaggerId)) {
+            writeExportLine(out, "server", server);
+        }
+        out.flush();
         
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                // MySQL流式结果集读完前连接不能执行其他查询，三张表依次读取
+                try (Stream<ApiInfo> apis = apiInfoRepository.streamBySwaggerId(swaggerId)) {
+                    writeExportRows(out, "api", apis, this::convertToDTO);
+                }
+                try (Stream<RequestParam> params = requestParamRepository.streamBySwaggerId(swaggerId)) {
+                    writeExportRows(out, "requestParam", params, this::convertRequestParamToDTO);
+                }
+                try (Stream<ResponseParam> params = responseParamRepository.streamBySwaggerId(swaggerId)) {
+                    writeExportRows(out, "responseParam", params, this::convertResponseParamToDTO);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private <T> void writeExportRows(OutputStream out, String type, Stream<T> rows, 
+                                     Function<T, ?> converter) throws IOException {
+        Iterator<T> iterator = rows.iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            writeExportLine(out, type, converter.apply(row));
+            entityManager.detach(row);
+            if (++count % DETAIL_BATCH_SIZE == 0) {
+                out.flush();
+            }
+        }
+        out.flush();
+    }
+
+    private void writeExportLine(OutputStream out, String type, Object data) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", type);
+        line.put("data", data);
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+    }
+
+    /**
+     * 获取预生成的接口详情响应
+     * 依次从进程内缓存、接口详情响应表读取；此前导入的接口没有预生成响应时按需生成并补存
+     * 
+     * @param apiId 接口ID
+     * @return 接口详情响应（gzip压缩的完整响应JSON）
+     */
+    public ApiDetailPayload getApiDetailPayload(Long apiId) {
+        ApiDetailPayload cached = apiDetailCache.get(apiId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = apiDetailCache.generation();
+        
+        ApiDetailPayload payload = apiDetailPayloadRepository.findActiveById(apiId).orElse(null);
+        if (payload == null) {
+            payload = buildDetailPayload(apiId, getApiDetail(apiId));
+            backfillDetailPayload(payload);
+        }
+        apiDetailCache.put(apiId, payload, generation);
+        return payload;
+    }
+
+    /**
+     * 补存按需生成的接口详情响应
+     */
+    private void backfillDetailPayload(ApiDetailPayload payload) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager.persist(payload));
+        } catch (Exception e) {
+            // 并发导入已写入新的响应时主键冲突，以导入结果为准
+            log.debug("补存接口详情响应失败，apiId: {}", payload.getApiId(), e);
+        }
+    }
+
+    /**
+     * 组装接口详情
+     */
+    private ApiDetailDTO buildApiDetail(ApiInfo apiInfo, List<RequestParam> requestParams, 
+                                        List<ResponseParam> responseParams) {
         ApiDetailDTO detail = new ApiDetailDTO();
         detail.setApiInfo(convertToDTO(apiInfo));
-        
-        // 查询请求参数
-        List<RequestParam> requestParams = requestParamRepository.findByApiId(apiId);
-        detail.setRequestParams(requestParams.stream()
+        detail.setRequestParams(requestParams == null ? new ArrayList<>() : requestParams.stream()
             .map(this::convertRequestParamToDTO)
             .collect(Collectors.toList()));
-        
-        // 查询响应参数
-        List<ResponseParam> responseParams = responseParamRepository.findByApiId(apiId);
-        detail.setResponseParams(responseParams.stream()
+        detail.setResponseParams(responseParams == null ? new ArrayList<>() : responseParams.stream()
             .map(this::convertResponseParamToDTO)
             .collect(Collectors.toList()));
-        
         return detail;
     }
 
+    /**
+     * 将接口详情序列化为完整的成功响应（UTF-8 JSON）并gzip压缩，ETag取未压缩内容的SHA-256
+     */
+    private ApiDetailPayload buildDetailPayload(Long apiId, ApiDetailDTO detail) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(ApiResponse.success(detail));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("序列化接口详情失败: " + apiId, e);
+        }
+        ApiDetailPayload payload = new ApiDetailPayload();
+        payload.setApiId(apiId);
+        payload.setEtag(DigestUtil.sha256Hex(json));
+        payload.setContentLength(json.length);
+        payload.setBody(ZipUtil.gzip(json));
+        return payload;
+    }
+
+    /**
+     * 获取解压后的接口详情响应（供不支持gzip的客户端），解压结果随缓存条目保存
+     * 
+     * @param payload 接口详情响应
+     * @return 未压缩的响应JSON
+     */
+    public byte[] getApiDetailBody(ApiDetailPayload payload) {
+        return apiDetailCache.plainBody(payload);
+    }
+
+    /**
+     * 获取接口详情缓存统计
+     * 
+     * @return 缓存统计
+     */
+    public CacheStatsDTO getApiDetailCacheStats() {
+        return apiDetailCache.getStats();
+    }
+
     /**
      * 根据位置查询请求参数
      * 
@@ -296,6 +1278,142 @@ public class SwaggerService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * 查询请求参数摘要（不读取示例值和描述）
+     * 
+     * @param apiId 接口ID
+     * @param location 参数位置，可选
+     * @return 请求参数列表
+     */
+    public List<RequestParamDTO> getRequestParamSummaries(Long apiId, String location) {
+        List<RequestParamSummary> params = location != null && !location.isEmpty()
+            ? requestParamRepository.findSummaryByApiIdAndLocationOrderById(apiId, location)
+            : requestParamRepository.findSummaryByApiIdOrderById(apiId);
+        return params.stream()
+            .map(this::convertRequestParamSummaryToDTO)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 根据类型查询请求参数摘要（不读取示例值和描述）
+     * 
+     * @param apiId 接口ID
+     * @param paramType 参数类型
+     * @return 请求参数列表
+     */
+    public List<RequestParamDTO> getRequestParamSummariesByType(Long apiId, String paramType) {
+        return requestParamRepository.findSummaryByApiIdAndParamTypeOrderById(apiId, paramType).stream()
+            .map(this::convertRequestParamSummaryToDTO)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 查询响应参数摘要（不读取示例值和描述）
+     * 
+     * @param apiId 接口ID
+     * @param statusCode 状态码，可选
+     * @param location 响应位置，可选
+     * @return 响应参数列表
+     */
+    public List<ResponseParamDTO> getResponseParamSummaries(Long apiId, String statusCode, String location) {
+        boolean hasStatusCode = statusCode != null && !statusCode.isEmpty();
+        boolean hasLocation = location != null && !location.isEmpty();
+        List<ResponseParamSummary> params;
+        if (hasStatusCode && hasLocation) {
+            params = responseParamRepository.findSummaryByApiIdAndStatusCodeAndLocationOrderById(apiId, statusCode, location);
+        } else if (hasStatusCode) {
+            params = responseParamRepository.findSummaryByApiIdAndStatusCodeOrderById(apiId, statusCode);
+        } else if (hasLocation) {
+            params = responseParamRepository.findSummaryByApiIdAndLocationOrderById(apiId, location);
+        } else {
+            params = responseParamRepository.findSummaryByApiIdOrderById(apiId);
+        }
+        return params.stream()
+            .map(this::convertResponseParamSummaryToDTO)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 获取接口参数树
+     * 读取窄列后按parent_id一次遍历组装，结果按接口版本号缓存
+     * 
+     * @param apiId 接口ID
+     * @return 请求参数树和响应参数树
+     */
+    public ParamTreeDTO getParamTree(Long apiId) {
+        long version = dataVersions.apiVersion(apiId);
+        ParamTreeDTO cached = paramTreeCache.get(apiId, version);
+        if (cached != null) {
+            return cached;
+        }
+        
+        ParamTreeDTO tree = new ParamTreeDTO();
+        tree.setApiId(apiId);
+        tree.setRequestParams(ParamTree.buildTree(requestParamRepository.findSummaryByApiIdOrderById(apiId),
+            param -> {
+                ParamTreeNodeDTO node = new ParamTreeNodeDTO();
+                node.setId(param.getId());
+                node.setParamName(param.getParamName());
+                node.setLocation(param.getLocation());
+                node.setContentType(param.getContentType());
+                node.setParamType(param.getParamType());
+                node.setRequired(param.getRequired());
+                node.setHierarchyPath(param.getHierarchyPath());
+                return node;
+            },
+            RequestParamSummary::getParentId,
+            param -> param.getLocation() + "|" + param.getContentType()));
+        tree.setResponseParams(ParamTree.buildTree(responseParamRepository.findSummaryByApiIdOrderById(apiId),
+            param -> {
+                ParamTreeNodeDTO node = new ParamTreeNodeDTO();
+                node.setId(param.getId());
+                node.setParamName(param.getParamName());
+                node.setLocation(param.getLocation());
+                node.setStatusCode(param.getStatusCode());
+                node.setParamType(param.getParamType());
+                node.setHierarchyPath(param.getHierarchyPath());
+                return node;
+            },
+            ResponseParamSummary::getParentId,
+            param -> param.getStatusCode() + "|" + param.getLocation()));
+        paramTreeCache.put(apiId, version, tree);
+        return tree;
+    }
+
+    /**
+     * 获取请求参数示例值
+     * 
+     * @param apiId 接口ID
+     * @param paramId 参数ID
+     * @return 参数示例
+     */
+    public ParamExampleDTO getRequestParamExample(Long apiId, Long paramId) {
+        RequestParamExample param = requestParamRepository.findExampleByIdAndApiId(paramId, apiId)
+            .orElseThrow(() -> new RuntimeException("请求参数不存在: " + paramId));
+        ParamExampleDTO dto = new ParamExampleDTO();
+        dto.setId(param.getId());
+        dto.setExample(param.getExample());
+        dto.setPatternExample(param.getPatternExample());
+        dto.setFullJsonExample(param.getFullJsonExample());
+        return dto;
+    }
+
+    /**
+     * 获取响应参数示例值
+     * 
+     * @param apiId 接口ID
+     * @param paramId 参数ID
+     * @return 参数示例
+     */
+    public ParamExampleDTO getResponseParamExample(Long apiId, Long paramId) {
+        ResponseParamExample param = responseParamRepository.findExampleByIdAndApiId(paramId, apiId)
+            .orElseThrow(() -> new RuntimeException("响应参数不存在: " + paramId));
+        ParamExampleDTO dto = new ParamExampleDTO();
+        dto.setId(param.getId());
+        dto.setExample(param.getExample());
+        return dto;
+    }
+
     /**
      * 转换ApiInfo为DTO
      */
@@ -313,6 +1431,57 @@ public class SwaggerService {
         return dto;
     }
 
+    /**
+     * 转换接口摘要为DTO（不含描述）
+     */
+    private ApiInfoDTO convertSummaryToDTO(ApiInfoSummary summary) {
+        ApiInfoDTO dto = new ApiInfoDTO();
+        dto.setId(summary.getId());
+        dto.setPath(summary.getPath());
+        dto.setMethod(summary.getMethod());
+        dto.setSwaggerId(summary.getSwaggerId());
+        dto.setTags(summary.getTags());
+        dto.setOperationId(summary.getOperationId());
+        dto.setCreateTime(summary.getCreateTime());
+        dto.setUpdateTime(summary.getUpdateTime());
+        return dto;
+    }
+
+    /**
+     * 转换请求参数摘要为DTO（不含示例值和描述）
+     */
+    private RequestParamDTO convertRequestParamSummaryToDTO(RequestParamSummary param) {
+        RequestParamDTO dto = new RequestParamDTO();
+        dto.setId(param.getId());
+        dto.setApiId(param.getApiId());
+        dto.setParamName(param.getParamName());
+        dto.setLocation(param.getLocation());
+        dto.setContentType(param.getContentType());
+        dto.setParamType(param.getParamType());
+        dto.setRequired(param.getRequired());
+        dto.setPattern(param.getPattern());
+        dto.setHierarchyPath(param.getHierarchyPath());
+        dto.setParentId(param.getParentId());
+        return dto;
+    }
+
+    /**
+     * 转换响应参数摘要为DTO（不含示例值和描述）
+     */
+    private ResponseParamDTO convertResponseParamSummaryToDTO(ResponseParamSummary param) {
+        ResponseParamDTO dto = new ResponseParamDTO();
+        dto.setId(param.getId());
+        dto.setApiId(param.getApiId());
+        dto.setStatusCode(param.getStatusCode());
+        dto.setLocation(param.getLocation());
+        dto.setParamName(param.getParamName());
+        dto.setParamType(param.getParamType());
+        dto.setPattern(param.getPattern());
+        dto.setHierarchyPath(param.getHierarchyPath());
+        dto.setParentId(param.getParentId());
+        return dto;
+    }
+
     /**
      * 转换RequestParam为DTO
      */
@@ -0,0 +1,101 @@
+package com.simulator.util;
+
+import cn.hutool.core.util.HexUtil;
+import com.simulator.entity.ApiInfo;
+import com.simulator.entity.RequestParam;
+import com.simulator.entity.ResponseParam;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 接口内容摘要
+ * 对解析得到的接口及其请求/响应参数计算SHA-256，重新导入时摘要相同的接口无需重写
+ * 摘要只覆盖由文档决定的字段，不包含主键、关联ID、时间戳；
+ * 示例值只计入文档提供的部分，生成的示例值（正则示例、完整JSON示例、按类型的默认值）每次解析可能不同，不计入；
+ * body参数的结构摘要计入，未展开的$ref组件只改动组件定义时接口摘要也会变化
+ *
+ * @author simulator
+ * @date 2024
+ */
+public final class ApiDigest {
+
+    private static final byte FIELD_SEPARATOR = 0;
+    private static final byte NULL_MARKER = 1;
+    private static final byte ROW_SEPARATOR = 2;
+
+    private ApiDigest() {
+    }
+
+    /**
+     * 计算接口内容摘要
+     *
+     * @param apiInfo 解析得到的接口（含请求/响应参数）
+     * @return 64位十六进制SHA-256摘要
+     */
+    public static String digest(ApiInfo apiInfo) {
+        MessageDigest digest = newDigest();
+        update(digest, apiInfo.getPath());
+        update(digest, apiInfo.getMethod());
+        update(digest, apiInfo.getDescription());
+        update(digest, apiInfo.getTags());
+        update(digest, apiInfo.getOperationId());
+        if (apiInfo.getRequestParams() != null) {
+            for (RequestParam param : apiInfo.getRequestParams()) {
+                digest.update(ROW_SEPARATOR);
+                update(digest, "request");
+                update(digest, param.getParamName());
+                update(digest, param.getLocation());
+                update(digest, param.getContentType());
+                update(digest, param.getParamType());
+                update(digest, param.getRequired());
+                update(digest, param.getPattern());
+                update(digest, param.getDescription());
+                update(digest, param.getHierarchyPath());
+                update(digest, providedExample(param.getExampleProvided(), param.getExample()));
+                update(digest, param.getSchemaDigest());
+            }
+        }
+        if (apiInfo.getResponseParams() != null) {
+            for (ResponseParam param : apiInfo.getResponseParams()) {
+                digest.update(ROW_SEPARATOR);
+                update(digest, "response");
+                update(digest, param.getStatusCode());
+                update(digest, param.getParamName());
+                update(digest, param.getLocation());
+                update(digest, param.getParamType());
+                update(digest, param.getPattern());
+                update(digest, param.getDescription());
+                update(digest, param.getHierarchyPath());
+                update(digest, providedExample(param.getExampleProvided(), param.getExample()));
+                update(digest, param.getSchemaDigest());
+            }
+        }
+        return HexUtil.encodeHexStr(digest.digest());
+    }
+
+    /**
+     * 文档提供的示例值，示例值为生成时返回null
+     */
+    public static String providedExample(Boolean exampleProvided, String example) {
+        return Boolean.TRUE.equals(exampleProvided) ? example : null;
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update(NULL_MARKER);
+        } else {
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(FIELD_SEPARATOR);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前JVM不支持SHA-256", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.simulator.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JSON示例缓存
+ * 单个文档内按组件名称缓存已生成的示例树（不可变），供引用同一组件的各接口复用
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class ExampleCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 获取组件示例
+     *
+     * @param name 组件名称
+     * @param remainingDepth 当前位置剩余的递归深度
+     * @return 缓存的示例；未缓存或示例层级超出剩余深度（原本会被截断）时返回null
+     */
+    public Entry get(String name, int remainingDepth) {
+        Entry entry = entries.get(name);
+        if (entry != null && entry.getHeight() <= remainingDepth) {
+            hits.increment();
+            return entry;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * 缓存组件示例，示例树会被转换为不可变结构
+     *
+     * @param name 组件名称
+     * @param example 未被深度截断的完整示例
+     * @param height 示例树的层级
+     * @return 缓存中的示例（并发生成时以先写入的为准）
+     */
+    public Object put(String name, Object example, int height) {
+        Entry entry = entries.computeIfAbsent(name, key -> new Entry(freeze(example), height));
+        return entry.getExample();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 将生成过程中构建的Map/List原地转换为不可变视图，已缓存的子树保持共享
+     */
+    @SuppressWarnings("unchecked")
+    private static Object freeze(Object value) {
+        if (value instanceof LinkedHashMap) {
+            Map<String, Object> map = (Map<String, Object>) value;
+            map.replaceAll((key, child) -> freeze(child));
+            return Collections.unmodifiableMap(map);
+        }
+        if (value instanceof ArrayList) {
+            List<Object> list = (List<Object>) value;
+            list.replaceAll(ExampleCache::freeze);
+            return Collections.unmodifiableList(list);
+        }
+        return value;
+    }
+
+    /**
+     * 缓存项
+     */
+    public static class Entry {
+        private final Object example;
+        private final int height;
+
+        Entry(Object example, int height) {
+            this.example = example;
+            this.height = height;
+        }
+
+        public Object getExample() {
+            return example;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+    }
+}
@@ -38,13 +38,25 @@ public class JsonExampleGenerator {
      * @return JSON字符串
      */
     public static String generateJsonExample(Schema schema, OpenAPI openAPI) {
+        return generateJsonExample(schema, openAPI, null);
+    }
+
+    /**
+     * 根据Schema生成完整的JSON示例（支持$ref引用，复用文档内已生成的组件示例）
+     * 
+     * @param schema Schema对象
+     * @param openAPI OpenAPI对象（用于解析$ref引用）
+     * @param cache 组件示例缓存，为null时不缓存
+     * @return JSON字符串
+     */
+    public static String generateJsonExample(Schema schema, OpenAPI openAPI, ExampleCache cache) {
         if (schema == null) {
             log.warn("Schema为null，无法生成JSON示例");
             return null;
         }
 
         try {
-            Object example = generateExampleObject(schema, 0, openAPI);
+            Object example = generateExampleObject(schema, 0, new Generation(openAPI, cache));
             if (example == null) {
                 log.warn("生成的示例对象为null");
                 return null;
@@ -63,14 +75,16 @@ public class JsonExampleGenerator {
      * 
      * @param schema Schema对象
      * @param depth 当前递归深度
-     * @param openAPI OpenAPI对象（用于解析$ref引用）
+     * @param gen 本次生成的状态（OpenAPI对象、示例缓存等）
      * @return 示例对象
      */
-    private static Object generateExampleObject(Schema schema, int depth, OpenAPI openAPI) {
+    private static Object generateExampleObject(Schema schema, int depth, Generation gen) {
         if (depth > MAX_DEPTH) {
             log.warn("达到最大递归深度: {}", MAX_DEPTH);
+            gen.truncated = true;
             return null; // 防止无限递归
         }
+        gen.deepest = Math.max(gen.deepest, depth);
 
         if (schema == null) {
             log.warn("Schema为null");
@@ -78,19 +92,22 @@ public class JsonExampleGenerator {
         }
 
         // 检查是否有$ref引用
-        if (schema.get$ref() != null && openAPI != null) {
+        if (schema.get$ref() != null && gen.openAPI != null) {
             String ref = schema.get$ref();
             log.debug("发现$ref引用: {}", ref);
             
             // 解析$ref引用，格式如: #/components/schemas/OBWriteDomesticConsent4
             if (ref.startsWith("#/components/schemas/")) {
                 String schemaName = ref.substring("#/components/schemas/".length());
-                if (openAPI.getComponents() != null && openAPI.getComponents().getSchemas() != null) {
-                    Schema refSchema = openAPI.getComponents().getSchemas().get(schemaName);
+                if (gen.openAPI.getComponents() != null && gen.openAPI.getComponents().getSchemas() != null) {
+                    Schema refSchema = gen.openAPI.getComponents().getSchemas().get(schemaName);
                     if (refSchema != null) {
                         log.debug("解析$ref引用成功，Schema名称: {}", schemaName);
-                        // 递归处理引用的Schema
-                        return generateExampleObject(refSchema, depth, openAPI);
+                        // 递归处理引用的Schema（同一文档内复用已生成的组件示例）
+                        if (gen.cache != null) {
+                            return generateRefExample(schemaName, refSchema, depth, gen);
+                        }
+                        return generateExampleObject(refSchema, depth, gen);
                     } else {
                         log.warn("无法找到$ref引用的Schema: {}", schemaName);
                     }
@@ -110,7 +127,7 @@ public class JsonExampleGenerator {
                 composedSchema.getOneOf() != null ? composedSchema.getOneOf().size() : 0,
                 composedSchema.getAnyOf() != null ? composedSchema.getAnyOf().size() : 0,
                 composedSchema.getAllOf() != null ? composedSchema.getAllOf().size() : 0);
-            return generateComposedExample(composedSchema, depth, openAPI);
+            return generateComposedExample(composedSchema, depth, gen);
         }
         
         // 对于对象类型，总是生成完整的对象结构，忽略Schema的example（因为example可能是简单字符串）
@@ -119,9 +136,9 @@ public class JsonExampleGenerator {
             ObjectSchema objectSchema = (ObjectSchema) schema;
             log.debug("识别为ObjectSchema，properties数量: {}", 
                 objectSchema.getProperties() != null ? objectSchema.getProperties().size() : 0);
-            return generateObjectExample(objectSchema, depth, openAPI);
+            return generateObjectExample(objectSchema, depth, gen);
         } else if (schema instanceof ArraySchema) {
-            return generateArrayExample((ArraySchema) schema, depth, openAPI);
+            return generateArrayExample((ArraySchema) schema, depth, gen);
         } else if (schema instanceof StringSchema) {
             return generateStringExample((StringSchema) schema);
         } else if (schema instanceof IntegerSchema) {
@@ -164,7 +181,7 @@ public class JsonExampleGenerator {
                     return true;
                 case "array":
                     if (schema instanceof ArraySchema) {
-                        return generateArrayExample((ArraySchema) schema, depth, openAPI);
+                        return generateArrayExample((ArraySchema) schema, depth, gen);
                     }
                     return Collections.emptyList();
                 case "object":
@@ -175,7 +192,7 @@ public class JsonExampleGenerator {
                         ObjectSchema tempSchema = new ObjectSchema();
                         tempSchema.setProperties(schema.getProperties());
                         tempSchema.setRequired(schema.getRequired());
-                        return generateObjectExample(tempSchema, depth, openAPI);
+                        return generateObjectExample(tempSchema, depth, gen);
                     }
                     return Collections.emptyMap();
                 default:
@@ -190,17 +207,41 @@ public class JsonExampleGenerator {
             ObjectSchema tempSchema = new ObjectSchema();
             tempSchema.setProperties(schema.getProperties());
             tempSchema.setRequired(schema.getRequired());
-            return generateObjectExample(tempSchema, depth, openAPI);
+            return generateObjectExample(tempSchema, depth, gen);
         }
 
         log.warn("无法识别Schema类型: {}, 返回默认值", schemaType);
         return "example";
     }
 
+    /**
+     * 生成引用组件的示例，优先使用缓存
+     * 只缓存未被深度截断的示例，且仅在当前位置剩余深度足以容纳时复用，保证与逐次生成的结构一致
+     */
+    private static Object generateRefExample(String schemaName, Schema refSchema, int depth, Generation gen) {
+        ExampleCache.Entry entry = gen.cache.get(schemaName, MAX_DEPTH - depth);
+        if (entry != null) {
+            gen.deepest = Math.max(gen.deepest, depth + entry.getHeight());
+            return entry.getExample();
+        }
+
+        int outerDeepest = gen.deepest;
+        boolean outerTruncated = gen.truncated;
+        gen.deepest = depth;
+        gen.truncated = false;
+        Object example = generateExampleObject(refSchema, depth, gen);
+        if (example != null && !gen.truncated) {
+            example = gen.cache.put(schemaName, example, gen.deepest - depth);
+        }
+        gen.deepest = Math.max(outerDeepest, gen.deepest);
+        gen.truncated |= outerTruncated;
+        return example;
+    }
+
     /**
      * 生成组合Schema示例（oneOf, anyOf, allOf）
      */
-    private static Object generateComposedExample(ComposedSchema composedSchema, int depth, OpenAPI openAPI) {
+    private static Object generateComposedExample(ComposedSchema composedSchema, int depth, Generation gen) {
         // 优先处理 allOf：合并所有子Schema的属性
         if (composedSchema.getAllOf() != null && !composedSchema.getAllOf().isEmpty()) {
             log.debug("处理allOf组合，子Schema数量: {}", composedSchema.getAllOf().size());
@@ -208,7 +249,7 @@ public class JsonExampleGenerator {
             
             // 合并所有allOf子Schema的属性
             for (Schema subSchema : composedSchema.getAllOf()) {
-                Object subExample = generateExampleObject(subSchema, depth + 1, openAPI);
+                Object subExample = generateExampleObject(subSchema, depth + 1, gen);
                 if (subExample instanceof Map) {
                     @SuppressWarnings("unchecked")
                     Map<String, Object> subMap = (Map<String, Object>) subExample;
@@ -226,14 +267,14 @@ public class JsonExampleGenerator {
         if (composedSchema.getOneOf() != null && !composedSchema.getOneOf().isEmpty()) {
             log.debug("处理oneOf组合，子Schema数量: {}，使用第一个", composedSchema.getOneOf().size());
             Schema firstSchema = composedSchema.getOneOf().get(0);
-            return generateExampleObject(firstSchema, depth + 1, openAPI);
+            return generateExampleObject(firstSchema, depth + 1, gen);
         }
         
         // 处理 anyOf：使用第一个子Schema生成示例
         if (composedSchema.getAnyOf() != null && !composedSchema.getAnyOf().isEmpty()) {
             log.debug("处理anyOf组合，子Schema数量: {}，使用第一个", composedSchema.getAnyOf().size());
             Schema firstSchema = composedSchema.getAnyOf().get(0);
-            return generateExampleObject(firstSchema, depth + 1, openAPI);
+            return generateExampleObject(firstSchema, depth + 1, gen);
         }
         
         log.warn("ComposedSchema没有包含任何子Schema（oneOf/anyOf/allOf）");
@@ -243,7 +284,7 @@ public class JsonExampleGenerator {
     /**
      * 生成对象示例
      */
-    private static Map<String, Object> generateObjectExample(ObjectSchema objectSchema, int depth, OpenAPI openAPI) {
+    private static Map<String, Object> generateObjectExample(ObjectSchema objectSchema, int depth, Generation gen) {
         Map<String, Object> example = new LinkedHashMap<>();
         
         if (objectSchema.getProperties() == null || objectSchema.getProperties().isEmpty()) {
@@ -255,7 +296,7 @@ public class JsonExampleGenerator {
             Schema propertySchema = entry.getValue();
             
             // 生成所有字段的示例（移除深度限制，确保生成完整的对象结构）
-            Object value = generateExampleObject(propertySchema, depth + 1, openAPI);
+            Object value = generateExampleObject(propertySchema, depth + 1, gen);
             if (value != null) {
                 example.put(propertyName, value);
             }
@@ -267,11 +308,11 @@ public class JsonExampleGenerator {
     /**
      * 生成数组示例
      */
-    private static List<Object> generateArrayExample(ArraySchema arraySchema, int depth, OpenAPI openAPI) {
+    private static List<Object> generateArrayExample(ArraySchema arraySchema, int depth, Generation gen) {
         List<Object> example = new ArrayList<>();
         
         if (arraySchema.getItems() != null) {
-            Object itemExample = generateExampleObject(arraySchema.getItems(), depth + 1, openAPI);
+            Object itemExample = generateExampleObject(arraySchema.getItems(), depth + 1, gen);
             if (itemExample != null) {
                 // 添加一个元素作为示例
                 example.add(itemExample);
@@ -381,5 +422,21 @@ public class JsonExampleGenerator {
     private static Boolean generateBooleanExample(BooleanSchema booleanSchema) {
         return true;
     }
-}
 
+    /**
+     * 单次示例生成的状态
+     */
+    private static class Generation {
+        private final OpenAPI openAPI;
+        private final ExampleCache cache;
+        /** 已到达的最大递归深度 */
+        private int deepest;
+        /** 是否发生了深度截断 */
+        private boolean truncated;
+
+        Generation(OpenAPI openAPI, ExampleCache cache) {
+            this.openAPI = openAPI;
+            this.cache = cache;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.simulator.util;
+
+import com.simulator.dto.ParamTreeNodeDTO;
+import com.simulator.entity.ApiInfo;
+import com.simulator.entity.RequestParam;
+import com.simulator.entity.ResponseParam;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 参数层级关系
+ * 扁平化参数的层级路径形如 user.name、items[0].id，请求体/响应体根参数的层级路径为空串；
+ * 同一分组（请求参数按位置和Content类型，响应参数按状态码和位置）内，
+ * 参数的父参数是层级路径逐级截短后第一个存在的参数
+ *
+ * @author simulator
+ * @date 2024
+ */
+public final class ParamTree {
+
+    private ParamTree() {
+    }
+
+    /**
+     * 关联解析得到的接口参数的父参数
+     *
+     * @param apiInfo 解析得到的接口
+     */
+    public static void link(ApiInfo apiInfo) {
+        if (apiInfo.getRequestParams() != null) {
+            linkParents(apiInfo.getRequestParams(),
+                param -> param.getLocation() + "|" + param.getContentType(),
+                RequestParam::getHierarchyPath, RequestParam::setParent);
+        }
+        if (apiInfo.getResponseParams() != null) {
+            linkParents(apiInfo.getResponseParams(),
+                param -> param.getStatusCode() + "|" + param.getLocation(),
+                ResponseParam::getHierarchyPath, ResponseParam::setParent);
+        }
+    }
+
+    /**
+     * 按层级路径关联父参数，同一路径出现多次时以第一次出现的为准
+     * 耗时与参数数量乘以层级深度成正比
+     *
+     * @param params 参数
+     * @param groupKey 分组
+     * @param pathGetter 层级路径
+     * @param parentSetter 设置父参数
+     */
+    public static <T> void linkParents(List<T> params, Function<T, String> groupKey, Function<T, String> pathGetter,
+                                       BiConsumer<T, T> parentSetter) {
+        Map<String, T> byPath = new HashMap<>(params.size() * 2);
+        for (T param : params) {
+            String path = pathGetter.apply(param);
+            if (path != null) {
+                byPath.putIfAbsent(groupKey.apply(param) + "\u0000" + path, param);
+            }
+        }
+        for (T param : params) {
+            T parent = findParent(byPath, groupKey.apply(param), pathGetter.apply(param), param);
+            if (parent != null) {
+                parentSetter.accept(param, parent);
+            }
+        }
+    }
+
+    /**
+     * 将已保存的参数组装为树
+     * 第一遍为每行创建节点并按主键、层级路径建立索引，第二遍按parent_id挂到父节点下；
+     * parent_id为空的行（旧数据）按层级路径查找父节点，都找不到的作为根节点
+     *
+     * @param rows 参数（按主键排序）
+     * @param toNode 创建节点（需设置id和hierarchyPath）
+     * @param parentIdGetter 父参数ID
+     * @param groupKey 分组
+     * @return 根节点列表
+     */
+    public static <T> List<ParamTreeNodeDTO> buildTree(List<T> rows, Function<T, ParamTreeNodeDTO> toNode,
+                                                       Function<T, Long> parentIdGetter, Function<T, String> groupKey) {
+        List<ParamTreeNodeDTO> nodes = new ArrayList<>(rows.size());
+        List<String> groups = new ArrayList<>(rows.size());
+        Map<Long, ParamTreeNodeDTO> byId = new HashMap<>(rows.size() * 2);
+        Map<String, ParamTreeNodeDTO> byPath = new HashMap<>(rows.size() * 2);
+        for (T row : rows) {
+            ParamTreeNodeDTO node = toNode.apply(row);
+            String group = groupKey.apply(row);
+            nodes.add(node);
+            groups.add(group);
+            byId.put(node.getId(), node);
+            if (node.getHierarchyPath() != null) {
+                byPath.putIfAbsent(group + "\u0000" + node.getHierarchyPath(), node);
+            }
+        }
+        
+        List<ParamTreeNodeDTO> roots = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            ParamTreeNodeDTO node = nodes.get(i);
+            Long parentId = parentIdGetter.apply(rows.get(i));
+            ParamTreeNodeDTO parent = parentId != null && !parentId.equals(node.getId())
+                ? byId.get(parentId)
+                : findParent(byPath, groups.get(i), node.getHierarchyPath(), node);
+            if (parent != null) {
+                parent.getChildren().add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * 查找层级路径上最近的已存在的祖先
+     */
+    public static <T> T findParent(Map<String, T> byPath, String group, String path, T self) {
+        for (String ancestor = parentPath(path); ancestor != null; ancestor = parentPath(ancestor)) {
+            T candidate = byPath.get(group + "\u0000" + ancestor);
+            if (candidate != null && candidate != self) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 父层级路径：去掉最后一段（.name 或 [0]），顶层路径的父路径为空串，空串没有父路径
+     *
+     * @param path 层级路径
+     * @return 父层级路径，没有时返回null
+     */
+    public static String parentPath(String path) {
+        if (path == null || path.isEmpty()) {
+            return null;
+        }
+        int cut = path.endsWith("]") ? path.lastIndexOf('[') : path.lastIndexOf('.');
+        return cut > 0 ? path.substring(0, cut) : "";
+    }
+}
@@ -0,0 +1,314 @@
+package com.simulator.util;
+
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 路径模板路由
+ * 将 /accounts/{AccountId}/balances 这类路径模板按路径段编入前缀树：固定段按哈希表查找子节点，
+ * 整段变量（如{AccountId}）共用一个变量子节点，带固定前后缀的变量段（如{id}.json）按前后缀区分子节点，
+ * 叶子节点按请求方法存放路由值
+ * 匹配时逐段下行，依次尝试固定段、带前后缀的变量段（固定部分长的优先）、整段变量，前一分支匹配失败时回退到后一分支；
+ * 每段只查一次哈希表并比较本层的前后缀，没有回退时耗时与请求路径长度成正比，不随路由总数增长；
+ * 回退会重新匹配后续各段，最坏情况下耗时随各层可选分支数（固定段、前后缀变量段数、整段变量）的乘积增长，
+ * 只有多个模板在同一位置既有固定段又有变量段且后续段不同时才会发生
+ * 构建完成后只读，可被多个线程同时匹配
+ *
+ * @author simulator
+ * @date 2024
+ */
+public final class PathTemplateRouter<T> {
+
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * 添加路由
+     *
+     * @param method 请求方法
+     * @param template 路径模板
+     * @param value 路由值
+     * @return 同一方法和路径模板（变量名不计）已存在时返回false，不覆盖
+     */
+    public boolean add(String method, String template, T value) {
+        Node<T> node = root;
+        List<String> names = new ArrayList<>();
+        String path = normalize(template);
+        int pos = 1;
+        while (pos < path.length()) {
+            int end = segmentEnd(path, pos);
+            String segment = path.substring(pos, end);
+            int open = segment.indexOf('{');
+            int close = segment.lastIndexOf('}');
+            if (open == 0 && close == segment.length() - 1) {
+                if (node.param == null) {
+                    node.param = new Node<>();
+                }
+                node = node.param;
+                names.add(variableName(segment.substring(open, close + 1)));
+            } else if (open >= 0 && close > open) {
+                node = partialChild(node, segment.substring(0, open), segment.substring(close + 1));
+                names.add(variableName(segment.substring(open, close + 1)));
+            } else {
+                if (node.statics == null) {
+                    node.statics = new HashMap<>();
+                }
+                node = node.statics.computeIfAbsent(segment, key -> new Node<>());
+            }
+            pos = end + 1;
+        }
+        if (node.leaves == null) {
+            node.leaves = new HashMap<>();
+        }
+        Leaf<T> leaf = new Leaf<>(value, names.toArray(new String[0]));
+        if (node.leaves.putIfAbsent(method.toUpperCase(Locale.ROOT), leaf) != null) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * 取带指定前后缀的变量子节点，不存在时按固定部分长度降序插入
+     */
+    private static <T> Node<T> partialChild(Node<T> node, String prefix, String suffix) {
+        if (node.partials == null) {
+            node.partials = new ArrayList<>();
+        }
+        int index = 0;
+        for (Partial<T> partial : node.partials) {
+            if (partial.prefix.equals(prefix) && partial.suffix.equals(suffix)) {
+                return partial.node;
+            }
+            if (partial.prefix.length() + partial.suffix.length() >= prefix.length() + suffix.length()) {
+                index++;
+            }
+        }
+        Partial<T> partial = new Partial<>(prefix, suffix);
+        node.partials.add(index, partial);
+        return partial.node;
+    }
+
+    /**
+     * 匹配请求路径
+     *
+     * @param method 请求方法（大写）
+     * @param path 请求路径
+     * @param variables 接收路径变量，可为空；可在多次匹配间复用
+     * @return 路由值，没有匹配时返回null
+     */
+    public T match(String method, String path, PathVariables variables) {
+        String normalized = normalize(path);
+        PathVariables target = variables != null ? variables : new PathVariables();
+        target.reset(normalized);
+        Leaf<T> leaf = find(root, normalized, 1, method, target);
+        if (leaf == null) {
+            target.reset(null);
+            return null;
+        }
+        target.names = leaf.names;
+        return leaf.value;
+    }
+
+    /**
+     * 路由数量
+     */
+    public int size() {
+        return size;
+    }
+
+    private static <T> Leaf<T> find(Node<T> node, String path, int pos, String method, PathVariables variables) {
+        if (pos >= path.length()) {
+            return node.leaves != null ? node.leaves.get(method) : null;
+        }
+        int end = segmentEnd(path, pos);
+        if (node.statics != null) {
+            Node<T> child = node.statics.get(path.substring(pos, end));
+            if (child != null) {
+                Leaf<T> leaf = find(child, path, end + 1, method, variables);
+                if (leaf != null) {
+                    return leaf;
+                }
+            }
+        }
+        if (node.partials != null) {
+            for (Partial<T> partial : node.partials) {
+                if (partial.matches(path, pos, end)) {
+                    variables.push(pos + partial.prefix.length(), end - partial.suffix.length());
+                    Leaf<T> leaf = find(partial.node, path, end + 1, method, variables);
+                    if (leaf != null) {
+                        return leaf;
+                    }
+                    variables.pop();
+                }
+            }
+        }
+        if (node.param != null && end > pos) {
+            variables.push(pos, end);
+            Leaf<T> leaf = find(node.param, path, end + 1, method, variables);
+            if (leaf != null) {
+                return leaf;
+            }
+            variables.pop();
+        }
+        return null;
+    }
+
+    private static int segmentEnd(String path, int pos) {
+        int end = path.indexOf('/', pos);
+        return end < 0 ? path.length() : end;
+    }
+
+    /**
+     * 变量名：{AccountId} 取 AccountId，{from}-{to} 这类一段多个变量的按一个变量处理，取整段
+     */
+    private static String variableName(String variable) {
+        if (variable.length() > 2 && variable.indexOf('}') == variable.length() - 1) {
+            return variable.substring(1, variable.length() - 1);
+        }
+        return variable;
+    }
+
+    /**
+     * 补全开头的斜杠，去掉末尾的斜杠，空路径视为根路径
+     */
+    public static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        int end = path.length();
+        while (end > 1 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        String trimmed = end == path.length() ? path : path.substring(0, end);
+        return trimmed.charAt(0) == '/' ? trimmed : "/" + trimmed;
+    }
+
+    private static final class Node<T> {
+        private Map<String, Node<T>> statics;
+        private Node<T> param;
+        private List<Partial<T>> partials;
+        private Map<String, Leaf<T>> leaves;
+    }
+
+    /**
+     * 带固定前后缀的变量段，变量部分不能为空
+     */
+    private static final class Partial<T> {
+        private final String prefix;
+        private final String suffix;
+        private final Node<T> node = new Node<>();
+
+        Partial(String prefix, String suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        boolean matches(String path, int start, int end) {
+            return end - start > prefix.length() + suffix.length()
+                && path.startsWith(prefix, start) && path.startsWith(suffix, end - suffix.length());
+        }
+    }
+
+    private static final class Leaf<T> {
+        private final T value;
+        private final String[] names;
+
+        Leaf(T value, String[] names) {
+            this.value = value;
+            this.names = names;
+        }
+    }
+
+    /**
+     * 路径变量
+     * 匹配时只记录变量在请求路径中的起止位置，取值时才截取并解码；同一实例可在多次匹配间复用，不可跨线程共享
+     */
+    public static final class PathVariables {
+        private static final String[] NO_NAMES = new String[0];
+
+        private String path;
+        private String[] names = NO_NAMES;
+        private int[] bounds = new int[16];
+        private int count;
+
+        void reset(String path) {
+            this.path = path;
+            this.names = NO_NAMES;
+            this.count = 0;
+        }
+
+        void push(int start, int end) {
+            if (count * 2 == bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[count * 2] = start;
+            bounds[count * 2 + 1] = end;
+            count++;
+        }
+
+        void pop() {
+            count--;
+        }
+
+        /**
+         * 变量数量
+         */
+        public int size() {
+            return names.length;
+        }
+
+        /**
+         * 第index个变量名（按路径中出现的顺序）
+         */
+        public String name(int index) {
+            return names[index];
+        }
+
+        /**
+         * 第index个变量值（按UTF-8解码%转义，转义不合法时返回原文）
+         */
+        public String value(int index) {
+            String raw = path.substring(bounds[index * 2], bounds[index * 2 + 1]);
+            if (raw.indexOf('%') < 0) {
+                return raw;
+            }
+            try {
+                return UriUtils.decode(raw, StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                return raw;
+            }
+        }
+
+        /**
+         * 按变量名取值，不存在时返回null
+         */
+        public String get(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return value(i);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 转为变量名到值的映射
+         */
+        public Map<String, String> toMap() {
+            Map<String, String> map = new LinkedHashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                map.put(names[i], value(i));
+            }
+            return map;
+        }
+    }
+}
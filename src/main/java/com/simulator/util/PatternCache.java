@@ -0,0 +1,88 @@
+package com.simulator.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 正则表达式编译缓存
+ * 进程内共享，示例值生成和请求校验对同一正则只编译一次；无法编译的正则同样缓存，避免重复抛出异常
+ * 条目数超过上限时随机淘汰一部分（同一批文档中的正则高度重复，淘汰策略对命中率影响不大）
+ *
+ * @author simulator
+ * @date 2024
+ */
+public final class PatternCache {
+
+    /**
+     * 最大条目数
+     */
+    static final int MAX_ENTRIES = 4096;
+
+    private static final Map<String, Optional<Pattern>> patterns = new ConcurrentHashMap<>();
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private PatternCache() {
+    }
+
+    /**
+     * 获取编译后的正则表达式
+     *
+     * @param regex 正则表达式
+     * @return 编译后的正则，为空或无法编译时返回null
+     */
+    public static Pattern compile(String regex) {
+        if (regex == null || regex.isEmpty()) {
+            return null;
+        }
+        Optional<Pattern> cached = patterns.get(regex);
+        if (cached != null) {
+            hits.increment();
+            return cached.orElse(null);
+        }
+        misses.increment();
+        Optional<Pattern> compiled;
+        try {
+            compiled = Optional.of(Pattern.compile(regex));
+        } catch (PatternSyntaxException e) {
+            compiled = Optional.empty();
+        }
+        if (patterns.size() >= MAX_ENTRIES) {
+            evict(patterns);
+        }
+        patterns.putIfAbsent(regex, compiled);
+        return compiled.orElse(null);
+    }
+
+    /**
+     * 当前条目数
+     */
+    public static int size() {
+        return patterns.size();
+    }
+
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 淘汰约四分之一的条目，{@link RegexAutomaton} 的缓存同样使用
+     */
+    static void evict(Map<String, ?> cache) {
+        int toRemove = MAX_ENTRIES / 4;
+        Iterator<String> iterator = cache.keySet().iterator();
+        while (toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
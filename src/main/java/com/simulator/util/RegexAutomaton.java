@@ -0,0 +1,800 @@
+package com.simulator.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 正则表达式自动机
+ * 将正则解析为语法树后按Thompson构造编译为NFA：每个状态要么是一条字符集转移，要么是若干条空转移；
+ * 编译时算出每个状态到接受状态最少还需生成的字符数，以及沿最短路径前进的下一状态
+ * 生成示例值时从起始状态出发，未达到目标长度前在分支和重复处随机选择，之后沿最短路径走到接受状态，
+ * 耗时与生成的字符数成正比
+ * 支持字符、转义、字符类（含嵌套和&&交集）、分组、选择和各类量词；^、$、\b 等位置断言以及先行、后行断言
+ * 按空串处理，生成结果需再用编译后的正则校验；反向引用和注释模式(?x)不支持
+ * 编译结果按正则缓存，构建完成后只读，可被多个线程同时使用
+ *
+ * @author simulator
+ * @date 2024
+ */
+public final class RegexAutomaton {
+
+    /**
+     * 状态数上限，超过时视为不支持
+     */
+    static final int MAX_STATES = 20000;
+
+    /**
+     * 有上限的量词最多展开的可选次数，如 \d{1,100} 按 \d{1,17} 生成
+     */
+    static final int MAX_OPTIONAL_REPEAT = 16;
+
+    /**
+     * 随机选择阶段在最短长度之外最多多生成的字符数
+     */
+    private static final int MAX_EXTRA_LENGTH = 8;
+
+    private static final int ACCEPT = 0;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int MAX_CHAR = Character.MAX_VALUE;
+
+    private static final Map<String, Optional<RegexAutomaton>> automata = new ConcurrentHashMap<>();
+    private static final Map<String, int[]> properties = new ConcurrentHashMap<>();
+
+    /**
+     * 生成字符时优先选用的字符：字母和数字，其次是其他可见ASCII字符，再次是空格
+     */
+    private static final int[] ALNUM = {'0', '9', 'A', 'Z', 'a', 'z'};
+    private static final int[] PRINTABLE = {'!', '~'};
+    private static final int[] SPACE = {' ', ' '};
+
+    private static final int[] DIGIT = {'0', '9'};
+    private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+    private static final int[] WHITESPACE = {'\t', '\r', ' ', ' '};
+    private static final int[] DOT = complement(normalize(new int[]{'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029}));
+
+    /**
+     * 状态的字符集转移（已收窄为生成时实际选用的字符），null表示空转移状态
+     */
+    private final int[][] ranges;
+    private final int[] out;
+    private final int[][] epsilons;
+    private final int[] distance;
+    private final int[] shortest;
+    private final int start;
+
+    private RegexAutomaton(List<State> states, int start) {
+        int count = states.size();
+        this.ranges = new int[count][];
+        this.out = new int[count];
+        this.epsilons = new int[count][];
+        for (int i = 0; i < count; i++) {
+            State state = states.get(i);
+            ranges[i] = state.ranges == null ? null : preferred(state.ranges);
+            out[i] = state.out;
+            epsilons[i] = state.epsilons.stream().mapToInt(Integer::intValue).toArray();
+        }
+        this.start = start;
+        this.distance = new int[count];
+        this.shortest = new int[count];
+        computeDistances();
+    }
+
+    /**
+     * 获取正则对应的自动机
+     *
+     * @param regex 正则表达式
+     * @return 自动机；正则为空、无法编译、含不支持的语法或不可能匹配任何字符串时返回null
+     */
+    public static RegexAutomaton compile(String regex) {
+        if (regex == null || regex.isEmpty()) {
+            return null;
+        }
+        Optional<RegexAutomaton> cached = automata.get(regex);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        RegexAutomaton automaton = null;
+        if (PatternCache.compile(regex) != null) {
+            try {
+                automaton = build(regex);
+            } catch (UnsupportedOperationException e) {
+                automaton = null;
+            }
+        }
+        if (automata.size() >= PatternCache.MAX_ENTRIES) {
+            PatternCache.evict(automata);
+        }
+        automata.putIfAbsent(regex, Optional.ofNullable(automaton));
+        return automaton;
+    }
+
+    /**
+     * 生成一个被自动机接受的字符串
+     *
+     * @param random 随机数来源
+     */
+    public String generate(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int target = distance[start] + random.nextInt(MAX_EXTRA_LENGTH + 1);
+        // 随机选择阶段的步数上限，防止在只含空转移的重复结构中空转
+        int steps = 4 * (target + ranges.length);
+        int state = start;
+        while (state != ACCEPT) {
+            if (ranges[state] != null) {
+                builder.append(randomChar(ranges[state], random));
+                state = out[state];
+            } else if (builder.length() < target && steps-- > 0) {
+                state = randomEpsilon(state, random);
+            } else {
+                state = shortest[state];
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 可接受的最短字符串长度
+     */
+    public int minLength() {
+        return distance[start];
+    }
+
+    /**
+     * 状态数
+     */
+    public int size() {
+        return ranges.length;
+    }
+
+    private int randomEpsilon(int state, Random random) {
+        int[] targets = epsilons[state];
+        int viable = 0;
+        for (int target : targets) {
+            if (distance[target] != UNREACHABLE) {
+                viable++;
+            }
+        }
+        int chosen = random.nextInt(viable);
+        for (int target : targets) {
+            if (distance[target] != UNREACHABLE && chosen-- == 0) {
+                return target;
+            }
+        }
+        return shortest[state];
+    }
+
+    /**
+     * 按Bellman-Ford迭代求每个状态到接受状态的最少字符数，只在严格变小时更新最短路径上的下一状态，
+     * 因此沿下一状态前进不会形成环
+     */
+    private void computeDistances() {
+        Arrays.fill(distance, UNREACHABLE);
+        Arrays.fill(shortest, -1);
+        distance[ACCEPT] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int state = 0; state < ranges.length; state++) {
+                if (ranges[state] != null) {
+                    int next = distance[out[state]];
+                    if (next != UNREACHABLE && ranges[state].length > 0 && next + 1 < distance[state]) {
+                        distance[state] = next + 1;
+                        shortest[state] = out[state];
+                        changed = true;
+                    }
+                } else {
+                    for (int target : epsilons[state]) {
+                        if (distance[target] < distance[state]) {
+                            distance[state] = distance[target];
+                            shortest[state] = target;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 字符集中优先选用的部分，没有时返回原字符集
+     */
+    private static int[] preferred(int[] set) {
+        for (int[] preferred : new int[][]{ALNUM, PRINTABLE, SPACE}) {
+            int[] candidates = intersect(set, preferred);
+            if (candidates.length > 0) {
+                return candidates;
+            }
+        }
+        return set;
+    }
+
+    private static char randomChar(int[] set, Random random) {
+        int total = 0;
+        for (int i = 0; i < set.length; i += 2) {
+            total += set[i + 1] - set[i] + 1;
+        }
+        int index = random.nextInt(total);
+        for (int i = 0; i < set.length; i += 2) {
+            int width = set[i + 1] - set[i] + 1;
+            if (index < width) {
+                return (char) (set[i] + index);
+            }
+            index -= width;
+        }
+        return (char) set[0];
+    }
+
+    private static RegexAutomaton build(String regex) {
+        Node root = new Parser(regex).parse();
+        List<State> states = new ArrayList<>();
+        states.add(new State());
+        int start = root.emit(states, ACCEPT);
+        RegexAutomaton automaton = new RegexAutomaton(states, start);
+        return automaton.distance[start] == UNREACHABLE ? null : automaton;
+    }
+
+    // ---------------------------------------------------------------- 字符集
+    // 字符集以升序、互不相交的闭区间数组表示：[lo0, hi0, lo1, hi1, ...]，只覆盖基本多文种平面
+
+    private static int[] normalize(int[] set) {
+        int count = set.length / 2;
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(set[a * 2], set[b * 2]));
+        int[] merged = new int[set.length];
+        int size = 0;
+        for (int index : order) {
+            int lo = set[index * 2];
+            int hi = set[index * 2 + 1];
+            if (size > 0 && lo <= merged[size - 1] + 1) {
+                merged[size - 1] = Math.max(merged[size - 1], hi);
+            } else {
+                merged[size++] = lo;
+                merged[size++] = hi;
+            }
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        int[] joined = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, joined, a.length, b.length);
+        return normalize(joined);
+    }
+
+    private static int[] complement(int[] set) {
+        int[] result = new int[set.length + 2];
+        int size = 0;
+        int next = 0;
+        for (int i = 0; i < set.length; i += 2) {
+            if (set[i] > next) {
+                result[size++] = next;
+                result[size++] = set[i] - 1;
+            }
+            next = set[i + 1] + 1;
+        }
+        if (next <= MAX_CHAR) {
+            result[size++] = next;
+            result[size++] = MAX_CHAR;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            int lo = Math.max(a[i], b[j]);
+            int hi = Math.min(a[i + 1], b[j + 1]);
+            if (lo <= hi) {
+                result[size++] = lo;
+                result[size++] = hi;
+            }
+            if (a[i + 1] < b[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * \p{...} 字符类：逐个字符用Java正则判定，结果按类名缓存
+     */
+    private static int[] property(String escape) {
+        return properties.computeIfAbsent(escape, key -> {
+            Pattern pattern = Pattern.compile(key);
+            List<Integer> bounds = new ArrayList<>();
+            int lo = -1;
+            for (int c = 0; c <= MAX_CHAR + 1; c++) {
+                boolean member = c <= MAX_CHAR && pattern.matcher(String.valueOf((char) c)).matches();
+                if (member && lo < 0) {
+                    lo = c;
+                } else if (!member && lo >= 0) {
+                    bounds.add(lo);
+                    bounds.add(c - 1);
+                    lo = -1;
+                }
+            }
+            return bounds.stream().mapToInt(Integer::intValue).toArray();
+        });
+    }
+
+    // ---------------------------------------------------------------- NFA构造
+
+    private static final class State {
+        private int[] ranges;
+        private int out = -1;
+        private final List<Integer> epsilons = new ArrayList<>(2);
+    }
+
+    private static int newState(List<State> states) {
+        if (states.size() >= MAX_STATES) {
+            throw new UnsupportedOperationException("正则展开后状态过多");
+        }
+        states.add(new State());
+        return states.size() - 1;
+    }
+
+    /**
+     * 语法树节点；emit 自后向前构造：给定后继状态，返回本节点的起始状态
+     */
+    private interface Node {
+        int emit(List<State> states, int next);
+    }
+
+    private static final class CharNode implements Node {
+        private final int[] set;
+
+        CharNode(int[] set) {
+            this.set = set;
+        }
+
+        @Override
+        public int emit(List<State> states, int next) {
+            int state = newState(states);
+            states.get(state).ranges = set;
+            states.get(state).out = next;
+            return state;
+        }
+    }
+
+    private static final class SeqNode implements Node {
+        private final List<Node> items;
+
+        SeqNode(List<Node> items) {
+            this.items = items;
+        }
+
+        @Override
+        public int emit(List<State> states, int next) {
+            int state = next;
+            for (int i = items.size() - 1; i >= 0; i--) {
+                state = items.get(i).emit(states, state);
+            }
+            return state;
+        }
+    }
+
+    private static final class AltNode implements Node {
+        private final List<Node> options;
+
+        AltNode(List<Node> options) {
+            this.options = options;
+        }
+
+        @Override
+        public int emit(List<State> states, int next) {
+            int state = newState(states);
+            for (Node option : options) {
+                int branch = option.emit(states, next);
+                states.get(state).epsilons.add(branch);
+            }
+            return state;
+        }
+    }
+
+    private static final class RepeatNode implements Node {
+        private final Node item;
+        private final int min;
+        /**
+         * -1表示无上限
+         */
+        private final int max;
+
+        RepeatNode(Node item, int min, int max) {
+            this.item = item;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public int emit(List<State> states, int next) {
+            int state;
+            if (max < 0) {
+                int loop = newState(states);
+                int body = item.emit(states, loop);
+                states.get(loop).epsilons.add(body);
+                states.get(loop).epsilons.add(next);
+                state = loop;
+            } else {
+                // x{0,3} 按 (x(x(x)?)?)? 展开
+                state = next;
+                int optional = Math.min(max - min, MAX_OPTIONAL_REPEAT);
+                for (int i = 0; i < optional; i++) {
+                    int choice = newState(states);
+                    int body = item.emit(states, state);
+                    states.get(choice).epsilons.add(body);
+                    states.get(choice).epsilons.add(next);
+                    state = choice;
+                }
+            }
+            for (int i = 0; i < min; i++) {
+                state = item.emit(states, state);
+            }
+            return state;
+        }
+    }
+
+    private static final Node EMPTY = (states, next) -> next;
+
+    // ---------------------------------------------------------------- 正则解析
+
+    private static final class Parser {
+        private final String regex;
+        private int pos;
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        Node parse() {
+            Node node = alternation();
+            if (pos < regex.length()) {
+                throw new UnsupportedOperationException("无法解析的位置: " + pos);
+            }
+            return node;
+        }
+
+        private Node alternation() {
+            List<Node> options = new ArrayList<>();
+            options.add(sequence());
+            while (peek('|')) {
+                pos++;
+                options.add(sequence());
+            }
+            return options.size() == 1 ? options.get(0) : new AltNode(options);
+        }
+
+        private Node sequence() {
+            List<Node> items = new ArrayList<>();
+            while (pos < regex.length() && !peek('|') && !peek(')')) {
+                Node atom = atom();
+                items.add(quantifier(atom));
+            }
+            return items.size() == 1 ? items.get(0) : new SeqNode(items);
+        }
+
+        private Node quantifier(Node atom) {
+            while (pos < regex.length()) {
+                char c = regex.charAt(pos);
+                int min;
+                int max;
+                if (c == '*') {
+                    min = 0;
+                    max = -1;
+                    pos++;
+                } else if (c == '+') {
+                    min = 1;
+                    max = -1;
+                    pos++;
+                } else if (c == '?') {
+                    min = 0;
+                    max = 1;
+                    pos++;
+                } else if (c == '{' && isBound()) {
+                    pos++;
+                    min = number();
+                    max = min;
+                    if (peek(',')) {
+                        pos++;
+                        max = peek('}') ? -1 : number();
+                    }
+                    pos++;
+                } else {
+                    return atom;
+                }
+                // 忽略勉强量词和占有量词后缀
+                if (peek('?') || peek('+')) {
+                    pos++;
+                }
+                atom = new RepeatNode(atom, min, max);
+            }
+            return atom;
+        }
+
+        private boolean isBound() {
+            int end = regex.indexOf('}', pos);
+            return end > pos + 1 && regex.substring(pos + 1, end).matches("[0-9]+(,[0-9]*)?");
+        }
+
+        private int number() {
+            int begin = pos;
+            while (pos < regex.length() && Character.isDigit(regex.charAt(pos))) {
+                pos++;
+            }
+            try {
+                return Integer.parseInt(regex.substring(begin, pos));
+            } catch (NumberFormatException e) {
+                throw new UnsupportedOperationException("重复次数过大");
+            }
+        }
+
+        private Node atom() {
+            char c = regex.charAt(pos++);
+            switch (c) {
+                case '(':
+                    return group();
+                case '[':
+                    return new CharNode(charClass());
+                case '.':
+                    return new CharNode(DOT);
+                case '^':
+                case '$':
+                    return EMPTY;
+                case '\\':
+                    return escape();
+                default:
+                    return literal(c);
+            }
+        }
+
+        private Node group() {
+            boolean discard = false;
+            if (peek('?')) {
+                pos++;
+                char kind = regex.charAt(pos);
+                if (kind == ':' || kind == '>') {
+                    pos++;
+                } else if (kind == '=' || kind == '!') {
+                    pos++;
+                    discard = true;
+                } else if (kind == '<') {
+                    pos++;
+                    if (peek('=') || peek('!')) {
+                        pos++;
+                        discard = true;
+                    } else {
+                        pos = regex.indexOf('>', pos) + 1;
+                    }
+                } else {
+                    // 内联标志 (?i) 或 (?i:...)：大小写不敏感等标志只会放宽匹配，按原样生成仍能匹配
+                    int begin = pos;
+                    while (pos < regex.length() && regex.charAt(pos) != ')' && regex.charAt(pos) != ':') {
+                        pos++;
+                    }
+                    String flags = regex.substring(begin, pos);
+                    int off = flags.indexOf('-');
+                    int comments = flags.indexOf('x');
+                    if (comments >= 0 && (off < 0 || comments < off)) {
+                        throw new UnsupportedOperationException("不支持注释模式");
+                    }
+                    if (peek(')')) {
+                        pos++;
+                        return EMPTY;
+                    }
+                    pos++;
+                }
+            }
+            Node inner = alternation();
+            expect(')');
+            return discard ? EMPTY : inner;
+        }
+
+        private Node escape() {
+            char c = regex.charAt(pos++);
+            switch (c) {
+                case 'b':
+                case 'B':
+                case 'A':
+                case 'z':
+                case 'Z':
+                case 'G':
+                    return EMPTY;
+                case 'Q': {
+                    int end = regex.indexOf("\\E", pos);
+                    String quoted = end < 0 ? regex.substring(pos) : regex.substring(pos, end);
+                    pos = end < 0 ? regex.length() : end + 2;
+                    List<Node> chars = new ArrayList<>();
+                    for (char q : quoted.toCharArray()) {
+                        chars.add(literal(q));
+                    }
+                    return new SeqNode(chars);
+                }
+                default:
+                    pos--;
+                    return new CharNode(escapeSet());
+            }
+        }
+
+        /**
+         * 解析 \ 之后的字符类或单个字符转义，pos 指向 \ 之后的字符
+         */
+        private int[] escapeSet() {
+            char c = regex.charAt(pos++);
+            switch (c) {
+                case 'd':
+                    return DIGIT;
+                case 'D':
+                    return complement(DIGIT);
+                case 'w':
+                    return WORD;
+                case 'W':
+                    return complement(WORD);
+                case 's':
+                    return WHITESPACE;
+                case 'S':
+                    return complement(WHITESPACE);
+                case 'p':
+                case 'P': {
+                    String name;
+                    if (peek('{')) {
+                        int end = regex.indexOf('}', pos);
+                        name = regex.substring(pos + 1, end);
+                        pos = end + 1;
+                    } else {
+                        name = String.valueOf(regex.charAt(pos++));
+                    }
+                    int[] set = property("\\p{" + name + "}");
+                    return c == 'p' ? set : complement(set);
+                }
+                case 't':
+                    return single('\t');
+                case 'n':
+                    return single('\n');
+                case 'r':
+                    return single('\r');
+                case 'f':
+                    return single('\f');
+                case 'a':
+                    return single('\u0007');
+                case 'e':
+                    return single('\u001B');
+                case 'c':
+                    return single(regex.charAt(pos++) ^ 64);
+                case '0': {
+                    int begin = pos;
+                    while (pos < regex.length() && pos - begin < 3 && regex.charAt(pos) >= '0' && regex.charAt(pos) <= '7') {
+                        pos++;
+                    }
+                    return single(Integer.parseInt(regex.substring(begin, pos), 8));
+                }
+                case 'x': {
+                    if (peek('{')) {
+                        int end = regex.indexOf('}', pos);
+                        int code = Integer.parseInt(regex.substring(pos + 1, end), 16);
+                        pos = end + 1;
+                        if (code > MAX_CHAR) {
+                            throw new UnsupportedOperationException("不支持增补字符");
+                        }
+                        return single(code);
+                    }
+                    pos += 2;
+                    return single(Integer.parseInt(regex.substring(pos - 2, pos), 16));
+                }
+                case 'u':
+                    pos += 4;
+                    return single(Integer.parseInt(regex.substring(pos - 4, pos), 16));
+                default:
+                    if (Character.isLetterOrDigit(c)) {
+                        // 反向引用、\h、\R 等
+                        throw new UnsupportedOperationException("不支持的转义: \\" + c);
+                    }
+                    return single(c);
+            }
+        }
+
+        /**
+         * 解析 [...]，pos 指向 [ 之后的字符
+         */
+        private int[] charClass() {
+            boolean negate = peek('^');
+            if (negate) {
+                pos++;
+            }
+            int[] set = new int[0];
+            boolean first = true;
+            while (first || !peek(']')) {
+                if (pos >= regex.length()) {
+                    throw new UnsupportedOperationException("字符类未结束");
+                }
+                first = false;
+                if (regex.startsWith("&&", pos)) {
+                    pos += 2;
+                    int[] right = classOperand();
+                    set = intersect(set, right);
+                    continue;
+                }
+                set = union(set, classItem());
+            }
+            pos++;
+            return negate ? complement(set) : set;
+        }
+
+        /**
+         * && 右侧：嵌套的字符类，或直到 ] 的其余内容
+         */
+        private int[] classOperand() {
+            int[] set = new int[0];
+            while (!peek(']') && !regex.startsWith("&&", pos)) {
+                set = union(set, classItem());
+            }
+            return set;
+        }
+
+        private int[] classItem() {
+            char c = regex.charAt(pos);
+            if (c == '[') {
+                pos++;
+                return charClass();
+            }
+            int[] lo = classChar();
+            if (lo.length == 2 && lo[0] == lo[1] && peek('-') && pos + 1 < regex.length()
+                && regex.charAt(pos + 1) != ']' && regex.charAt(pos + 1) != '[') {
+                pos++;
+                int[] hi = classChar();
+                return new int[]{lo[0], hi[1]};
+            }
+            return lo;
+        }
+
+        private int[] classChar() {
+            char c = regex.charAt(pos++);
+            if (c == '\\') {
+                if (peek('Q')) {
+                    pos++;
+                    int end = regex.indexOf("\\E", pos);
+                    String quoted = end < 0 ? regex.substring(pos) : regex.substring(pos, end);
+                    pos = end < 0 ? regex.length() : end + 2;
+                    int[] set = new int[0];
+                    for (char q : quoted.toCharArray()) {
+                        set = union(set, single(q));
+                    }
+                    return set;
+                }
+                return escapeSet();
+            }
+            return single(c);
+        }
+
+        private Node literal(char c) {
+            return new CharNode(single(c));
+        }
+
+        private boolean peek(char c) {
+            return pos < regex.length() && regex.charAt(pos) == c;
+        }
+
+        private void expect(char c) {
+            if (!peek(c)) {
+                throw new UnsupportedOperationException("缺少" + c);
+            }
+            pos++;
+        }
+    }
+
+    private static int[] single(int c) {
+        return new int[]{c, c};
+    }
+}
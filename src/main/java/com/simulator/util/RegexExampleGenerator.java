@@ -3,37 +3,61 @@ package com.simulator.util;
 import cn.hutool.core.util.RandomUtil;
 import cn.hutool.core.util.StrUtil;
 
+import java.util.Random;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * 正则表达式示例值生成器
  * 根据正则表达式自动生成符合规则的示例值
+ * 先按常见模式生成更贴近业务的值，不符合正则时再由{@link RegexAutomaton}按正则结构生成，
+ * 两种方式的结果都经编译后的正则校验，返回值一定与正则整体匹配
+ * 识别常见模式用的正则预编译为常量，字段正则通过{@link PatternCache}编译，每个正则只编译一次
  * 
  * @author simulator
  * @date 2024
  */
 public class RegexExampleGenerator {
 
+    /**
+     * \d{n}$ 片段，分组1为位数；取最后一处出现
+     */
+    private static final Pattern FIXED_DIGITS = Pattern.compile("\\\\d\\{([0-9]+)\\}\\$");
+
+    /**
+     * 字母后跟 {n}$ 的片段（如 x{3}$），分组1为位数；取最后一处出现
+     */
+    private static final Pattern FIXED_LETTERS = Pattern.compile("[a-zA-Z]\\{([0-9]+)\\}\\$");
+
+    /**
+     * 自动机生成结果未通过正则校验时的重试次数（先行断言等按空串处理的语法可能导致校验不通过）
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
     /**
      * 根据正则表达式生成示例值
      * 
      * @param pattern 正则表达式
-     * @return 符合正则的示例值，如果无法生成则返回null
+     * @return 符合正则的示例值，正则非法或含不支持的语法时返回null
      */
     public static String generateExample(String pattern) {
         if (StrUtil.isBlank(pattern)) {
             return null;
         }
+        Pattern compiled = PatternCache.compile(pattern);
+        if (compiled == null) {
+            return null;
+        }
 
         try {
             // 常见正则模式处理
             String example = handleCommonPatterns(pattern);
-            if (example != null) {
+            if (example != null && compiled.matcher(example).matches()) {
                 return example;
             }
 
-            // 尝试匹配并生成
-            return generateByPattern(pattern);
+            // 按正则结构生成
+            return generateByAutomaton(pattern, compiled);
         } catch (Exception e) {
             // 如果生成失败，返回null
             return null;
@@ -44,12 +68,14 @@ public class RegexExampleGenerator {
      * 处理常见正则模式
      */
     private static String handleCommonPatterns(String pattern) {
+        // 两类定长模式都以 }$ 结尾，不含时跳过正则查找
+        boolean fixedLength = pattern.contains("}$");
+
         // 数字相关
-        if (pattern.matches(".*\\\\d\\{([0-9]+)\\}\\$.*")) {
+        String digits = fixedLength ? lastGroup(FIXED_DIGITS, pattern) : null;
+        if (digits != null) {
             // 匹配 \d{4} 这样的模式
-            String count = pattern.replaceAll(".*\\\\d\\{([0-9]+)\\}\\$.*", "$1");
-            int num = Integer.parseInt(count);
-            return RandomUtil.randomNumbers(num);
+            return RandomUtil.randomNumbers(Integer.parseInt(digits));
         }
         
         if (pattern.contains("\\d+")) {
@@ -58,15 +84,14 @@ public class RegexExampleGenerator {
         }
 
         // 字母相关
-        if (pattern.matches(".*[a-zA-Z]\\{([0-9]+)\\}\\$.*")) {
-            String count = pattern.replaceAll(".*[a-zA-Z]\\{([0-9]+)\\}\\$.*", "$1");
-            int num = Integer.parseInt(count);
-            return RandomUtil.randomString("abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ", num);
+        String letters = fixedLength ? lastGroup(FIXED_LETTERS, pattern) : null;
+        if (letters != null) {
+            return RandomUtil.randomString("abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ", Integer.parseInt(letters));
         }
 
         // 邮箱
         if (pattern.contains("email") || pattern.contains("@")) {
-            return "example@test.com";
+            return "email@example.com";
         }
 
         // 手机号（中国）
@@ -93,33 +118,32 @@ public class RegexExampleGenerator {
     }
 
     /**
-     * 通过正则模式生成示例值
+     * 查找片段最后一处出现的分组1，与 .*片段.* 整体匹配时贪婪前缀取到的结果一致
      */
-    private static String generateByPattern(String pattern) {
-        try {
-            Pattern.compile(pattern);
-            
-            // 简单模式：纯数字
-            if (pattern.matches("^\\^?\\\\d+\\+?\\$?$")) {
-                return RandomUtil.randomNumbers(6);
-            }
-
-            // 简单模式：纯字母
-            if (pattern.matches("^\\^?[a-zA-Z]+\\+?\\$?$")) {
-                return RandomUtil.randomString("abcdefghijklmnopqrstuvwxyz", 6);
-            }
-
-            // 字母数字组合
-            if (pattern.contains("[a-zA-Z0-9]")) {
-                return RandomUtil.randomString("abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789", 8);
-            }
+    private static String lastGroup(Pattern fragment, String pattern) {
+        Matcher matcher = fragment.matcher(pattern);
+        String group = null;
+        while (matcher.find()) {
+            group = matcher.group(1);
+        }
+        return group;
+    }
 
-            // 默认返回一个随机字符串
-            return RandomUtil.randomString(8);
-        } catch (Exception e) {
+    /**
+     * 通过正则自动机生成示例值
+     */
+    private static String generateByAutomaton(String pattern, Pattern compiled) {
+        RegexAutomaton automaton = RegexAutomaton.compile(pattern);
+        if (automaton == null) {
             return null;
         }
+        Random random = RandomUtil.getRandom();
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            String example = automaton.generate(random);
+            if (compiled.matcher(example).matches()) {
+                return example;
+            }
+        }
+        return null;
     }
 }
-
-
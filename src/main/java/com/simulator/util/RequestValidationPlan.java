@@ -0,0 +1,506 @@
+package com.simulator.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simulator.entity.RequestParam;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * 请求校验计划
+ * 将一个接口的请求参数编译为不可变的校验计划：正则表达式预编译，参数类型解析为类型检查器，
+ * 请求体中每个对象的必填字段记为位图；校验请求时只按计划逐项检查，不读取数据库
+ * 查询/请求头/路径/Cookie参数只校验顶层参数；请求体只校验JSON类型，按层级路径逐层检查，
+ * 数组元素的层级路径按解析器约定为 items（根数组）或 xxx[0]
+ *
+ * @author simulator
+ * @date 2024
+ */
+@Slf4j
+public final class RequestValidationPlan {
+
+    /**
+     * 单次校验最多返回的错误数
+     */
+    private static final int MAX_ERRORS = 20;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+    private static final Pattern DATE_PATTERN = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+    private static final Pattern DATE_TIME_PATTERN = Pattern.compile(
+        "\\d{4}-\\d{2}-\\d{2}[Tt ]\\d{2}:\\d{2}(:\\d{2}(\\.\\d+)?)?([Zz]|[+-]\\d{2}:?\\d{2})?");
+
+    /**
+     * 没有任何校验规则的计划
+     */
+    public static final RequestValidationPlan EMPTY = new RequestValidationPlan(new ParamRule[0], Collections.emptyMap());
+
+    /**
+     * 请求中的参数值
+     */
+    public interface RequestValues {
+
+        String query(String name);
+
+        String header(String name);
+
+        String path(String name);
+
+        String cookie(String name);
+    }
+
+    private final ParamRule[] paramRules;
+    private final Map<String, BodyPlan> bodyPlans;
+
+    private RequestValidationPlan(ParamRule[] paramRules, Map<String, BodyPlan> bodyPlans) {
+        this.paramRules = paramRules;
+        this.bodyPlans = bodyPlans;
+    }
+
+    /**
+     * 编译接口的请求参数
+     *
+     * @param requestParams 请求参数（请求体参数需按层级顺序排列，与解析结果一致）
+     * @return 校验计划
+     */
+    public static RequestValidationPlan compile(List<RequestParam> requestParams) {
+        List<ParamRule> paramRules = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Map<String, BodyPlanBuilder> bodies = new LinkedHashMap<>();
+        for (RequestParam param : requestParams) {
+            String location = param.getLocation();
+            if ("body".equals(location)) {
+                String mediaType = baseMediaType(param.getContentType());
+                if (mediaType != null && mediaType.contains("json")) {
+                    bodies.computeIfAbsent(mediaType, key -> new BodyPlanBuilder()).add(param);
+                }
+            } else if (isParamLocation(location) && param.getParamName() != null
+                    && (param.getHierarchyPath() == null || param.getHierarchyPath().equals(param.getParamName()))
+                    && seen.add(location + "." + param.getParamName())) {
+                paramRules.add(new ParamRule(location, param.getParamName(), param.getParamType(),
+                    compilePattern(param.getPattern()), Boolean.TRUE.equals(param.getRequired())));
+            }
+        }
+        if (paramRules.isEmpty() && bodies.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, BodyPlan> bodyPlans = new HashMap<>();
+        bodies.forEach((mediaType, builder) -> bodyPlans.put(mediaType, builder.build()));
+        return new RequestValidationPlan(paramRules.toArray(new ParamRule[0]), bodyPlans);
+    }
+
+    /**
+     * 是否没有任何校验规则
+     */
+    public boolean isEmpty() {
+        return paramRules.length == 0 && bodyPlans.isEmpty();
+    }
+
+    /**
+     * 校验请求
+     *
+     * @param values 请求参数值
+     * @param contentType 请求Content-Type，可为空
+     * @param body 请求体，可为空
+     * @return 错误信息，校验通过时为空列表
+     */
+    public List<String> validate(RequestValues values, String contentType, byte[] body) {
+        List<String> errors = new ArrayList<>(0);
+        for (ParamRule rule : paramRules) {
+            String value = rule.valueOf(values);
+            if (value == null) {
+                if (rule.required) {
+                    errors.add("缺少必填参数: " + rule.label);
+                }
+            } else {
+                rule.check(value, errors);
+            }
+            if (errors.size() >= MAX_ERRORS) {
+                return errors;
+            }
+        }
+        if (body != null && body.length > 0 && !bodyPlans.isEmpty()) {
+            BodyPlan bodyPlan = bodyPlans.get(baseMediaType(contentType));
+            if (bodyPlan == null && contentType == null && bodyPlans.size() == 1) {
+                bodyPlan = bodyPlans.values().iterator().next();
+            }
+            if (bodyPlan != null) {
+                bodyPlan.validate(body, errors);
+            }
+        }
+        return errors;
+    }
+
+    private static boolean isParamLocation(String location) {
+        return "query".equals(location) || "header".equals(location) || "path".equals(location)
+            || "cookie".equals(location);
+    }
+
+    /**
+     * 去掉参数并转为小写，如 application/json;charset=UTF-8 取 application/json
+     */
+    private static String baseMediaType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        int semicolon = contentType.indexOf(';');
+        return (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 预编译正则表达式，无法编译时不校验格式
+     */
+    private static Pattern compilePattern(String pattern) {
+        Pattern compiled = PatternCache.compile(pattern);
+        if (compiled == null && pattern != null && !pattern.isEmpty()) {
+            log.debug("正则表达式无法编译，跳过格式校验: {}", pattern);
+        }
+        return compiled;
+    }
+
+    /**
+     * 参数类型检查器
+     */
+    enum ValueType {
+        STRING, INTEGER, NUMBER, BOOLEAN, DATE, DATE_TIME, ARRAY, OBJECT, ANY;
+
+        /**
+         * 解析请求参数的类型（String、Integer、Array&lt;Integer&gt;、object等）
+         */
+        static ValueType of(String paramType) {
+            if (paramType == null) {
+                return ANY;
+            }
+            String type = paramType.toLowerCase(Locale.ROOT);
+            if (type.startsWith("array")) {
+                return ARRAY;
+            }
+            switch (type) {
+                case "string":
+                    return STRING;
+                case "integer":
+                    return INTEGER;
+                case "number":
+                    return NUMBER;
+                case "boolean":
+                    return BOOLEAN;
+                case "date":
+                    return DATE;
+                case "datetime":
+                case "date-time":
+                    return DATE_TIME;
+                case "object":
+                    return OBJECT;
+                default:
+                    return ANY;
+            }
+        }
+
+        /**
+         * 数组元素类型，如 Array&lt;Integer&gt; 取 INTEGER
+         */
+        static ValueType elementOf(String paramType) {
+            if (paramType == null) {
+                return ANY;
+            }
+            int start = paramType.indexOf('<');
+            int end = paramType.lastIndexOf('>');
+            return start > 0 && end > start ? of(paramType.substring(start + 1, end)) : ANY;
+        }
+
+        /**
+         * 检查查询参数、请求头等文本值
+         */
+        boolean acceptsText(String value) {
+            switch (this) {
+                case INTEGER:
+                    return isInteger(value);
+                case NUMBER:
+                    return NUMBER_PATTERN.matcher(value).matches();
+                case BOOLEAN:
+                    return "true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value);
+                case DATE:
+                    return DATE_PATTERN.matcher(value).matches();
+                case DATE_TIME:
+                    return DATE_TIME_PATTERN.matcher(value).matches();
+                default:
+                    return true;
+            }
+        }
+
+        /**
+         * 检查请求体中的JSON值，null视为通过
+         */
+        boolean acceptsJson(JsonNode node) {
+            if (node.isNull()) {
+                return true;
+            }
+            switch (this) {
+                case STRING:
+                    // 解析器对未解析的$ref和组合Schema同样记为String，对象和数组不视为类型错误
+                    return !node.isNumber() && !node.isBoolean();
+                case INTEGER:
+                    return node.isIntegralNumber()
+                        || node.isFloatingPointNumber() && node.doubleValue() == Math.rint(node.doubleValue());
+                case NUMBER:
+                    return node.isNumber();
+                case BOOLEAN:
+                    return node.isBoolean();
+                case DATE:
+                    return node.isTextual() && DATE_PATTERN.matcher(node.textValue()).matches();
+                case DATE_TIME:
+                    return node.isTextual() && DATE_TIME_PATTERN.matcher(node.textValue()).matches();
+                case ARRAY:
+                    return node.isArray();
+                case OBJECT:
+                    return node.isObject();
+                default:
+                    return true;
+            }
+        }
+
+        private static boolean isInteger(String value) {
+            int start = value.startsWith("-") || value.startsWith("+") ? 1 : 0;
+            if (start == value.length()) {
+                return false;
+            }
+            for (int i = start; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 查询/请求头/路径/Cookie参数规则
+     */
+    private static final class ParamRule {
+        private final String location;
+        private final String name;
+        private final String label;
+        private final ValueType type;
+        private final ValueType elementType;
+        private final Pattern pattern;
+        private final boolean required;
+
+        ParamRule(String location, String name, String paramType, Pattern pattern, boolean required) {
+            this.location = location;
+            this.name = name;
+            this.label = location + "." + name;
+            this.type = ValueType.of(paramType);
+            this.elementType = ValueType.elementOf(paramType);
+            this.pattern = pattern;
+            this.required = required;
+        }
+
+        String valueOf(RequestValues values) {
+            switch (location) {
+                case "query":
+                    return values.query(name);
+                case "header":
+                    return values.header(name);
+                case "path":
+                    return values.path(name);
+                default:
+                    return values.cookie(name);
+            }
+        }
+
+        void check(String value, List<String> errors) {
+            if (type == ValueType.ARRAY) {
+                // 数组参数按逗号分隔逐个检查元素
+                int start = 0;
+                while (start <= value.length()) {
+                    int end = value.indexOf(',', start);
+                    if (end < 0) {
+                        end = value.length();
+                    }
+                    if (!checkScalar(value.substring(start, end), elementType, errors)) {
+                        return;
+                    }
+                    start = end + 1;
+                }
+            } else {
+                checkScalar(value, type, errors);
+            }
+        }
+
+        private boolean checkScalar(String value, ValueType valueType, List<String> errors) {
+            if (!valueType.acceptsText(value)) {
+                errors.add("参数类型错误: " + label + " 应为" + valueType.name());
+                return false;
+            }
+            if (pattern != null && !pattern.matcher(value).find()) {
+                errors.add("参数格式错误: " + label + " 不匹配 " + pattern.pattern());
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 请求体字段规则
+     */
+    private static final class BodyRule {
+        private final String label;
+        private final ValueType type;
+        private final ValueType elementType;
+        private final Pattern pattern;
+
+        BodyRule(String path, ValueType type, ValueType elementType, Pattern pattern) {
+            this.label = path.isEmpty() ? "body" : "body." + path;
+            this.type = type;
+            this.elementType = elementType;
+            this.pattern = pattern;
+        }
+
+        void check(JsonNode node, List<String> errors) {
+            if (!type.acceptsJson(node)) {
+                errors.add("参数类型错误: " + label + " 应为" + type.name());
+                return;
+            }
+            if (pattern != null && node.isTextual() && !pattern.matcher(node.textValue()).find()) {
+                errors.add("参数格式错误: " + label + " 不匹配 " + pattern.pattern());
+            }
+            if (type == ValueType.ARRAY && elementType != ValueType.ANY && elementType != ValueType.OBJECT) {
+                for (JsonNode element : node) {
+                    if (!elementType.acceptsJson(element)) {
+                        errors.add("参数类型错误: " + label + " 的元素应为" + elementType.name());
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 请求体中的一个对象：已知字段、字段层级路径和必填字段位图
+     */
+    private static final class ObjectRule {
+        private final Map<String, Integer> fieldIndex;
+        private final String[] fieldNames;
+        private final String[] fieldPaths;
+        private final BitSet required;
+
+        ObjectRule(Map<String, Integer> fieldIndex, String[] fieldNames, String[] fieldPaths, BitSet required) {
+            this.fieldIndex = fieldIndex;
+            this.fieldNames = fieldNames;
+            this.fieldPaths = fieldPaths;
+            this.required = required;
+        }
+    }
+
+    /**
+     * 单个Content-Type的请求体校验计划
+     */
+    private static final class BodyPlan {
+        private final Map<String, BodyRule> rules;
+        private final Map<String, ObjectRule> objects;
+
+        BodyPlan(Map<String, BodyRule> rules, Map<String, ObjectRule> objects) {
+            this.rules = rules;
+            this.objects = objects;
+        }
+
+        void validate(byte[] body, List<String> errors) {
+            JsonNode root;
+            try {
+                root = objectMapper.readTree(body);
+            } catch (IOException e) {
+                errors.add("请求体不是合法的JSON");
+                return;
+            }
+            walk(root, "", errors);
+        }
+
+        private void walk(JsonNode node, String path, List<String> errors) {
+            if (errors.size() >= MAX_ERRORS) {
+                return;
+            }
+            BodyRule rule = rules.get(path);
+            if (rule != null) {
+                rule.check(node, errors);
+            }
+            if (node.isObject()) {
+                ObjectRule object = objects.get(path);
+                if (object == null) {
+                    return;
+                }
+                BitSet present = new BitSet(object.fieldNames.length);
+                for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                    Map.Entry<String, JsonNode> field = it.next();
+                    Integer index = object.fieldIndex.get(field.getKey());
+                    if (index != null) {
+                        present.set(index);
+                        walk(field.getValue(), object.fieldPaths[index], errors);
+                    }
+                }
+                if (!object.required.isEmpty()) {
+                    BitSet missing = (BitSet) object.required.clone();
+                    missing.andNot(present);
+                    for (int i = missing.nextSetBit(0); i >= 0 && errors.size() < MAX_ERRORS; i = missing.nextSetBit(i + 1)) {
+                        errors.add("缺少必填参数: body." + object.fieldPaths[i]);
+                    }
+                }
+            } else if (node.isArray()) {
+                String elementPath = path.isEmpty() ? "items" : path + "[0]";
+                if (rules.containsKey(elementPath) || objects.containsKey(elementPath)) {
+                    for (JsonNode element : node) {
+                        walk(element, elementPath, errors);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 请求体校验计划构建器
+     */
+    private static final class BodyPlanBuilder {
+        private final Map<String, BodyRule> rules = new HashMap<>();
+        private final Map<String, List<String>> fieldsByObject = new LinkedHashMap<>();
+        private final Map<String, Boolean> requiredByPath = new HashMap<>();
+
+        void add(RequestParam param) {
+            String path = param.getHierarchyPath() != null ? param.getHierarchyPath() : "";
+            if (rules.containsKey(path)) {
+                return;
+            }
+            rules.put(path, new BodyRule(path, ValueType.of(param.getParamType()),
+                ValueType.elementOf(param.getParamType()), compilePattern(param.getPattern())));
+            // 对象字段（数组元素路径以]结尾，不是字段）
+            if (!path.isEmpty() && !path.endsWith("]")) {
+                int dot = path.lastIndexOf('.');
+                String objectPath = dot < 0 ? "" : path.substring(0, dot);
+                fieldsByObject.computeIfAbsent(objectPath, key -> new ArrayList<>()).add(path);
+                requiredByPath.put(path, Boolean.TRUE.equals(param.getRequired()));
+            }
+        }
+
+        BodyPlan build() {
+            Map<String, ObjectRule> objects = new HashMap<>();
+            fieldsByObject.forEach((objectPath, fieldPaths) -> {
+                Map<String, Integer> fieldIndex = new HashMap<>();
+                String[] names = new String[fieldPaths.size()];
+                BitSet required = new BitSet(fieldPaths.size());
+                for (int i = 0; i < fieldPaths.size(); i++) {
+                    String fieldPath = fieldPaths.get(i);
+                    names[i] = fieldPath.substring(objectPath.isEmpty() ? 0 : objectPath.length() + 1);
+                    fieldIndex.put(names[i], i);
+                    if (requiredByPath.get(fieldPath)) {
+                        required.set(i);
+                    }
+                }
+                objects.put(objectPath, new ObjectRule(fieldIndex, names, fieldPaths.toArray(new String[0]), required));
+            });
+            return new BodyPlan(rules, objects);
+        }
+    }
+}
@@ -41,13 +41,25 @@ public class Swagger2JsonExampleGenerator {
      * @return JSON字符串
      */
     public static String generateJsonExample(Property property, Swagger swagger) {
+        return generateJsonExample(property, swagger, null);
+    }
+
+    /**
+     * 根据Property生成完整的JSON示例（支持$ref引用，复用文档内已生成的Model示例）
+     * 
+     * @param property Property对象
+     * @param swagger Swagger对象（用于解析$ref引用）
+     * @param cache Model示例缓存，为null时不缓存
+     * @return JSON字符串
+     */
+    public static String generateJsonExample(Property property, Swagger swagger, ExampleCache cache) {
         if (property == null) {
             log.warn("Property为null，无法生成JSON示例");
             return null;
         }
 
         try {
-            Object example = generateExampleObject(property, 0, swagger);
+            Object example = generateExampleObject(property, 0, new Generation(swagger, cache));
             if (example == null) {
                 log.warn("生成的示例对象为null");
                 return null;
@@ -66,14 +78,16 @@ public class Swagger2JsonExampleGenerator {
      * 
      * @param property Property对象
      * @param depth 当前递归深度
-     * @param swagger Swagger对象（用于解析$ref引用）
+     * @param gen 本次生成的状态（Swagger对象、示例缓存等）
      * @return 示例对象
      */
-    private static Object generateExampleObject(Property property, int depth, Swagger swagger) {
+    private static Object generateExampleObject(Property property, int depth, Generation gen) {
         if (depth > MAX_DEPTH) {
             log.warn("达到最大递归深度: {}", MAX_DEPTH);
+            gen.truncated = true;
             return null; // 防止无限递归
         }
+        gen.deepest = Math.max(gen.deepest, depth);
 
         if (property == null) {
             log.warn("Property为null");
@@ -87,12 +101,12 @@ public class Swagger2JsonExampleGenerator {
             log.debug("发现$ref引用: {}", ref);
             
             // 解析$ref引用，格式如: ATMDefinitionMeta
-            if (swagger != null && swagger.getDefinitions() != null) {
-                Model model = swagger.getDefinitions().get(ref);
+            if (gen.swagger != null && gen.swagger.getDefinitions() != null) {
+                Model model = gen.swagger.getDefinitions().get(ref);
                 if (model != null) {
                     log.debug("解析$ref引用成功，Model名称: {}", ref);
-                    // 将Model转换为Property来递归处理
-                    return generateExampleFromModel(model, depth, swagger);
+                    // 将Model转换为Property来递归处理（同一文档内复用已生成的Model示例）
+                    return generateRefExample(ref, model, depth, gen);
                 } else {
                     log.warn("无法找到$ref引用的Model: {}", ref);
                 }
@@ -105,9 +119,9 @@ public class Swagger2JsonExampleGenerator {
 
         // 根据Property类型生成示例
         if (property instanceof ObjectProperty) {
-            return generateObjectExample((ObjectProperty) property, depth, swagger);
+            return generateObjectExample((ObjectProperty) property, depth, gen);
         } else if (property instanceof ArrayProperty) {
-            return generateArrayExample((ArrayProperty) property, depth, swagger);
+            return generateArrayExample((ArrayProperty) property, depth, gen);
         } else if (property instanceof StringProperty) {
             return generateStringExample((StringProperty) property);
         } else if (property instanceof IntegerProperty) {
@@ -154,12 +168,12 @@ public class Swagger2JsonExampleGenerator {
                     return true;
                 case "array":
                     if (property instanceof ArrayProperty) {
-                        return generateArrayExample((ArrayProperty) property, depth, swagger);
+                        return generateArrayExample((ArrayProperty) property, depth, gen);
                     }
                     return Collections.emptyList();
                 case "object":
                     if (property instanceof ObjectProperty) {
-                        return generateObjectExample((ObjectProperty) property, depth, swagger);
+                        return generateObjectExample((ObjectProperty) property, depth, gen);
                     }
                     return Collections.emptyMap();
                 default:
@@ -180,13 +194,25 @@ public class Swagger2JsonExampleGenerator {
      * @return JSON字符串
      */
     public static String generateJsonExampleFromModel(Model model, Swagger swagger) {
+        return generateJsonExampleFromModel(model, swagger, null);
+    }
+
+    /**
+     * 根据Model生成完整的JSON示例（复用文档内已生成的Model示例）
+     * 
+     * @param model Model对象
+     * @param swagger Swagger对象（用于解析$ref引用）
+     * @param cache Model示例缓存，为null时不缓存
+     * @return JSON字符串
+     */
+    public static String generateJsonExampleFromModel(Model model, Swagger swagger, ExampleCache cache) {
         if (model == null) {
             log.warn("Model为null，无法生成JSON示例");
             return null;
         }
 
         try {
-            Object example = generateExampleFromModel(model, 0, swagger);
+            Object example = generateExampleFromModel(model, 0, new Generation(swagger, cache));
             if (example == null) {
                 log.warn("生成的示例对象为null");
                 return null;
@@ -203,7 +229,7 @@ public class Swagger2JsonExampleGenerator {
     /**
      * 从Model生成示例对象
      */
-    private static Object generateExampleFromModel(Model model, int depth, Swagger swagger) {
+    private static Object generateExampleFromModel(Model model, int depth, Generation gen) {
         // 处理RefModel（$ref引用）
         if (model instanceof RefModel) {
             RefModel refModel = (RefModel) model;
@@ -211,12 +237,12 @@ public class Swagger2JsonExampleGenerator {
             log.debug("发现RefModel引用: {}", ref);
             
             // 解析$ref引用
-            if (swagger != null && swagger.getDefinitions() != null) {
-                Model refModelDef = swagger.getDefinitions().get(ref);
+            if (gen.swagger != null && gen.swagger.getDefinitions() != null) {
+                Model refModelDef = gen.swagger.getDefinitions().get(ref);
                 if (refModelDef != null) {
                     log.debug("解析RefModel引用成功，Model名称: {}", ref);
-                    // 递归处理引用的Model
-                    return generateExampleFromModel(refModelDef, depth, swagger);
+                    // 递归处理引用的Model（同一文档内复用已生成的Model示例）
+                    return generateRefExample(ref, refModelDef, depth, gen);
                 } else {
                     log.warn("无法找到RefModel引用的Model: {}", ref);
                 }
@@ -233,7 +259,7 @@ public class Swagger2JsonExampleGenerator {
                 for (Map.Entry<String, Property> entry : properties.entrySet()) {
                     String propertyName = entry.getKey();
                     Property property = entry.getValue();
-                    Object value = generateExampleObject(property, depth + 1, swagger);
+                    Object value = generateExampleObject(property, depth + 1, gen);
                     if (value != null) {
                         example.put(propertyName, value);
                     }
@@ -244,10 +270,37 @@ public class Swagger2JsonExampleGenerator {
         return Collections.emptyMap();
     }
 
+    /**
+     * 生成引用Model的示例，优先使用缓存
+     * 只缓存未被深度截断的示例，且仅在当前位置剩余深度足以容纳时复用，保证与逐次生成的结构一致
+     */
+    private static Object generateRefExample(String ref, Model model, int depth, Generation gen) {
+        if (gen.cache == null) {
+            return generateExampleFromModel(model, depth, gen);
+        }
+        ExampleCache.Entry entry = gen.cache.get(ref, MAX_DEPTH - depth);
+        if (entry != null) {
+            gen.deepest = Math.max(gen.deepest, depth + entry.getHeight());
+            return entry.getExample();
+        }
+
+        int outerDeepest = gen.deepest;
+        boolean outerTruncated = gen.truncated;
+        gen.deepest = depth;
+        gen.truncated = false;
+        Object example = generateExampleFromModel(model, depth, gen);
+        if (example != null && !gen.truncated) {
+            example = gen.cache.put(ref, example, gen.deepest - depth);
+        }
+        gen.deepest = Math.max(outerDeepest, gen.deepest);
+        gen.truncated |= outerTruncated;
+        return example;
+    }
+
     /**
      * 生成对象示例
      */
-    private static Map<String, Object> generateObjectExample(ObjectProperty objectProperty, int depth, Swagger swagger) {
+    private static Map<String, Object> generateObjectExample(ObjectProperty objectProperty, int depth, Generation gen) {
         Map<String, Object> example = new LinkedHashMap<>();
         
         Map<String, Property> properties = objectProperty.getProperties();
@@ -259,7 +312,7 @@ public class Swagger2JsonExampleGenerator {
             String propertyName = entry.getKey();
             Property property = entry.getValue();
             
-            Object value = generateExampleObject(property, depth + 1, swagger);
+            Object value = generateExampleObject(property, depth + 1, gen);
             if (value != null) {
                 example.put(propertyName, value);
             }
@@ -271,12 +324,12 @@ public class Swagger2JsonExampleGenerator {
     /**
      * 生成数组示例
      */
-    private static List<Object> generateArrayExample(ArrayProperty arrayProperty, int depth, Swagger swagger) {
+    private static List<Object> generateArrayExample(ArrayProperty arrayProperty, int depth, Generation gen) {
         List<Object> example = new ArrayList<>();
         
         Property items = arrayProperty.getItems();
         if (items != null) {
-            Object itemExample = generateExampleObject(items, depth + 1, swagger);
+            Object itemExample = generateExampleObject(items, depth + 1, gen);
             if (itemExample != null) {
                 // 添加一个元素作为示例
                 example.add(itemExample);
@@ -410,5 +463,21 @@ public class Swagger2JsonExampleGenerator {
     private static Boolean generateBooleanExample(BooleanProperty booleanProperty) {
         return true;
     }
-}
 
+    /**
+     * 单次示例生成的状态
+     */
+    private static class Generation {
+        private final Swagger swagger;
+        private final ExampleCache cache;
+        /** 已到达的最大递归深度 */
+        private int deepest;
+        /** 是否发生了深度截断 */
+        private boolean truncated;
+
+        Generation(Swagger swagger, ExampleCache cache) {
+            this.swagger = swagger;
+            this.cache = cache;
+        }
+    }
+}
@@ -15,10 +15,13 @@ CREATE TABLE IF NOT EXISTS swagger_info (
     description TEXT COMMENT 'Swagger文档描述',
     swagger_version VARCHAR(10) COMMENT 'Swagger文档版本（v2/v3）',
     content LONGTEXT COMMENT '文档原始内容（可选，用于备份）',
+    content_hash CHAR(64) COMMENT '文档原始内容摘要（SHA-256）',
     source VARCHAR(50) COMMENT '文档来源（file/url/content）',
     source_url VARCHAR(500) COMMENT '文档来源URL（如果通过URL导入）',
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE' COMMENT '文档状态（PENDING导入中/ACTIVE已生效/FAILED导入失败）',
     create_time DATETIME NOT NULL COMMENT '创建时间',
-    update_time DATETIME COMMENT '更新时间'
+    update_time DATETIME COMMENT '更新时间',
+    INDEX idx_content_hash (content_hash)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Swagger文档信息表';
 
 -- 服务器信息表
@@ -41,10 +44,12 @@ CREATE TABLE IF NOT EXISTS api_info (
     description TEXT COMMENT '接口描述',
     tags VARCHAR(200) COMMENT '接口标签/分组',
     operation_id VARCHAR(200) COMMENT '操作ID（OpenAPI中的operationId）',
+    content_hash CHAR(64) COMMENT '接口内容摘要（SHA-256）',
     create_time DATETIME NOT NULL COMMENT '创建时间',
     update_time DATETIME COMMENT '更新时间',
     INDEX idx_path_method (path, method),
     INDEX idx_swagger_id (swagger_id),
+    INDEX idx_create_time_id (create_time, id),
     FOREIGN KEY (swagger_id) REFERENCES swagger_info(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='接口基础信息表';
 
@@ -60,6 +65,8 @@ CREATE TABLE IF NOT EXISTS request_param (
     pattern VARCHAR(5000) COMMENT '正则表达式',
     pattern_example VARCHAR(500) COMMENT '正则示例值（根据正则自动生成）',
     example LONGTEXT COMMENT '示例值（对于body类型，保存完整的JSON示例；对于其他类型，保存单个字段的示例值）',
+    example_provided BOOLEAN DEFAULT FALSE COMMENT '示例值是否由文档提供（否则为生成）',
+    schema_digest VARCHAR(64) COMMENT '结构摘要（body Schema及其引用的组件Schema的SHA-256）',
     full_json_example LONGTEXT COMMENT '完整JSON示例（用于body类型，包含所有嵌套对象的完整JSON，与example字段内容相同）',
     description TEXT COMMENT '参数描述',
     hierarchy_path VARCHAR(500) COMMENT '层级路径（用于扁平化，如：user.name、items[0].id）',
@@ -80,6 +87,8 @@ CREATE TABLE IF NOT EXISTS response_param (
     param_type VARCHAR(50) NOT NULL COMMENT '数据类型（String/Number/Boolean/Array/Object等）',
     pattern VARCHAR(1000) COMMENT '正则表达式',
     example VARCHAR(5000) COMMENT '示例值',
+    example_provided BOOLEAN DEFAULT FALSE COMMENT '示例值是否由文档提供（否则为生成）',
+    schema_digest VARCHAR(64) COMMENT '结构摘要（body Schema及其引用的组件Schema的SHA-256）',
     description TEXT COMMENT '参数描述',
     hierarchy_path VARCHAR(500) COMMENT '层级路径（用于扁平化，如：data.user.name、items[0].id）',
     parent_id BIGINT COMMENT '父参数ID（用于构建层级关系）',
@@ -89,3 +98,49 @@ CREATE TABLE IF NOT EXISTS response_param (
     FOREIGN KEY (api_id) REFERENCES api_info(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='响应参数表';
 
+-- 接口详情响应表（导入时预生成的详情响应JSON，gzip压缩）
+CREATE TABLE IF NOT EXISTS api_detail_payload (
+    api_id BIGINT PRIMARY KEY COMMENT '接口ID',
+    etag VARCHAR(64) NOT NULL COMMENT '响应内容摘要（ETag）',
+    content_length INT NOT NULL COMMENT '压缩前的字节数',
+    body LONGBLOB NOT NULL COMMENT 'gzip压缩后的响应内容',
+    create_time DATETIME NOT NULL COMMENT '生成时间',
+    FOREIGN KEY (api_id) REFERENCES api_info(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='接口详情响应表';
+
+-- 接口标签表（每个接口的每个标签一行）
+CREATE TABLE IF NOT EXISTS api_tag (
+    api_id BIGINT NOT NULL COMMENT '接口ID',
+    tag_name VARCHAR(200) NOT NULL COMMENT '标签名称',
+    swagger_id BIGINT NOT NULL COMMENT 'Swagger文档ID',
+    PRIMARY KEY (api_id, tag_name),
+    INDEX idx_tag_name_api_id (tag_name, api_id),
+    INDEX idx_swagger_id_tag_name (swagger_id, tag_name),
+    FOREIGN KEY (api_id) REFERENCES api_info(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='接口标签表';
+
+-- 已有数据迁移：将api_info.tags按逗号拆分写入api_tag（启动时标签表为空会自动执行同一语句，见ApiTagBackfill）
+INSERT IGNORE INTO api_tag (api_id, tag_name, swagger_id)
+WITH RECURSIVE split AS (
+    SELECT id, swagger_id, TRIM(SUBSTRING_INDEX(tags, ',', 1)) AS tag_name,
+           IF(LOCATE(',', tags) > 0, SUBSTRING(tags, LOCATE(',', tags) + 1), NULL) AS rest
+    FROM api_info WHERE tags IS NOT NULL AND tags <> ''
+    UNION ALL
+    SELECT id, swagger_id, TRIM(SUBSTRING_INDEX(rest, ',', 1)),
+           IF(LOCATE(',', rest) > 0, SUBSTRING(rest, LOCATE(',', rest) + 1), NULL)
+    FROM split WHERE rest IS NOT NULL
+)
+SELECT id, tag_name, swagger_id FROM split WHERE tag_name <> '';
+
+
+-- 主键号段表（api_info/request_param/response_param/server_info使用TABLE生成策略，每次分配500个ID，便于JDBC批量插入）
+CREATE TABLE IF NOT EXISTS id_generator (
+    gen_name VARCHAR(255) NOT NULL PRIMARY KEY COMMENT '号段名称（表名）',
+    gen_value BIGINT COMMENT '下一个号段的起始值'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='主键号段表';
+
+-- 从已有数据初始化号段，避免与自增主键冲突
+INSERT IGNORE INTO id_generator (gen_name, gen_value) SELECT 'server_info', COALESCE(MAX(id), 0) + 1 FROM server_info;
+INSERT IGNORE INTO id_generator (gen_name, gen_value) SELECT 'api_info', COALESCE(MAX(id), 0) + 1 FROM api_info;
+INSERT IGNORE INTO id_generator (gen_name, gen_value) SELECT 'request_param', COALESCE(MAX(id), 0) + 1 FROM request_param;
+INSERT IGNORE INTO id_generator (gen_name, gen_value) SELECT 'response_param', COALESCE(MAX(id), 0) + 1 FROM response_param;
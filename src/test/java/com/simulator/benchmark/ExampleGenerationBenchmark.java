@@ -0,0 +1,106 @@
+package com.simulator.benchmark;
+
+import com.simulator.util.ExampleCache;
+import com.simulator.util.JsonExampleGenerator;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON示例生成基准测试
+ * 对比逐次生成与按组件缓存示例两种方式生成整个文档所有请求/响应体示例的耗时
+ * 运行方式：mvn test-compile 后执行本类的main方法
+ *
+ * @author simulator
+ * @date 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExampleGenerationBenchmark {
+
+    @Param({"account-info-3.1.11-malta.yaml", "payment-initiation-4.0-HSBCnet.yaml"})
+    private String fileName;
+
+    private OpenAPI openAPI;
+    private List<Schema> bodySchemas;
+
+    @Setup
+    public void setup() throws Exception {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setFlatten(true);
+        String content = Files.readString(Path.of("src/main/resources/" + fileName));
+        openAPI = new OpenAPIV3Parser().readContents(content, null, options).getOpenAPI();
+
+        bodySchemas = new ArrayList<>();
+        for (PathItem pathItem : openAPI.getPaths().values()) {
+            for (Operation operation : pathItem.readOperations()) {
+                if (operation.getRequestBody() != null) {
+                    collectSchemas(operation.getRequestBody().getContent());
+                }
+                if (operation.getResponses() != null) {
+                    for (ApiResponse response : operation.getResponses().values()) {
+                        collectSchemas(response.getContent());
+                    }
+                }
+            }
+        }
+    }
+
+    private void collectSchemas(Content content) {
+        if (content != null) {
+            for (MediaType mediaType : content.values()) {
+                if (mediaType.getSchema() != null) {
+                    bodySchemas.add(mediaType.getSchema());
+                }
+            }
+        }
+    }
+
+    /**
+     * 逐次生成（原有方式）
+     */
+    @Benchmark
+    public void uncached(Blackhole blackhole) {
+        for (Schema schema : bodySchemas) {
+            blackhole.consume(JsonExampleGenerator.generateJsonExample(schema, openAPI));
+        }
+    }
+
+    /**
+     * 单个文档共享一个组件示例缓存
+     */
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        ExampleCache cache = new ExampleCache();
+        for (Schema schema : bodySchemas) {
+            blackhole.consume(JsonExampleGenerator.generateJsonExample(schema, openAPI, cache));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(ExampleGenerationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
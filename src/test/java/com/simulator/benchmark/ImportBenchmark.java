@@ -0,0 +1,113 @@
+package com.simulator.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.simulator.entity.ApiInfo;
+import com.simulator.parser.SwaggerParser;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 文档导入基准测试
+ * 对每个内置文档，先在本地解析计时，再上传到运行中的服务导入（解析+批量写库）计时，
+ * 输出接口数、参数行数、解析耗时、导入耗时及每秒写入的参数行数；导入耗时减去解析耗时约为写库耗时
+ * 每轮导入都会新增一份文档（文件导入不按标题匹配已有文档），首轮作为预热不计入结果
+ * 运行方式：启动服务（需要MySQL）后，mvn test-compile 后执行本类的main方法，参数为服务地址，
+ * 默认 http://localhost:8080/api；轮数和本地解析线程数通过 -Drounds=4 -Dparallelism=0 指定
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class ImportBenchmark {
+
+    private static final List<String> SPECS = List.of("account-info-3.1.11-malta.yaml",
+        "payment-initiation-4.0-HSBCnet.yaml", "AMH_Business_Accounts_Swagger (3).yaml",
+        "open-atm-locator-swagger.json", "swagger2.yaml");
+
+    private static final String BOUNDARY = "----ImportBenchmarkBoundary";
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080/api";
+        int rounds = Math.max(2, Integer.getInteger("rounds", 4));
+        SwaggerParser parser = new SwaggerParser();
+        ReflectionTestUtils.setField(parser, "parallelism", Integer.getInteger("parallelism", 0));
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        ObjectMapper mapper = new ObjectMapper();
+
+        try {
+            System.out.printf("%-42s %6s %8s %10s %10s %12s%n", "文档", "接口数", "参数行数", "解析(ms)", "导入(ms)", "行/秒");
+            for (String fileName : SPECS) {
+                Path file = Path.of("src/main/resources/" + fileName);
+                String contentType = fileName.endsWith(".json") ? "json" : "yaml";
+                byte[] upload = multipartBody(fileName, Files.readAllBytes(file));
+
+                int apis = 0;
+                long rows = 0;
+                long parseNanos = 0;
+                long importNanos = 0;
+                for (int round = 0; round < rounds; round++) {
+                    long start = System.nanoTime();
+                    List<ApiInfo> apiInfos = parser.parse(file, contentType).getApiInfos();
+                    long parsed = System.nanoTime();
+                    importFile(client, mapper, baseUrl, upload, fileName);
+                    long imported = System.nanoTime();
+                    if (round == 0) {
+                        // 预热轮，只统计规模
+                        apis = apiInfos.size();
+                        rows = apiInfos.stream()
+                            .mapToLong(api -> api.getRequestParams().size() + api.getResponseParams().size())
+                            .sum();
+                        continue;
+                    }
+                    parseNanos += parsed - start;
+                    importNanos += imported - parsed;
+                }
+                double parseMillis = parseNanos / 1e6 / (rounds - 1);
+                double importMillis = importNanos / 1e6 / (rounds - 1);
+                System.out.printf("%-42s %6d %8d %10.1f %10.1f %12.0f%n", fileName, apis, rows,
+                    parseMillis, importMillis, rows / (importMillis / 1000));
+            }
+        } finally {
+            parser.shutdown();
+        }
+    }
+
+    /**
+     * 上传文件导入，失败时抛出异常
+     */
+    private static void importFile(HttpClient client, ObjectMapper mapper, String baseUrl, byte[] upload,
+                                   String fileName) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/swagger/import/file"))
+            .timeout(Duration.ofMinutes(5))
+            .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(upload))
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        JsonNode body = response.statusCode() == 200 ? mapper.readTree(response.body()) : null;
+        if (body == null || body.path("code").asInt() != 200) {
+            throw new IllegalStateException(fileName + " 导入失败: " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    private static byte[] multipartBody(String fileName, byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length + 256);
+        out.writeBytes(("--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+            + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        out.writeBytes(content);
+        out.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,101 @@
+package com.simulator.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 模拟服务压测工具
+ * 多个线程在指定时长内循环请求给定的模拟地址，输出吞吐量、错误数和延迟分位数
+ * 运行方式：启动服务并导入文档后，mvn test-compile 后执行本类的main方法，参数为一个或多个模拟地址，
+ * 如 http://localhost:8080/api/mock/1/accounts/123；线程数和时长通过 -Dthreads=32 -Dseconds=30 指定
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class MockLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("用法: MockLoadTest <模拟地址>...");
+            return;
+        }
+        int threads = Integer.getInteger("threads", 32);
+        int seconds = Integer.getInteger("seconds", 30);
+        int warmupSeconds = Integer.getInteger("warmupSeconds", 5);
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        HttpRequest[] requests = Arrays.stream(args)
+            .map(url -> HttpRequest.newBuilder(URI.create(url)).GET().build())
+            .toArray(HttpRequest[]::new);
+
+        long warmupEnd = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+        long end = warmupEnd + seconds * 1_000_000_000L;
+        AtomicLong errors = new AtomicLong();
+        long[][] latencies = new long[threads][];
+        int[] counts = new int[threads];
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            new Thread(() -> {
+                long[] samples = new long[1 << 16];
+                int count = 0;
+                int next = thread;
+                try {
+                    for (long now = System.nanoTime(); now < end; ) {
+                        HttpRequest request = requests[next++ % requests.length];
+                        boolean failed;
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            failed = status >= 500 || status == 404;
+                        } catch (Exception e) {
+                            failed = true;
+                        }
+                        long finished = System.nanoTime();
+                        if (now >= warmupEnd) {
+                            if (failed) {
+                                errors.incrementAndGet();
+                            }
+                            if (count == samples.length) {
+                                samples = Arrays.copyOf(samples, count * 2);
+                            }
+                            samples[count++] = finished - now;
+                        }
+                        now = finished;
+                    }
+                } finally {
+                    latencies[thread] = samples;
+                    counts[thread] = count;
+                    done.countDown();
+                }
+            }, "mock-load-" + t).start();
+        }
+        done.await();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(latencies[t], 0, all, offset, counts[t]);
+            offset += counts[t];
+        }
+        Arrays.sort(all);
+        System.out.printf("线程数: %d，时长: %ds，请求数: %d，错误数: %d，吞吐量: %.0f req/s%n",
+            threads, seconds, total, errors.get(), total / (double) seconds);
+        if (total > 0) {
+            System.out.printf("延迟 p50: %.2fms，p99: %.2fms，p99.9: %.2fms，max: %.2fms%n",
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999), all[total - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))] / 1e6;
+    }
+}
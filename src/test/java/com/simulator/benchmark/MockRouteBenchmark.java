@@ -0,0 +1,89 @@
+package com.simulator.benchmark;
+
+import com.simulator.entity.ApiInfo;
+import com.simulator.parser.SwaggerParser;
+import com.simulator.service.MockRouteTable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 模拟路由匹配基准测试
+ * 按文档中全部接口的实际请求路径（路径变量替换为具体值）轮流匹配，测量单线程和多线程下的吞吐量
+ * 运行方式：mvn test-compile 后执行本类的main方法
+ *
+ * @author simulator
+ * @date 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockRouteBenchmark {
+
+    @Param({"account-info-3.1.11-malta.yaml", "payment-initiation-4.0-HSBCnet.yaml"})
+    private String fileName;
+
+    private MockRouteTable table;
+    private String[] methods;
+    private String[] paths;
+
+    @Setup
+    public void setup() throws Exception {
+        SwaggerParser parser = new SwaggerParser();
+        ReflectionTestUtils.setField(parser, "parallelism", 1);
+        String content = Files.readString(Path.of("src/main/resources/" + fileName));
+        List<ApiInfo> apiInfos = parser.parse(content, "yaml").getApiInfos();
+
+        table = new MockRouteTable(null, null, null, null);
+        table.replaceSwagger(1L, apiInfos);
+        methods = new String[apiInfos.size()];
+        paths = new String[apiInfos.size()];
+        for (int i = 0; i < apiInfos.size(); i++) {
+            methods[i] = apiInfos.get(i).getMethod();
+            paths[i] = apiInfos.get(i).getPath().replaceAll("\\{[^}/]+}", "123");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    private Object matchNext(Cursor cursor) {
+        int i = cursor.next;
+        cursor.next = i + 1 == paths.length ? 0 : i + 1;
+        return table.match(1L, methods[i], paths[i], null);
+    }
+
+    /**
+     * 单线程匹配
+     */
+    @Benchmark
+    public Object match(Cursor cursor) {
+        return matchNext(cursor);
+    }
+
+    /**
+     * 4个线程并发匹配（路由表只读，不加锁）
+     */
+    @Benchmark
+    @Threads(4)
+    public Object matchConcurrent(Cursor cursor) {
+        return matchNext(cursor);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(MockRouteBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,69 @@
+package com.simulator.benchmark;
+
+import com.simulator.util.PathTemplateRouter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 路径模板路由基准测试
+ * 生成不同规模的路由（资源/{id}/子资源/{id} 形式），验证匹配耗时不随路由数量增长
+ * 运行方式：mvn test-compile 后执行本类的main方法
+ *
+ * @author simulator
+ * @date 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathTemplateRouterBenchmark {
+
+    private static final int PATHS = 1024;
+
+    @Param({"100", "10000"})
+    private int routeCount;
+
+    private PathTemplateRouter<Integer> router;
+    private String[] paths;
+
+    @Setup
+    public void setup() {
+        router = new PathTemplateRouter<>();
+        for (int i = 0; i < routeCount; i++) {
+            router.add("GET", "/resource" + (i / 10) + "/{Id}/child" + (i % 10) + "/{ChildId}", i);
+        }
+        Random random = new Random(42);
+        paths = new String[PATHS];
+        for (int i = 0; i < PATHS; i++) {
+            int route = random.nextInt(routeCount);
+            paths[i] = "/resource" + (route / 10) + "/" + random.nextInt(100000) + "/child" + (route % 10) + "/abc";
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final PathTemplateRouter.PathVariables variables = new PathTemplateRouter.PathVariables();
+        private int next;
+    }
+
+    /**
+     * 匹配并复用路径变量对象
+     */
+    @Benchmark
+    public Integer match(Cursor cursor) {
+        String path = paths[cursor.next++ & (PATHS - 1)];
+        return router.match("GET", path, cursor.variables);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(PathTemplateRouterBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,172 @@
+package com.simulator.benchmark;
+
+import cn.hutool.core.util.RandomUtil;
+import com.simulator.entity.ApiInfo;
+import com.simulator.entity.RequestParam;
+import com.simulator.entity.ResponseParam;
+import com.simulator.parser.SwaggerParser;
+import com.simulator.util.RegexExampleGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 正则示例值生成基准测试
+ * 收集内置Open Banking文档中所有带正则的字段（按字段计，不去重），对比每次编译正则的原实现
+ * 与现实现（预编译常量、编译缓存、按正则自动机生成并校验）生成全部字段示例值的耗时，
+ * 准备阶段另输出两种实现生成的示例值与正则匹配的字段数
+ * 运行方式：mvn test-compile 后执行本类的main方法
+ *
+ * @author simulator
+ * @date 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegexExampleBenchmark {
+
+    private static final List<String> SPECS = List.of("account-info-3.1.11-malta.yaml",
+        "payment-initiation-4.0-HSBCnet.yaml", "AMH_Business_Accounts_Swagger (3).yaml", "open-atm-locator-swagger.json");
+
+    private String[] patterns;
+
+    @Setup
+    public void setup() throws Exception {
+        SwaggerParser parser = new SwaggerParser();
+        ReflectionTestUtils.setField(parser, "parallelism", 1);
+        List<String> collected = new ArrayList<>();
+        for (String fileName : SPECS) {
+            String content = Files.readString(Path.of("src/main/resources/" + fileName));
+            for (ApiInfo apiInfo : parser.parse(content, fileName.endsWith(".json") ? "json" : "yaml").getApiInfos()) {
+                for (RequestParam param : apiInfo.getRequestParams()) {
+                    if (param.getPattern() != null) {
+                        collected.add(param.getPattern());
+                    }
+                }
+                for (ResponseParam param : apiInfo.getResponseParams()) {
+                    if (param.getPattern() != null) {
+                        collected.add(param.getPattern());
+                    }
+                }
+            }
+        }
+        patterns = collected.toArray(new String[0]);
+        System.out.printf("%n共%d个带正则的字段，%d个不同的正则%n", patterns.length,
+            collected.stream().distinct().count());
+        int legacyMatched = 0;
+        int matched = 0;
+        for (String pattern : patterns) {
+            Pattern compiled = Pattern.compile(pattern);
+            String legacy = LegacyRegexExampleGenerator.generateExample(pattern);
+            String current = RegexExampleGenerator.generateExample(pattern);
+            legacyMatched += legacy != null && compiled.matcher(legacy).matches() ? 1 : 0;
+            matched += current != null && compiled.matcher(current).matches() ? 1 : 0;
+        }
+        System.out.printf("示例值与正则匹配的字段数：原实现%d，现实现%d%n", legacyMatched, matched);
+    }
+
+    /**
+     * 原实现：每个字段编译一次正则，常见模式识别每次重新编译
+     */
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (String pattern : patterns) {
+            blackhole.consume(LegacyRegexExampleGenerator.generateExample(pattern));
+        }
+    }
+
+    /**
+     * 现实现：识别用正则预编译，字段正则经编译缓存，常见模式不匹配时按自动机生成
+     */
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        for (String pattern : patterns) {
+            blackhole.consume(RegexExampleGenerator.generateExample(pattern));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(RegexExampleBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+
+    /**
+     * 引入编译缓存前的实现（仅用于对比）
+     */
+    static class LegacyRegexExampleGenerator {
+
+        static String generateExample(String pattern) {
+            if (pattern == null || pattern.isBlank()) {
+                return null;
+            }
+            try {
+                String example = handleCommonPatterns(pattern);
+                return example != null ? example : generateByPattern(pattern);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        private static String handleCommonPatterns(String pattern) {
+            if (pattern.matches(".*\\\\d\\{([0-9]+)\\}\\$.*")) {
+                String count = pattern.replaceAll(".*\\\\d\\{([0-9]+)\\}\\$.*", "$1");
+                return RandomUtil.randomNumbers(Integer.parseInt(count));
+            }
+            if (pattern.contains("\\d+")) {
+                return RandomUtil.randomNumbers(4);
+            }
+            if (pattern.matches(".*[a-zA-Z]\\{([0-9]+)\\}\\$.*")) {
+                String count = pattern.replaceAll(".*[a-zA-Z]\\{([0-9]+)\\}\\$.*", "$1");
+                return RandomUtil.randomString("abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ",
+                    Integer.parseInt(count));
+            }
+            if (pattern.contains("email") || pattern.contains("@")) {
+                return "example@test.com";
+            }
+            if (pattern.contains("1[3-9]\\d{9}") || pattern.contains("手机")) {
+                return "13800138000";
+            }
+            if (pattern.contains("uuid") || pattern.contains("UUID")) {
+                return java.util.UUID.randomUUID().toString();
+            }
+            if (pattern.contains("yyyy-MM-dd") || pattern.contains("\\d{4}-\\d{2}-\\d{2}")) {
+                return "2024-01-01";
+            }
+            if (pattern.contains("HH:mm:ss") || pattern.contains("\\d{2}:\\d{2}:\\d{2}")) {
+                return "12:00:00";
+            }
+            return null;
+        }
+
+        private static String generateByPattern(String pattern) {
+            try {
+                Pattern.compile(pattern);
+                if (pattern.matches("^\\^?\\\\d+\\+?\\$?$")) {
+                    return RandomUtil.randomNumbers(6);
+                }
+                if (pattern.matches("^\\^?[a-zA-Z]+\\+?\\$?$")) {
+                    return RandomUtil.randomString("abcdefghijklmnopqrstuvwxyz", 6);
+                }
+                if (pattern.contains("[a-zA-Z0-9]")) {
+                    return RandomUtil.randomString("abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789", 8);
+                }
+                return RandomUtil.randomString(8);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+}
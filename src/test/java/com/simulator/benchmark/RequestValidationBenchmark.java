@@ -0,0 +1,116 @@
+package com.simulator.benchmark;
+
+import com.simulator.entity.ApiInfo;
+import com.simulator.entity.RequestParam;
+import com.simulator.parser.SwaggerParser;
+import com.simulator.util.RequestValidationPlan;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求校验基准测试
+ * 取文档中请求参数最多的接口，以解析得到的示例值构造请求，测量编译校验计划和单次校验的耗时（微秒）
+ * 运行方式：mvn test-compile 后执行本类的main方法
+ *
+ * @author simulator
+ * @date 2024
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestValidationBenchmark {
+
+    @Param({"account-info-3.1.11-malta.yaml", "payment-initiation-4.0-HSBCnet.yaml"})
+    private String fileName;
+
+    private List<RequestParam> requestParams;
+    private RequestValidationPlan plan;
+    private RequestValidationPlan.RequestValues values;
+    private String contentType;
+    private byte[] body;
+
+    @Setup
+    public void setup() throws Exception {
+        SwaggerParser parser = new SwaggerParser();
+        ReflectionTestUtils.setField(parser, "parallelism", 1);
+        String content = Files.readString(Path.of("src/main/resources/" + fileName));
+        ApiInfo apiInfo = parser.parse(content, "yaml").getApiInfos().stream()
+            .max(Comparator.comparingInt((ApiInfo api) -> api.getRequestParams().size()))
+            .orElseThrow();
+        requestParams = apiInfo.getRequestParams();
+        plan = RequestValidationPlan.compile(requestParams);
+
+        Map<String, String> examples = new HashMap<>();
+        for (RequestParam param : requestParams) {
+            if ("body".equals(param.getLocation())) {
+                if ((param.getHierarchyPath() == null || param.getHierarchyPath().isEmpty()) && body == null
+                        && param.getExample() != null) {
+                    contentType = param.getContentType();
+                    body = param.getExample().getBytes(StandardCharsets.UTF_8);
+                }
+            } else if (param.getExample() != null) {
+                examples.put(param.getLocation() + "." + param.getParamName(), param.getExample());
+            }
+        }
+        values = new RequestValidationPlan.RequestValues() {
+            @Override
+            public String query(String name) {
+                return examples.get("query." + name);
+            }
+
+            @Override
+            public String header(String name) {
+                return examples.get("header." + name);
+            }
+
+            @Override
+            public String path(String name) {
+                return examples.get("path." + name);
+            }
+
+            @Override
+            public String cookie(String name) {
+                return examples.get("cookie." + name);
+            }
+        };
+        System.out.printf("%n%s %s：%d个请求参数，请求体%d字节，示例请求校验错误%d个%n", apiInfo.getMethod(),
+            apiInfo.getPath(), requestParams.size(), body != null ? body.length : 0,
+            plan.validate(values, contentType, body).size());
+    }
+
+    /**
+     * 编译校验计划（导入后每个接口执行一次）
+     */
+    @Benchmark
+    public RequestValidationPlan compile() {
+        return RequestValidationPlan.compile(requestParams);
+    }
+
+    /**
+     * 按已编译的计划校验一次请求（含解析JSON请求体）
+     */
+    @Benchmark
+    public List<String> validate() {
+        return plan.validate(values, contentType, body);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(RequestValidationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
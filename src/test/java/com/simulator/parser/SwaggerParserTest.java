@@ -0,0 +1,294 @@
+package com.simulator.parser;
+
+import com.simulator.entity.ApiInfo;
+import com.simulator.entity.RequestParam;
+import com.simulator.entity.ResponseParam;
+import com.simulator.util.ParamTree;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Swagger解析器测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class SwaggerParserTest {
+
+    private static final String RESOURCE_DIR = "src/main/resources/";
+
+    /**
+     * 请求体和响应体都引用Payment组件，Payment再引用Amount组件
+     */
+    private static final String PAYMENT_SPEC = String.join("\n",
+        "openapi: 3.0.1",
+        "info: {title: refs, version: '1'}",
+        "paths:",
+        "  /payments:",
+        "    post:",
+        "      requestBody:",
+        "        content:",
+        "          application/json:",
+        "            schema: {$ref: '#/components/schemas/Payment'}",
+        "      responses:",
+        "        '201':",
+        "          description: created",
+        "          content:",
+        "            application/json:",
+        "              schema: {$ref: '#/components/schemas/Payment'}",
+        "components:",
+        "  schemas:",
+        "    Payment:",
+        "      type: object",
+        "      properties:",
+        "        note: {type: string}",
+        "        amount: {$ref: '#/components/schemas/Amount'}",
+        "    Amount:",
+        "      type: object",
+        "      properties:",
+        "        value: {type: string, pattern: '^[0-9]+$'}");
+
+    /**
+     * 并行解析与串行解析的结果（接口顺序和扁平化参数）应完全一致
+     */
+    @Test
+    public void testParallelParseMatchesSequential() throws Exception {
+        for (String fileName : List.of("payment-initiation-4.0-HSBCnet.yaml", "swagger2.yaml")) {
+            String content = Files.readString(Path.of(RESOURCE_DIR + fileName));
+
+            SwaggerParser.ParseResult sequential = newParser(1).parse(content, "yaml");
+            SwaggerParser parallelParser = newParser(4);
+            SwaggerParser.ParseResult parallel;
+            try {
+                parallel = parallelParser.parse(content, "yaml");
+            } finally {
+                parallelParser.shutdown();
+            }
+
+            assertFalse(sequential.getApiInfos().isEmpty(), fileName + " 应该解析出接口");
+            assertEquals(describe(sequential.getApiInfos()), describe(parallel.getApiInfos()),
+                fileName + " 并行解析结果应与串行一致");
+        }
+    }
+
+    /**
+     * 同一$ref组件只展开一次，复用模板后的层级路径应替换为实际父路径
+     */
+    @Test
+    public void testRefFlatteningIsMemoized() throws Exception {
+        for (String fileName : List.of("payment-initiation-4.0-HSBCnet.yaml", "swagger2.yaml")) {
+            String content = Files.readString(Path.of(RESOURCE_DIR + fileName));
+            SwaggerParser parser = newParser(1);
+            ReflectionTestUtils.setField(parser, "expandRefs", true);
+            SwaggerParser.ParseResult result = parser.parse(content, "yaml");
+
+            assertTrue(result.getFlattenCacheHits() > 0, fileName + " 重复引用的组件应命中模板缓存");
+            for (ApiInfo api : result.getApiInfos()) {
+                for (RequestParam param : api.getRequestParams()) {
+                    assertFalse(String.valueOf(param.getHierarchyPath()).contains(ParseContext.TEMPLATE_ROOT),
+                        fileName + " 请求参数路径不应残留模板占位符");
+                }
+                for (ResponseParam param : api.getResponseParams()) {
+                    assertFalse(String.valueOf(param.getHierarchyPath()).contains(ParseContext.TEMPLATE_ROOT),
+                        fileName + " 响应参数路径不应残留模板占位符");
+                }
+            }
+
+            // 再次解析应得到相同的结构（缓存仅在单次解析内有效）
+            assertEquals(describe(result.getApiInfos()),
+                describe(parser.parse(content, "yaml").getApiInfos()), fileName + " 重复解析结果应一致");
+        }
+    }
+
+    /**
+     * OpenAPI 3的$ref组件默认不展开，开启expandRefs后展开为子参数
+     */
+    @Test
+    public void testRefExpansionIsOptIn() {
+        assertEquals(List.of("POST /payments [body::body:String:null] [201:body::body:String:null]"),
+            describe(newParser(1).parse(PAYMENT_SPEC, "yaml").getApiInfos()), "默认不展开$ref组件");
+
+        SwaggerParser parser = newParser(1);
+        ReflectionTestUtils.setField(parser, "expandRefs", true);
+        assertEquals(List.of("POST /payments "
+                + "[body::body:String:null, body:note:note:String:null, body:amount:amount:Object:null, "
+                + "body:amount.value:value:String:^[0-9]+$] "
+                + "[201:body::body:String:null, 201:body:note:note:String:null, 201:body:amount:amount:Object:null, "
+                + "201:body:amount.value:value:String:^[0-9]+$]"),
+            describe(parser.parse(PAYMENT_SPEC, "yaml").getApiInfos()), "开启后展开$ref组件为子参数");
+    }
+
+    /**
+     * 从文件流式解析与从字符串解析的结果应一致
+     */
+    @Test
+    public void testParseFileMatchesParseContent() throws Exception {
+        for (String fileName : List.of("payment-initiation-4.0-HSBCnet.yaml", "account-info-3.1.11-malta.yaml",
+                "swagger2.yaml", "open-atm-locator-swagger.json", "AMH_Business_Accounts_Swagger (3).yaml")) {
+            Path file = Path.of(RESOURCE_DIR + fileName);
+            String contentType = fileName.endsWith(".json") ? "json" : "yaml";
+            SwaggerParser parser = newParser(1);
+
+            SwaggerParser.ParseResult fromContent = parser.parse(Files.readString(file), contentType);
+            SwaggerParser.ParseResult fromFile = parser.parse(file, contentType);
+            SwaggerParser.ParseResult detected = parser.parse(file, null);
+
+            assertEquals(fromContent.getSwaggerInfo().getSwaggerVersion(), fromFile.getSwaggerInfo().getSwaggerVersion(),
+                fileName + " 文档版本应一致");
+            assertEquals(fromContent.getSwaggerInfo().getTitle(), fromFile.getSwaggerInfo().getTitle());
+            assertNull(fromFile.getSwaggerInfo().getContent(), fileName + " 文件解析不应保留文档全文");
+            assertEquals(describe(fromContent.getApiInfos()), describe(fromFile.getApiInfos()),
+                fileName + " 文件解析结果应与字符串解析一致");
+            assertEquals(describe(fromFile.getApiInfos()), describe(detected.getApiInfos()),
+                fileName + " 自动识别格式的解析结果应一致");
+        }
+    }
+
+    /**
+     * 同一文档两次解析的接口摘要应一致，不同接口的摘要应不同
+     */
+    @Test
+    public void testOperationDigestsAreStable() throws Exception {
+        for (String fileName : List.of("payment-initiation-4.0-HSBCnet.yaml", "swagger2.yaml")) {
+            String content = Files.readString(Path.of(RESOURCE_DIR + fileName));
+            SwaggerParser parser = newParser(1);
+
+            List<String> first = parser.parse(content, "yaml").getApiInfos().stream()
+                .map(ApiInfo::getContentHash).collect(Collectors.toList());
+            List<String> second = parser.parse(content, "yaml").getApiInfos().stream()
+                .map(ApiInfo::getContentHash).collect(Collectors.toList());
+
+            assertTrue(first.stream().allMatch(hash -> hash != null && hash.length() == 64), fileName + " 每个接口都应有摘要");
+            assertEquals(first, second, fileName + " 重复解析的接口摘要应一致");
+            assertEquals(first.size(), new HashSet<>(first).size(), fileName + " 不同接口的摘要应不同");
+        }
+    }
+
+    /**
+     * 只修改被引用的组件（未展开为子参数）时接口摘要和body参数的结构摘要也应变化，修改未引用的组件时不变
+     */
+    @Test
+    public void testDigestCoversReferencedComponents() {
+        SwaggerParser parser = newParser(1);
+        ApiInfo original = parser.parse(PAYMENT_SPEC, "yaml").getApiInfos().get(0);
+        ApiInfo renamed = parser.parse(PAYMENT_SPEC.replace("        value: {type: string",
+            "        renamedValue: {type: string"), "yaml").getApiInfos().get(0);
+        ApiInfo unrelated = parser.parse(PAYMENT_SPEC + "\n    Unused: {type: object, properties: {id: {type: integer}}}",
+            "yaml").getApiInfos().get(0);
+
+        assertEquals(describe(List.of(original)), describe(List.of(renamed)), "组件未展开时参数行不变");
+        assertNotEquals(original.getContentHash(), renamed.getContentHash(), "间接引用的组件变化时接口应重写");
+        assertNotNull(original.getRequestParams().get(0).getSchemaDigest());
+        assertNotEquals(original.getRequestParams().get(0).getSchemaDigest(),
+            renamed.getRequestParams().get(0).getSchemaDigest());
+        assertNotEquals(original.getResponseParams().get(0).getSchemaDigest(),
+            renamed.getResponseParams().get(0).getSchemaDigest());
+        assertEquals(original.getContentHash(), unrelated.getContentHash(), "未引用的组件变化不影响接口摘要");
+    }
+
+    /**
+     * 嵌套参数关联到同一接口中排在它之前的父参数，父参数的层级路径是其路径前缀
+     */
+    @Test
+    public void testNestedParamsAreLinkedToParents() throws Exception {
+        for (String fileName : List.of("payment-initiation-4.0-HSBCnet.yaml", "swagger2.yaml")) {
+            String content = Files.readString(Path.of(RESOURCE_DIR + fileName));
+            // OpenAPI 3的嵌套参数来自展开的$ref组件
+            SwaggerParser parser = newParser(1);
+            ReflectionTestUtils.setField(parser, "expandRefs", true);
+            int linked = 0;
+            for (ApiInfo apiInfo : parser.parse(content, "yaml").getApiInfos()) {
+                List<RequestParam> params = apiInfo.getRequestParams();
+                for (int i = 0; i < params.size(); i++) {
+                    RequestParam parent = params.get(i).getParent();
+                    if (parent != null) {
+                        linked++;
+                        int index = params.indexOf(parent);
+                        assertTrue(index >= 0 && index < i, fileName + " 父参数应排在子参数之前");
+                        assertTrue(params.get(i).getHierarchyPath().startsWith(parent.getHierarchyPath()),
+                            fileName + " 父参数路径应是子参数路径的前缀");
+                    }
+                }
+            }
+            assertTrue(linked > 0, fileName + " 应有嵌套参数");
+        }
+
+        // 对象类型的查询参数（解析时内联对象会被提取为$ref，这里直接构造对象Schema）：属性排在参数本身之后
+        ObjectSchema range = new ObjectSchema();
+        range.addProperty("from", new IntegerSchema());
+        ObjectSchema filterSchema = new ObjectSchema();
+        filterSchema.addProperty("status", new StringSchema());
+        filterSchema.addProperty("range", range);
+        Parameter filter = new Parameter().name("filter").in("query").schema(filterSchema);
+        ApiInfo apiInfo = new ApiInfo();
+        apiInfo.setRequestParams(ReflectionTestUtils.invokeMethod(newParser(1), "parseParameter", filter, null, ""));
+        ParamTree.link(apiInfo);
+        List<RequestParam> params = apiInfo.getRequestParams();
+        List<String> paths = params.stream().map(RequestParam::getHierarchyPath).collect(Collectors.toList());
+        assertEquals(List.of("filter", "filter.status", "filter.range", "filter.range.from"), paths);
+        for (int i = 1; i < params.size(); i++) {
+            RequestParam parent = params.get(i).getParent();
+            assertNotNull(parent, paths.get(i) + " 应关联父参数");
+            assertTrue(params.indexOf(parent) < i, paths.get(i) + " 父参数应排在子参数之前");
+        }
+        assertEquals("filter.range", params.get(3).getParent().getHierarchyPath());
+    }
+
+    /**
+     * 解析得到的标签列表与逗号拼接的tags字段一致
+     */
+    @Test
+    public void testTagNamesMatchJoinedTags() throws Exception {
+        for (String fileName : List.of("payment-initiation-4.0-HSBCnet.yaml", "swagger2.yaml")) {
+            String content = Files.readString(Path.of(RESOURCE_DIR + fileName));
+            List<ApiInfo> apiInfos = newParser(1).parse(content, "yaml").getApiInfos();
+
+            assertTrue(apiInfos.stream().anyMatch(api -> api.getTagNames() != null), fileName + " 应解析出标签");
+            for (ApiInfo apiInfo : apiInfos) {
+                if (apiInfo.getTagNames() == null) {
+                    assertNull(apiInfo.getTags());
+                } else {
+                    assertEquals(apiInfo.getTags(), String.join(",", apiInfo.getTagNames()));
+                }
+            }
+        }
+    }
+
+    static SwaggerParser newParser(int parallelism) {
+        SwaggerParser parser = new SwaggerParser();
+        ReflectionTestUtils.setField(parser, "parallelism", parallelism);
+        return parser;
+    }
+
+    /**
+     * 描述接口结构（不含随机生成的示例值）
+     */
+    static List<String> describe(List<ApiInfo> apiInfos) {
+        return apiInfos.stream().map(api -> api.getMethod() + " " + api.getPath() + " "
+                + api.getRequestParams().stream().map(SwaggerParserTest::describe).collect(Collectors.toList()) + " "
+                + api.getResponseParams().stream().map(SwaggerParserTest::describe).collect(Collectors.toList()))
+            .collect(Collectors.toList());
+    }
+
+    private static String describe(RequestParam param) {
+        return param.getLocation() + ":" + param.getHierarchyPath() + ":" + param.getParamName()
+            + ":" + param.getParamType() + ":" + param.getPattern();
+    }
+
+    private static String describe(ResponseParam param) {
+        return param.getStatusCode() + ":" + param.getLocation() + ":" + param.getHierarchyPath()
+            + ":" + param.getParamName() + ":" + param.getParamType() + ":" + param.getPattern();
+    }
+}
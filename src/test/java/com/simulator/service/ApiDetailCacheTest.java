@@ -0,0 +1,124 @@
+package com.simulator.service;
+
+import cn.hutool.core.util.ZipUtil;
+import com.simulator.dto.CacheStatsDTO;
+import com.simulator.entity.ApiDetailPayload;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 接口详情缓存测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class ApiDetailCacheTest {
+
+    /**
+     * 命中与未命中计数，失效后重新未命中
+     */
+    @Test
+    public void testHitMissAndInvalidate() {
+        ApiDetailCache cache = newCache(10, 1);
+        assertNull(cache.get(1L));
+        cache.put(1L, payload(1L, 10), cache.generation());
+
+        assertNotNull(cache.get(1L));
+        cache.invalidate(List.of(1L));
+        assertNull(cache.get(1L));
+
+        CacheStatsDTO stats = cache.getStats();
+        assertEquals(1L, stats.getHits());
+        assertEquals(2L, stats.getMisses());
+        assertEquals(1L, stats.getInvalidations());
+        assertEquals(0, stats.getSize());
+        assertEquals(0L, stats.getWeight());
+    }
+
+    /**
+     * 查询期间发生失效时不放入缓存
+     */
+    @Test
+    public void testStaleReadIsNotCached() {
+        ApiDetailCache cache = newCache(10, 1);
+        long generation = cache.generation();
+        cache.invalidate(List.of(2L));
+
+        cache.put(1L, payload(1L, 10), generation);
+        assertNull(cache.get(1L));
+    }
+
+    /**
+     * 超出条目数或估算占用时淘汰最近最少使用的条目
+     */
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        ApiDetailCache cache = newCache(2, 1);
+        cache.put(1L, payload(1L, 10), cache.generation());
+        cache.put(2L, payload(2L, 10), cache.generation());
+        cache.get(1L);
+        cache.put(3L, payload(3L, 10), cache.generation());
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+
+        // 单条约400KB，1MB上限只能容纳两条
+        ApiDetailCache weighted = newCache(100, 1);
+        for (long apiId = 1; apiId <= 3; apiId++) {
+            weighted.put(apiId, payload(apiId, 400_000), weighted.generation());
+        }
+        assertEquals(2, weighted.getStats().getSize());
+        assertNull(weighted.get(1L));
+        assertTrue(weighted.getStats().getWeight() <= 1024 * 1024);
+        assertEquals(1L, weighted.getStats().getEvictions());
+    }
+
+    /**
+     * 解压后的响应随缓存条目保存并计入占用，同一响应只解压一次；未缓存的响应每次解压
+     */
+    @Test
+    public void testPlainBodyIsCachedWithEntry() {
+        ApiDetailCache cache = newCache(10, 1);
+        byte[] json = "{\"code\":200}".getBytes(StandardCharsets.UTF_8);
+        ApiDetailPayload payload = payload(1L, 0);
+        payload.setBody(ZipUtil.gzip(json));
+        cache.put(1L, payload, cache.generation());
+        long weight = cache.getStats().getWeight();
+
+        byte[] first = cache.plainBody(payload);
+        assertArrayEquals(json, first);
+        assertSame(first, cache.plainBody(payload));
+        assertEquals(weight + json.length, cache.getStats().getWeight());
+
+        ApiDetailPayload uncached = payload(2L, 0);
+        uncached.setBody(ZipUtil.gzip(json));
+        assertArrayEquals(json, cache.plainBody(uncached));
+        assertNotSame(cache.plainBody(uncached), cache.plainBody(uncached));
+        assertNull(cache.get(2L));
+
+        cache.invalidate(List.of(1L));
+        assertEquals(0, cache.getStats().getWeight());
+    }
+
+    private static ApiDetailCache newCache(int maxEntries, long maxWeightMb) {
+        ApiDetailCache cache = new ApiDetailCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+        ReflectionTestUtils.setField(cache, "maxWeightMb", maxWeightMb);
+        return cache;
+    }
+
+    private static ApiDetailPayload payload(Long apiId, int bodyLength) {
+        ApiDetailPayload payload = new ApiDetailPayload();
+        payload.setApiId(apiId);
+        payload.setEtag("etag-" + apiId);
+        payload.setContentLength(bodyLength);
+        payload.setBody(new byte[bodyLength]);
+        return payload;
+    }
+}
@@ -0,0 +1,111 @@
+package com.simulator.service;
+
+import com.simulator.dto.ApiInfoDTO;
+import com.simulator.dto.ApiSearchRequest;
+import com.simulator.entity.ApiInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 接口搜索索引测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class ApiSearchIndexTest {
+
+    private final ApiSearchIndex index = new ApiSearchIndex(null, null);
+
+    /**
+     * 多个条件同时生效，文本条件不区分大小写且按子串匹配
+     */
+    @Test
+    public void testCombinedCriteria() {
+        index.replaceSwagger(1L, List.of(
+            apiInfo(1L, 1L, "/api/users", "GET", "用户管理", "listUsers", "Query user list"),
+            apiInfo(2L, 1L, "/api/users", "POST", "用户管理", "createUser", "Create a user"),
+            apiInfo(3L, 1L, "/api/orders", "GET", "订单管理", "listOrders", "Query order list")));
+        index.replaceSwagger(2L, List.of(
+            apiInfo(4L, 2L, "/api/users/{id}", "GET", "用户管理", "getUser", "Get user detail")));
+
+        assertEquals(List.of(4L, 1L), ids(search(request -> {
+            request.setPath("USERS");
+            request.setMethod("get");
+        })));
+        assertEquals(List.of(1L), ids(search(request -> {
+            request.setPath("users");
+            request.setSwaggerId(1L);
+            request.setDescription("list query");
+        })));
+        assertEquals(List.of(2L), ids(search(request -> request.setOperationId("create"))));
+        assertEquals(List.of(3L), ids(search(request -> request.setTags("订单"))));
+        assertEquals(4, search(request -> { }).getTotalElements());
+        assertTrue(search(request -> request.setPath("/api/none")).isEmpty());
+    }
+
+    /**
+     * 重新加载文档时，已删除和已修改的接口立即反映到搜索结果中
+     */
+    @Test
+    public void testReplaceSwaggerUpdatesIndex() {
+        index.replaceSwagger(1L, List.of(
+            apiInfo(1L, 1L, "/api/users", "GET", null, null, null),
+            apiInfo(2L, 1L, "/api/orders", "GET", null, null, null)));
+
+        index.replaceSwagger(1L, List.of(apiInfo(1L, 1L, "/api/accounts", "GET", null, null, null)));
+
+        assertEquals(1, index.size());
+        assertTrue(search(request -> request.setPath("users")).isEmpty());
+        assertTrue(search(request -> request.setPath("orders")).isEmpty());
+        assertEquals(List.of(1L), ids(search(request -> request.setPath("accounts"))));
+    }
+
+    /**
+     * 分页按接口ID倒序
+     */
+    @Test
+    public void testPaging() {
+        index.replaceSwagger(1L, List.of(
+            apiInfo(1L, 1L, "/a", "GET", null, null, null),
+            apiInfo(2L, 1L, "/b", "GET", null, null, null),
+            apiInfo(3L, 1L, "/c", "GET", null, null, null)));
+
+        Page<ApiInfoDTO> page = search(request -> {
+            request.setPage(1);
+            request.setSize(2);
+        });
+
+        assertEquals(List.of(1L), ids(page));
+        assertEquals(3, page.getTotalElements());
+        assertEquals(2, page.getTotalPages());
+    }
+
+    private Page<ApiInfoDTO> search(Consumer<ApiSearchRequest> criteria) {
+        ApiSearchRequest request = new ApiSearchRequest();
+        criteria.accept(request);
+        return index.search(request);
+    }
+
+    private static List<Long> ids(Page<ApiInfoDTO> page) {
+        return page.getContent().stream().map(ApiInfoDTO::getId).collect(Collectors.toList());
+    }
+
+    private static ApiInfo apiInfo(Long id, Long swaggerId, String path, String method, String tags,
+                                   String operationId, String description) {
+        ApiInfo apiInfo = new ApiInfo();
+        apiInfo.setId(id);
+        apiInfo.setSwaggerId(swaggerId);
+        apiInfo.setPath(path);
+        apiInfo.setMethod(method);
+        apiInfo.setTags(tags);
+        apiInfo.setOperationId(operationId);
+        apiInfo.setDescription(description);
+        return apiInfo;
+    }
+}
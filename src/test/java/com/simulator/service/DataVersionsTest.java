@@ -0,0 +1,79 @@
+package com.simulator.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数据版本登记测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class DataVersionsTest {
+
+    /**
+     * 接口变化时只影响该接口的ETag，列表ETag随任意变化改变
+     */
+    @Test
+    public void testETagsChangeWithImports() {
+        DataVersions versions = new DataVersions();
+        String listETag = versions.listETag();
+        String api1 = versions.apiETag(1L);
+        String api2 = versions.apiETag(2L);
+
+        versions.apisChanged(List.of(1L));
+
+        assertNotEquals(listETag, versions.listETag());
+        assertNotEquals(api1, versions.apiETag(1L));
+        assertEquals(api2, versions.apiETag(2L));
+
+        String changedList = versions.listETag();
+        versions.documentsChanged();
+        assertNotEquals(changedList, versions.listETag());
+    }
+
+    /**
+     * 详情ETag在接口变化时清除，查询期间发生变化的ETag不记录
+     */
+    @Test
+    public void testDetailETagIsForgottenOnChange() {
+        DataVersions versions = new DataVersions();
+        versions.rememberDetailETag(1L, "abc", versions.apiVersion(1L));
+        assertEquals("abc", versions.knownDetailETag(1L));
+
+        versions.apisChanged(List.of(1L));
+        assertNull(versions.knownDetailETag(1L));
+
+        long readVersion = versions.apiVersion(1L);
+        versions.apisChanged(List.of(1L));
+        versions.rememberDetailETag(1L, "stale", readVersion);
+        assertNull(versions.knownDetailETag(1L));
+    }
+
+    /**
+     * 记录数有上限：淘汰后接口ETag不会回到已发出过的值
+     */
+    @Test
+    public void testEntriesAreBounded() {
+        DataVersions versions = new DataVersions();
+        ReflectionTestUtils.setField(versions, "maxEntries", 2);
+        String untouched = versions.apiETag(9L);
+        versions.rememberDetailETag(1L, "a", versions.apiVersion(1L));
+        versions.rememberDetailETag(2L, "b", versions.apiVersion(2L));
+        versions.rememberDetailETag(3L, "c", versions.apiVersion(3L));
+        assertNull(versions.knownDetailETag(1L));
+        assertEquals("c", versions.knownDetailETag(3L));
+
+        String original = versions.apiETag(1L);
+        versions.apisChanged(List.of(1L));
+        versions.apisChanged(List.of(2L, 3L));
+
+        // 接口1的版本记录已被淘汰，ETag不能回到修改前的值
+        assertNotEquals(original, versions.apiETag(1L));
+        assertNotEquals(untouched, versions.apiETag(9L));
+    }
+}
@@ -0,0 +1,121 @@
+package com.simulator.service;
+
+import com.simulator.dto.ImportJobDTO;
+import com.simulator.dto.SwaggerImportRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 异步导入任务服务测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class ImportJobServiceTest {
+
+    private final SwaggerService swaggerService = mock(SwaggerService.class);
+    private ImportJobService importJobService;
+
+    @AfterEach
+    public void tearDown() {
+        if (importJobService != null) {
+            importJobService.shutdown();
+        }
+    }
+
+    /**
+     * 任务在工作线程中执行，完成后可查询到进度和结果
+     */
+    @Test
+    public void testJobCompletesWithProgress() throws Exception {
+        importJobService = newService(1, 4);
+        when(swaggerService.importSwagger(any(SwaggerImportRequest.class), any(ImportProgress.class)))
+            .thenAnswer(invocation -> {
+                ImportProgress progress = invocation.getArgument(1);
+                progress.setTotalOperations(2);
+                progress.setPhase(ImportProgress.Phase.SAVING);
+                progress.operationSaved(3);
+                progress.operationSaved(4);
+                return 2;
+            });
+
+        ImportJobDTO submitted = importJobService.submit(new SwaggerImportRequest());
+        assertNotNull(submitted.getJobId());
+
+        ImportJobDTO job = awaitFinished(submitted.getJobId());
+        assertEquals("COMPLETED", job.getPhase());
+        assertEquals(2, job.getImportedCount());
+        assertEquals(2, job.getProcessedOperations());
+        assertEquals(7L, job.getWrittenRows());
+        assertNotNull(job.getFinishTime());
+    }
+
+    /**
+     * 导入失败时记录失败原因，文件任务结束后删除临时文件
+     */
+    @Test
+    public void testFailedFileJobCleansUp() throws Exception {
+        importJobService = newService(1, 4);
+        Path file = Files.createTempFile("swagger-import-test-", ".yaml");
+        when(swaggerService.importSwaggerFile(eq(file), eq("yaml"), isNull(), any(ImportProgress.class)))
+            .thenThrow(new RuntimeException("导入Swagger文档失败: 格式错误"));
+
+        ImportJobDTO job = awaitFinished(importJobService.submitFile(file, "yaml", "demo.yaml").getJobId());
+        assertEquals("FAILED", job.getPhase());
+        assertEquals("导入Swagger文档失败: 格式错误", job.getErrorMessage());
+        assertFalse(Files.exists(file), "任务结束后应删除临时文件");
+    }
+
+    /**
+     * 工作线程和等待队列都已占满时拒绝新任务
+     */
+    @Test
+    public void testRejectsWhenQueueFull() throws Exception {
+        importJobService = newService(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(swaggerService.importSwagger(any(SwaggerImportRequest.class), any(ImportProgress.class)))
+            .thenAnswer(invocation -> {
+                release.await(10, TimeUnit.SECONDS);
+                return 0;
+            });
+
+        try {
+            importJobService.submit(new SwaggerImportRequest());
+            importJobService.submit(new SwaggerImportRequest());
+            assertThrows(RejectedExecutionException.class, () -> importJobService.submit(new SwaggerImportRequest()));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private ImportJobService newService(int workerThreads, int queueCapacity) {
+        ImportJobService service = new ImportJobService(swaggerService);
+        ReflectionTestUtils.setField(service, "workerThreads", workerThreads);
+        ReflectionTestUtils.setField(service, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(service, "jobRetentionMinutes", 60L);
+        service.init();
+        return service;
+    }
+
+    private ImportJobDTO awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        ImportJobDTO job = importJobService.getJob(jobId);
+        while (job.getFinishTime() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = importJobService.getJob(jobId);
+        }
+        return job;
+    }
+}
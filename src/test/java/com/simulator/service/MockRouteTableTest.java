@@ -0,0 +1,120 @@
+package com.simulator.service;
+
+import com.simulator.dto.ApiMatchDTO;
+import com.simulator.entity.ApiInfo;
+import com.simulator.entity.ResponseParam;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 模拟路由表测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class MockRouteTableTest {
+
+    private final MockRouteTable table = new MockRouteTable(null, null, null, null);
+
+    /**
+     * 固定路径优先于路径变量，方法不区分大小写，末尾斜杠忽略
+     */
+    @Test
+    public void testRouteMatching() {
+        table.replaceSwagger(1L, List.of(
+            apiInfo("/users/{id}", "GET", body("200", "{\"id\":1}")),
+            apiInfo("/users/me", "GET", body("200", "{\"id\":0}")),
+            apiInfo("/users/{id}/orders/{orderId}", "GET", body("200", "[]")),
+            apiInfo("/users", "POST", body("201", "{}"))));
+
+        assertEquals("{\"id\":0}", bodyOf(table.match(1L, "get", "/users/me/", null)));
+        assertEquals("{\"id\":1}", bodyOf(table.match(1L, "GET", "/users/42", null)));
+        assertEquals("[]", bodyOf(table.match(1L, "GET", "/users/42/orders/7", null)));
+        assertEquals(201, table.match(1L, "POST", "/users", null).getStatus());
+        assertNull(table.match(1L, "DELETE", "/users/42", null));
+        assertNull(table.match(1L, "GET", "/users/42/orders", null));
+        assertNull(table.match(2L, "GET", "/users/me", null));
+
+        ApiMatchDTO match = table.matchApi(1L, "GET", "/users/42/orders/7");
+        assertEquals("/users/{id}/orders/{orderId}", match.getPath());
+        assertEquals(Map.of("id", "42", "orderId", "7"), match.getPathVariables());
+    }
+
+    /**
+     * 默认返回最小的2xx响应，可通过状态码选择其他响应，响应头取示例值
+     */
+    @Test
+    public void testStatusSelection() {
+        ResponseParam header = new ResponseParam();
+        header.setStatusCode("200");
+        header.setLocation("header");
+        header.setParamName("X-Rate-Limit");
+        header.setExample("100");
+        ResponseParam nested = body("200", "ignored");
+        nested.setHierarchyPath("data");
+        table.replaceSwagger(1L, List.of(apiInfo("/pets", "GET",
+            body("404", "not found"), body("default", "{\"error\":true}"), body("200", "[{\"id\":1}]"), nested,
+            header)));
+
+        MockRouteTable.MockResponse ok = table.match(1L, "GET", "/pets", null);
+        assertEquals(200, ok.getStatus());
+        assertEquals("[{\"id\":1}]", bodyOf(ok));
+        assertEquals(MediaType.APPLICATION_JSON, ok.getHeaders().getContentType());
+        assertEquals("100", ok.getHeaders().getFirst("X-Rate-Limit"));
+
+        MockRouteTable.MockResponse notFound = table.match(1L, "GET", "/pets", "404");
+        assertEquals(404, notFound.getStatus());
+        assertEquals("not found", bodyOf(notFound));
+        assertTrue(notFound.getHeaders().getContentType().isCompatibleWith(MediaType.TEXT_PLAIN));
+
+        assertEquals(200, table.match(1L, "GET", "/pets", "503").getStatus());
+        assertEquals(500, MockRouteTable.httpStatus("5XX"));
+        assertEquals(200, MockRouteTable.httpStatus("default"));
+    }
+
+    /**
+     * 重新加载文档后旧路由立即失效
+     */
+    @Test
+    public void testReplaceSwagger() {
+        table.replaceSwagger(1L, List.of(apiInfo("/a", "GET"), apiInfo("/b/{id}", "GET")));
+        table.replaceSwagger(1L, List.of(apiInfo("/c", "GET")));
+
+        assertEquals(1, table.size());
+        assertNull(table.match(1L, "GET", "/a", null));
+        assertNull(table.match(1L, "GET", "/b/1", null));
+        MockRouteTable.MockResponse response = table.match(1L, "GET", "/c", null);
+        assertEquals(200, response.getStatus());
+        assertEquals(0, response.getBody().length);
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE));
+    }
+
+    private static String bodyOf(MockRouteTable.MockResponse response) {
+        return new String(response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static ApiInfo apiInfo(String path, String method, ResponseParam... responseParams) {
+        ApiInfo apiInfo = new ApiInfo();
+        apiInfo.setPath(path);
+        apiInfo.setMethod(method);
+        apiInfo.setResponseParams(List.of(responseParams));
+        return apiInfo;
+    }
+
+    private static ResponseParam body(String statusCode, String example) {
+        ResponseParam param = new ResponseParam();
+        param.setStatusCode(statusCode);
+        param.setLocation("body");
+        param.setParamName("body");
+        param.setHierarchyPath("");
+        param.setExample(example);
+        return param;
+    }
+}
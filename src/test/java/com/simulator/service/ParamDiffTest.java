@@ -0,0 +1,166 @@
+package com.simulator.service;
+
+import com.simulator.entity.RequestParam;
+import com.simulator.entity.ResponseParam;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 接口参数差异测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class ParamDiffTest {
+
+    /**
+     * 结构未变化的参数不产生写入，生成的示例值不同也保持原值
+     */
+    @Test
+    public void testUnchangedParamsAreKept() {
+        RequestParam stored = requestParam("body", "root.name", "String", "old example");
+        RequestParam parsed = requestParam("body", "root.name", "String", "new example");
+
+        ParamDiff<RequestParam> diff = ParamDiff.diffRequestParams(List.of(stored), List.of(parsed));
+
+        assertEquals(0, diff.getChangedRows());
+        assertEquals("old example", stored.getExample());
+    }
+
+    /**
+     * 按层级路径匹配：类型变化的行就地更新，新增的行插入，消失的行删除
+     */
+    @Test
+    public void testInsertUpdateDelete() {
+        RequestParam keptStored = requestParam("body", "root.id", "String", "a");
+        RequestParam changedStored = requestParam("body", "root.amount", "String", "b");
+        RequestParam removedStored = requestParam("query", "page", "Number", "1");
+        RequestParam changedParsed = requestParam("body", "root.amount", "Number", "12.5");
+        RequestParam addedParsed = requestParam("body", "root.currency", "String", "EUR");
+
+        ParamDiff<RequestParam> diff = ParamDiff.diffRequestParams(
+            List.of(keptStored, changedStored, removedStored),
+            List.of(requestParam("body", "root.id", "String", "c"), changedParsed, addedParsed));
+
+        assertEquals(List.of(addedParsed), diff.getInserted());
+        assertEquals(List.of(removedStored), diff.getDeleted());
+        assertEquals(1, diff.getUpdated());
+        assertEquals("Number", changedStored.getParamType());
+        assertEquals("12.5", changedStored.getExample());
+        assertEquals(3, diff.getChangedRows());
+    }
+
+    /**
+     * 只有文档提供的示例值变化时也就地更新，祖先行生成的完整JSON示例随之刷新
+     */
+    @Test
+    public void testProvidedExampleChange() {
+        RequestParam storedRoot = requestParam("body", "root", "Object", "{\"name\":\"old\"}");
+        storedRoot.setId(1L);
+        RequestParam storedName = providedExample(requestParam("body", "root.name", "String", "old"));
+        storedName.setId(2L);
+        storedName.setParentId(1L);
+        RequestParam storedCode = requestParam("body", "root.code", "String", "x1");
+        storedCode.setId(3L);
+        storedCode.setParentId(1L);
+        RequestParam parsedRoot = requestParam("body", "root", "Object", "{\"name\":\"new\"}");
+        RequestParam parsedName = providedExample(requestParam("body", "root.name", "String", "new"));
+        parsedName.setParent(parsedRoot);
+        RequestParam parsedCode = requestParam("body", "root.code", "String", "x2");
+        parsedCode.setParent(parsedRoot);
+
+        ParamDiff<RequestParam> diff = ParamDiff.diffRequestParams(List.of(storedRoot, storedName, storedCode),
+            List.of(parsedRoot, parsedName, parsedCode));
+
+        assertEquals(2, diff.getUpdated());
+        assertEquals("new", storedName.getExample());
+        assertEquals("{\"name\":\"new\"}", storedRoot.getExample());
+        assertEquals("x1", storedCode.getExample());
+    }
+
+    /**
+     * 文档删除了提供的示例值时，改为保存生成的示例值
+     */
+    @Test
+    public void testProvidedExampleRemoved() {
+        RequestParam stored = providedExample(requestParam("query", "currency", "String", "EUR"));
+        RequestParam parsed = requestParam("query", "currency", "String", "example");
+
+        ParamDiff<RequestParam> diff = ParamDiff.diffRequestParams(List.of(stored), List.of(parsed));
+
+        assertEquals(1, diff.getUpdated());
+        assertEquals("example", stored.getExample());
+        assertFalse(stored.getExampleProvided());
+    }
+
+    /**
+     * 只有引用的组件变化（body参数的结构摘要不同）时，body行就地更新，生成的完整JSON示例随之更新
+     */
+    @Test
+    public void testSchemaDigestChange() {
+        RequestParam stored = requestParam("body", "", "String", "{\"name\":\"a\"}");
+        stored.setFullJsonExample(stored.getExample());
+        stored.setSchemaDigest("old");
+        RequestParam parsed = requestParam("body", "", "String", "{\"renamed\":\"a\"}");
+        parsed.setFullJsonExample(parsed.getExample());
+        parsed.setSchemaDigest("new");
+        ResponseParam storedResponse = responseParam("200", "");
+        storedResponse.setSchemaDigest("old");
+        ResponseParam parsedResponse = responseParam("200", "");
+        parsedResponse.setSchemaDigest("new");
+        parsedResponse.setExample("{\"renamed\":\"a\"}");
+
+        ParamDiff<RequestParam> diff = ParamDiff.diffRequestParams(List.of(stored), List.of(parsed));
+        ParamDiff<ResponseParam> responseDiff = ParamDiff.diffResponseParams(List.of(storedResponse),
+            List.of(parsedResponse));
+
+        assertEquals(1, diff.getUpdated());
+        assertEquals("new", stored.getSchemaDigest());
+        assertEquals("{\"renamed\":\"a\"}", stored.getFullJsonExample());
+        assertEquals(1, responseDiff.getUpdated());
+        assertEquals("{\"renamed\":\"a\"}", storedResponse.getExample());
+    }
+
+    /**
+     * 响应参数按状态码区分，同名参数在不同状态码下互不匹配
+     */
+    @Test
+    public void testResponseParamsMatchByStatusCode() {
+        ResponseParam stored = responseParam("200", "root.code");
+        ResponseParam parsed = responseParam("400", "root.code");
+
+        ParamDiff<ResponseParam> diff = ParamDiff.diffResponseParams(List.of(stored), List.of(parsed));
+
+        assertEquals(List.of(parsed), diff.getInserted());
+        assertEquals(List.of(stored), diff.getDeleted());
+        assertEquals(0, diff.getUpdated());
+    }
+
+    private static RequestParam requestParam(String location, String hierarchyPath, String paramType, String example) {
+        RequestParam param = new RequestParam();
+        param.setLocation(location);
+        param.setHierarchyPath(hierarchyPath);
+        param.setParamName(hierarchyPath.substring(hierarchyPath.lastIndexOf('.') + 1));
+        param.setParamType(paramType);
+        param.setExample(example);
+        return param;
+    }
+
+    private static RequestParam providedExample(RequestParam param) {
+        param.setExampleProvided(true);
+        return param;
+    }
+
+    private static ResponseParam responseParam(String statusCode, String hierarchyPath) {
+        ResponseParam param = new ResponseParam();
+        param.setStatusCode(statusCode);
+        param.setLocation("body");
+        param.setHierarchyPath(hierarchyPath);
+        param.setParamName(hierarchyPath.substring(hierarchyPath.lastIndexOf('.') + 1));
+        param.setParamType("String");
+        return param;
+    }
+}
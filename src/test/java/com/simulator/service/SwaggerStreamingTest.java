@@ -0,0 +1,153 @@
+package com.simulator.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.simulator.dto.ApiDetailDTO;
+import com.simulator.entity.ApiInfo;
+import com.simulator.entity.RequestParam;
+import com.simulator.entity.ResponseParam;
+import com.simulator.entity.ServerInfo;
+import com.simulator.parser.SwaggerParser;
+import com.simulator.repository.*;
+import com.simulator.repository.projection.SwaggerInfoSummary;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * 批量输出接口详情和文档导出测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class SwaggerStreamingTest {
+
+    private final ApiInfoRepository apiInfoRepository = mock(ApiInfoRepository.class);
+    private final RequestParamRepository requestParamRepository = mock(RequestParamRepository.class);
+    private final ResponseParamRepository responseParamRepository = mock(ResponseParamRepository.class);
+    private final ServerInfoRepository serverInfoRepository = mock(ServerInfoRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final SwaggerService swaggerService = new SwaggerService(mock(SwaggerParser.class),
+        mock(SwaggerInfoRepository.class), apiInfoRepository, requestParamRepository, responseParamRepository,
+        serverInfoRepository, mock(PlatformTransactionManager.class), entityManager,
+        mock(ApiDetailPayloadRepository.class), mock(ApiTagRepository.class), mock(ApiDetailCache.class),
+        mock(DataVersions.class), mock(ApiSearchIndex.class), mock(MockRouteTable.class), mock(ParamTreeCache.class), objectMapper);
+
+    /**
+     * 每批参数各用一条IN查询加载，按请求顺序每行输出一个接口详情，不存在的接口跳过
+     */
+    @Test
+    public void testWritesOneLinePerApiInRequestOrder() throws Exception {
+        when(apiInfoRepository.findActiveByIdIn(anyCollection()))
+            .thenReturn(List.of(apiInfo(1L, "/users"), apiInfo(2L, "/orders")));
+        when(requestParamRepository.findByApiIdInOrderByApiIdAscIdAsc(anyCollection()))
+            .thenReturn(List.of(requestParam(1L, "id"), requestParam(2L, "orderNo"), requestParam(2L, "page")));
+        when(responseParamRepository.findByApiIdInOrderByApiIdAscIdAsc(anyCollection()))
+            .thenReturn(List.of(responseParam(2L, "total")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        swaggerService.writeApiDetails(List.of(2L, 3L, 1L, 2L), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        ApiDetailDTO first = objectMapper.readValue(lines[0], ApiDetailDTO.class);
+        ApiDetailDTO second = objectMapper.readValue(lines[1], ApiDetailDTO.class);
+        assertEquals("/orders", first.getApiInfo().getPath());
+        assertEquals(2, first.getRequestParams().size());
+        assertEquals("total", first.getResponseParams().get(0).getParamName());
+        assertEquals("/users", second.getApiInfo().getPath());
+        assertEquals(1, second.getRequestParams().size());
+        assertTrue(second.getResponseParams().isEmpty());
+        verify(requestParamRepository, times(1)).findByApiIdInOrderByApiIdAscIdAsc(anyCollection());
+        verify(responseParamRepository, times(1)).findByApiIdInOrderByApiIdAscIdAsc(anyCollection());
+    }
+
+    /**
+     * 超过批次大小时分批查询，每批的IN列表不超过批次大小
+     */
+    @Test
+    public void testLoadsInBatches() throws Exception {
+        List<Long> apiIds = LongStream.rangeClosed(1, 1200).boxed().toList();
+        when(apiInfoRepository.findActiveByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            assertTrue(ids.size() <= 500);
+            return ids.stream().map(id -> apiInfo(id, "/api/" + id)).toList();
+        });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        swaggerService.writeApiDetails(apiIds, out);
+
+        assertEquals(1200, out.toString(StandardCharsets.UTF_8).split("\n").length);
+        verify(apiInfoRepository, times(3)).findActiveByIdIn(anyCollection());
+    }
+
+    /**
+     * 导出依次输出文档信息、服务器、接口、请求参数、响应参数，流式读取的行写出后即移出持久化上下文
+     */
+    @Test
+    public void testExportWritesAllRowTypes() throws Exception {
+        SwaggerInfoSummary swagger = mock(SwaggerInfoSummary.class);
+        when(swagger.getId()).thenReturn(1L);
+        when(swagger.getTitle()).thenReturn("Demo");
+        when(serverInfoRepository.findBySwaggerId(1L)).thenReturn(List.of(new ServerInfo()));
+        ApiInfo api = apiInfo(1L, "/users");
+        RequestParam requestParam = requestParam(1L, "id");
+        when(apiInfoRepository.streamBySwaggerId(1L)).thenReturn(Stream.of(api));
+        when(requestParamRepository.streamBySwaggerId(1L)).thenReturn(Stream.of(requestParam));
+        when(responseParamRepository.streamBySwaggerId(1L)).thenReturn(Stream.of(responseParam(1L, "total")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        swaggerService.exportSwagger(swagger, out);
+
+        List<String> types = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            types.add(objectMapper.readTree(line).get("type").asText());
+        }
+        assertEquals(List.of("swagger", "server", "api", "requestParam", "responseParam"), types);
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"title\":\"Demo\""));
+        verify(entityManager).detach(api);
+        verify(entityManager).detach(requestParam);
+    }
+
+    private static ApiInfo apiInfo(Long id, String path) {
+        ApiInfo apiInfo = new ApiInfo();
+        apiInfo.setId(id);
+        apiInfo.setPath(path);
+        apiInfo.setMethod("GET");
+        apiInfo.setSwaggerId(1L);
+        return apiInfo;
+    }
+
+    private static RequestParam requestParam(Long apiId, String name) {
+        RequestParam param = new RequestParam();
+        param.setApiId(apiId);
+        param.setParamName(name);
+        param.setLocation("query");
+        param.setParamType("String");
+        return param;
+    }
+
+    private static ResponseParam responseParam(Long apiId, String name) {
+        ResponseParam param = new ResponseParam();
+        param.setApiId(apiId);
+        param.setParamName(name);
+        param.setStatusCode("200");
+        param.setLocation("body");
+        param.setParamType("Number");
+        return param;
+    }
+}
@@ -0,0 +1,122 @@
+package com.simulator.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JSON示例生成器测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class JsonExampleGeneratorTest {
+
+    private static final String RESOURCE_DIR = "src/main/resources/";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 使用组件示例缓存生成的JSON结构应与逐次生成一致
+     */
+    @Test
+    public void testCachedExampleMatchesUncached() throws Exception {
+        for (String fileName : List.of("payment-initiation-4.0-HSBCnet.yaml", "account-info-3.1.11-malta.yaml")) {
+            OpenAPI openAPI = readOpenAPI(fileName);
+            ExampleCache cache = new ExampleCache();
+            for (Map.Entry<String, Schema> entry : openAPI.getComponents().getSchemas().entrySet()) {
+                Schema ref = new Schema().$ref("#/components/schemas/" + entry.getKey());
+                String uncached = JsonExampleGenerator.generateJsonExample(ref, openAPI);
+                String cached = JsonExampleGenerator.generateJsonExample(ref, openAPI, cache);
+                assertEquals(skeleton(uncached), skeleton(cached), fileName + " 组件 " + entry.getKey() + " 的示例结构应一致");
+            }
+            assertTrue(cache.getHits() > 0, fileName + " 重复引用的组件应命中缓存");
+        }
+    }
+
+    /**
+     * Swagger 2.0：使用Model示例缓存生成的JSON结构应与逐次生成一致
+     */
+    @Test
+    public void testSwagger2CachedExampleMatchesUncached() throws Exception {
+        Swagger swagger = new io.swagger.parser.SwaggerParser()
+            .parse(Files.readString(Path.of(RESOURCE_DIR + "swagger2.yaml")));
+        ExampleCache cache = new ExampleCache();
+        for (Map.Entry<String, Model> entry : swagger.getDefinitions().entrySet()) {
+            Model ref = new io.swagger.models.RefModel(entry.getKey());
+            String uncached = Swagger2JsonExampleGenerator.generateJsonExampleFromModel(ref, swagger);
+            String cached = Swagger2JsonExampleGenerator.generateJsonExampleFromModel(ref, swagger, cache);
+            assertEquals(skeleton(uncached), skeleton(cached), "Model " + entry.getKey() + " 的示例结构应一致");
+        }
+        // 再次生成时直接命中缓存
+        long hits = cache.getHits();
+        for (String name : swagger.getDefinitions().keySet()) {
+            Swagger2JsonExampleGenerator.generateJsonExampleFromModel(new io.swagger.models.RefModel(name), swagger, cache);
+        }
+        assertEquals(hits + swagger.getDefinitions().size(), cache.getHits(), "已生成的Model应全部命中缓存");
+    }
+
+    /**
+     * 缓存的示例树不可修改
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCachedExampleIsImmutable() {
+        ExampleCache cache = new ExampleCache();
+        Map<String, Object> example = new java.util.LinkedHashMap<>();
+        example.put("items", new ArrayList<>(List.of("a")));
+        Map<String, Object> cached = (Map<String, Object>) cache.put("Demo", example, 2);
+
+        assertThrows(UnsupportedOperationException.class, () -> cached.put("other", 1));
+        assertThrows(UnsupportedOperationException.class, () -> ((List<Object>) cached.get("items")).add("b"));
+        assertNull(cache.get("Demo", 1), "剩余深度不足时不应复用缓存");
+        assertSame(cached, cache.get("Demo", 2).getExample());
+    }
+
+    private static OpenAPI readOpenAPI(String fileName) throws Exception {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setFlatten(true);
+        return new OpenAPIV3Parser().readContents(Files.readString(Path.of(RESOURCE_DIR + fileName)), null, options)
+            .getOpenAPI();
+    }
+
+    /**
+     * JSON结构骨架（字段名与值类型，忽略随机生成的值）
+     */
+    private static String skeleton(String json) throws Exception {
+        return json == null ? null : skeleton(objectMapper.readTree(json));
+    }
+
+    private static String skeleton(JsonNode node) {
+        if (node.isObject()) {
+            StringBuilder builder = new StringBuilder("{");
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                builder.append(field.getKey()).append(':').append(skeleton(field.getValue())).append(',');
+            }
+            return builder.append('}').toString();
+        }
+        if (node.isArray()) {
+            StringBuilder builder = new StringBuilder("[");
+            node.forEach(item -> builder.append(skeleton(item)).append(','));
+            return builder.append(']').toString();
+        }
+        return node.getNodeType().name();
+    }
+}
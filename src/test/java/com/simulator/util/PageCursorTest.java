@@ -0,0 +1,41 @@
+package com.simulator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 分页游标测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class PageCursorTest {
+
+    /**
+     * 编码后解析得到相同的位置，游标只包含URL安全字符
+     */
+    @Test
+    public void testRoundTrip() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123456000), 42L);
+
+        String encoded = cursor.encode();
+        PageCursor decoded = PageCursor.decode(encoded);
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor.getCreateTime(), decoded.getCreateTime());
+        assertEquals(42L, decoded.getId());
+    }
+
+    /**
+     * 空游标表示第一页，无法解析的游标报错
+     */
+    @Test
+    public void testEmptyAndInvalidCursor() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(""));
+        assertThrows(RuntimeException.class, () -> PageCursor.decode("not-a-cursor"));
+    }
+}
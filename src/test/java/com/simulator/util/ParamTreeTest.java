@@ -0,0 +1,92 @@
+package com.simulator.util;
+
+import com.simulator.dto.ParamTreeNodeDTO;
+import com.simulator.entity.RequestParam;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 参数层级关系测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class ParamTreeTest {
+
+    /**
+     * 层级路径逐级截短
+     */
+    @Test
+    public void testParentPath() {
+        assertEquals("user", ParamTree.parentPath("user.name"));
+        assertEquals("items", ParamTree.parentPath("items[0]"));
+        assertEquals("items[0]", ParamTree.parentPath("items[0].id"));
+        assertEquals("", ParamTree.parentPath("user"));
+        assertNull(ParamTree.parentPath(""));
+        assertNull(ParamTree.parentPath(null));
+    }
+
+    /**
+     * 父参数在同一分组内查找，缺失的中间层级被跳过
+     */
+    @Test
+    public void testLinkParents() {
+        RequestParam body = param(1L, "body", "");
+        RequestParam user = param(2L, "body", "user");
+        RequestParam name = param(3L, "body", "user.name");
+        RequestParam id = param(4L, "body", "items[0].id");
+        RequestParam query = param(5L, "query", "user");
+
+        ParamTree.linkParents(List.of(body, user, name, id, query), RequestParam::getLocation,
+            RequestParam::getHierarchyPath, RequestParam::setParent);
+
+        assertNull(body.getParent());
+        assertSame(body, user.getParent());
+        assertSame(user, name.getParent());
+        assertSame(body, id.getParent());
+        assertNull(query.getParent());
+    }
+
+    /**
+     * 按parent_id组装，parent_id为空的旧数据按层级路径回退
+     */
+    @Test
+    public void testBuildTree() {
+        RequestParam body = param(1L, "body", "");
+        RequestParam user = param(2L, "body", "user");
+        user.setParentId(1L);
+        RequestParam name = param(3L, "body", "user.name");
+        RequestParam age = param(4L, "body", "user.age");
+        age.setParentId(2L);
+        RequestParam query = param(5L, "query", "page");
+
+        List<ParamTreeNodeDTO> roots = ParamTree.buildTree(List.of(body, user, name, age, query),
+            param -> {
+                ParamTreeNodeDTO node = new ParamTreeNodeDTO();
+                node.setId(param.getId());
+                node.setHierarchyPath(param.getHierarchyPath());
+                return node;
+            },
+            RequestParam::getParentId, RequestParam::getLocation);
+
+        assertEquals(List.of(1L, 5L), ids(roots));
+        assertEquals(List.of(2L), ids(roots.get(0).getChildren()));
+        assertEquals(List.of(3L, 4L), ids(roots.get(0).getChildren().get(0).getChildren()));
+    }
+
+    private static List<Long> ids(List<ParamTreeNodeDTO> nodes) {
+        return nodes.stream().map(ParamTreeNodeDTO::getId).collect(Collectors.toList());
+    }
+
+    private static RequestParam param(Long id, String location, String hierarchyPath) {
+        RequestParam param = new RequestParam();
+        param.setId(id);
+        param.setLocation(location);
+        param.setHierarchyPath(hierarchyPath);
+        return param;
+    }
+}
@@ -0,0 +1,124 @@
+package com.simulator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 路径模板路由测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class PathTemplateRouterTest {
+
+    /**
+     * 固定段优先于路径变量，固定段分支走不通时回退到路径变量
+     */
+    @Test
+    public void testStaticSegmentsTakePriority() {
+        PathTemplateRouter<String> router = new PathTemplateRouter<>();
+        router.add("GET", "/accounts/{AccountId}/balances", "balances");
+        router.add("GET", "/accounts/me", "me");
+        router.add("GET", "/accounts/me/profile", "profile");
+        router.add("GET", "/accounts/{AccountId}", "account");
+        router.add("POST", "/accounts", "create");
+        router.add("GET", "/", "root");
+
+        assertEquals("me", router.match("GET", "/accounts/me", null));
+        assertEquals("account", router.match("GET", "/accounts/123/", null));
+        assertEquals("balances", router.match("GET", "/accounts/me/balances", null));
+        assertEquals("profile", router.match("GET", "/accounts/me/profile", null));
+        assertEquals("create", router.match("POST", "/accounts", null));
+        assertEquals("root", router.match("GET", "", null));
+        assertNull(router.match("GET", "/accounts", null));
+        assertNull(router.match("DELETE", "/accounts/123", null));
+        assertNull(router.match("GET", "/accounts//balances", null));
+        assertEquals(6, router.size());
+    }
+
+    /**
+     * 路径变量按各自模板中的变量名取值，变量对象可复用
+     */
+    @Test
+    public void testPathVariables() {
+        PathTemplateRouter<String> router = new PathTemplateRouter<>();
+        router.add("GET", "/accounts/{AccountId}/transactions/{TransactionId}", "transaction");
+        router.add("GET", "/accounts/{id}", "account");
+        PathTemplateRouter.PathVariables variables = new PathTemplateRouter.PathVariables();
+
+        assertEquals("transaction", router.match("GET", "/accounts/A1/transactions/T9", variables));
+        assertEquals(Map.of("AccountId", "A1", "TransactionId", "T9"), variables.toMap());
+        assertEquals("T9", variables.get("TransactionId"));
+
+        assertEquals("account", router.match("GET", "/accounts/A2", variables));
+        assertEquals(1, variables.size());
+        assertEquals("id", variables.name(0));
+        assertEquals("A2", variables.value(0));
+        assertNull(variables.get("AccountId"));
+
+        assertNull(router.match("GET", "/accounts/A2/transactions", variables));
+        assertEquals(0, variables.size());
+    }
+
+    /**
+     * 同一方法和路径模板只保留第一个，变量名不同视为同一模板
+     */
+    @Test
+    public void testDuplicateTemplates() {
+        PathTemplateRouter<String> router = new PathTemplateRouter<>();
+        assertTrue(router.add("get", "/users/{id}", "first"));
+        assertFalse(router.add("GET", "/users/{userId}/", "second"));
+        assertTrue(router.add("PUT", "/users/{id}", "put"));
+
+        assertEquals("first", router.match("GET", "/users/1", null));
+        assertEquals(2, router.size());
+    }
+
+    /**
+     * 带固定前后缀的变量段只匹配相同前后缀的路径段，变量值不含前后缀
+     */
+    @Test
+    public void testPartialVariableSegments() {
+        PathTemplateRouter<String> router = new PathTemplateRouter<>();
+        assertTrue(router.add("GET", "/files/{id}.json", "json"));
+        assertTrue(router.add("GET", "/files/{id}.xml", "xml"));
+        assertTrue(router.add("GET", "/files/v{version}.tar.gz", "archive"));
+        assertTrue(router.add("GET", "/files/{name}", "file"));
+        assertTrue(router.add("GET", "/files/latest.json", "latest"));
+        assertFalse(router.add("GET", "/files/{fileId}.json", "duplicate"));
+        PathTemplateRouter.PathVariables variables = new PathTemplateRouter.PathVariables();
+
+        assertEquals("json", router.match("GET", "/files/42.json", variables));
+        assertEquals(Map.of("id", "42"), variables.toMap());
+        assertEquals("xml", router.match("GET", "/files/42.xml", variables));
+        assertEquals("42", variables.get("id"));
+        assertEquals("archive", router.match("GET", "/files/v1.2.tar.gz", variables));
+        assertEquals("1.2", variables.get("version"));
+        assertEquals("latest", router.match("GET", "/files/latest.json", variables));
+
+        // 变量部分为空或前后缀不符时回退到整段变量
+        assertEquals("file", router.match("GET", "/files/.json", variables));
+        assertEquals(".json", variables.get("name"));
+        assertEquals("file", router.match("GET", "/files/42.yaml", variables));
+        assertEquals(5, router.size());
+    }
+
+    /**
+     * 变量值按UTF-8解码，转义不合法时保留原文
+     */
+    @Test
+    public void testPathVariablesAreDecoded() {
+        PathTemplateRouter<String> router = new PathTemplateRouter<>();
+        router.add("GET", "/users/{name}/{id}.json", "user");
+        PathTemplateRouter.PathVariables variables = new PathTemplateRouter.PathVariables();
+
+        assertEquals("user", router.match("GET", "/users/%E5%BC%A0%20san/a%2Fb.json", variables));
+        assertEquals(Map.of("name", "张 san", "id", "a/b"), variables.toMap());
+        assertEquals("user", router.match("GET", "/users/a+b/100%.json", variables));
+        assertEquals("a+b", variables.get("name"));
+        assertEquals("100%", variables.get("id"));
+    }
+}
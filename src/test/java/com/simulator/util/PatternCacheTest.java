@@ -0,0 +1,46 @@
+package com.simulator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 正则表达式编译缓存测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class PatternCacheTest {
+
+    /**
+     * 同一正则返回同一实例，无法编译的正则返回null
+     */
+    @Test
+    public void testCompileIsCached() {
+        Pattern first = PatternCache.compile("^[A-Z]{2}\\d{6}$");
+        assertNotNull(first);
+        assertSame(first, PatternCache.compile("^[A-Z]{2}\\d{6}$"));
+        assertTrue(first.matcher("AB123456").matches());
+
+        long misses = PatternCache.getMisses();
+        assertNull(PatternCache.compile("[unclosed"));
+        assertNull(PatternCache.compile("[unclosed"));
+        assertEquals(misses + 1, PatternCache.getMisses(), "无法编译的正则也应缓存");
+
+        assertNull(PatternCache.compile(null));
+        assertNull(PatternCache.compile(""));
+    }
+
+    /**
+     * 条目数不超过上限
+     */
+    @Test
+    public void testCacheIsBounded() {
+        for (int i = 0; i < PatternCache.MAX_ENTRIES * 2; i++) {
+            assertNotNull(PatternCache.compile("^bounded" + i + "$"));
+        }
+        assertTrue(PatternCache.size() <= PatternCache.MAX_ENTRIES);
+    }
+}
@@ -0,0 +1,61 @@
+package com.simulator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 正则表达式自动机测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class RegexAutomatonTest {
+
+    private final Random random = new Random(42);
+
+    /**
+     * 各类语法生成的字符串都被Java正则整体匹配
+     */
+    @Test
+    public void testGeneratedStringsMatch() {
+        List<String> patterns = List.of(
+            "abc", "a|b|cd", "(ab)+c?", "x*y{2}z{1,3}w{2,}", "[a-c][^a-z0-9][A-Z&&[^E-Z]]", "[\\w.-]+@[\\w-]+\\.[a-z]{2,4}",
+            "\\d\\D\\s\\S\\w\\W", "\\p{Lu}\\p{IsAlphabetic}\\P{L}", "[a-z[0-9]]{3}", "\\Q(a+)\\E[\\Q]\\E]", "\\u0041\\x42\\t",
+            "(?:ab|cd)(?<name>ef)", "(?i)hello", "(?i:ab)c", "^\\d{1,13}$|^\\d{1,13}\\.\\d{1,5}$", "(a*)*b", "a{0,100}b",
+            "^(Mon|Tue|Wed), \\d{2} (Jan|Feb) \\d{4} \\d{2}:\\d{2}:\\d{2} (GMT|UTC)$", ".+", "[-a]-[a-]");
+        for (String pattern : patterns) {
+            RegexAutomaton automaton = RegexAutomaton.compile(pattern);
+            assertNotNull(automaton, pattern);
+            Pattern compiled = Pattern.compile(pattern);
+            for (int i = 0; i < 50; i++) {
+                String example = automaton.generate(random);
+                assertTrue(compiled.matcher(example).matches(), pattern + " -> " + example);
+            }
+        }
+    }
+
+    @Test
+    public void testMinLength() {
+        assertEquals(3, RegexAutomaton.compile("^[A-Z]{3}$").minLength());
+        assertEquals(1, RegexAutomaton.compile("^\\d{1,13}$|^\\d{1,13}\\.\\d{1,5}$").minLength());
+        assertEquals(0, RegexAutomaton.compile("a*").minLength());
+    }
+
+    /**
+     * 非法正则、不支持的语法和不可能匹配的正则返回null，编译结果被缓存
+     */
+    @Test
+    public void testUnsupportedAndCached() {
+        assertNull(RegexAutomaton.compile(null));
+        assertNull(RegexAutomaton.compile("[a-"));
+        assertNull(RegexAutomaton.compile("(a)\\1"));
+        assertNull(RegexAutomaton.compile("(?x) a b"));
+        assertNull(RegexAutomaton.compile("[^\\s\\S]"));
+        assertSame(RegexAutomaton.compile("^[A-Z]{2}$"), RegexAutomaton.compile("^[A-Z]{2}$"));
+    }
+}
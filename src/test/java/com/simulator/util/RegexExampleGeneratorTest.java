@@ -1,6 +1,19 @@
 package com.simulator.util;
 
+import com.simulator.entity.ApiInfo;
+import com.simulator.entity.RequestParam;
+import com.simulator.entity.ResponseParam;
+import com.simulator.parser.SwaggerParser;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -43,5 +56,66 @@ public class RegexExampleGeneratorTest {
         example = RegexExampleGenerator.generateExample(null);
         assertNull(example, "null应该返回null");
     }
-}
 
+    /**
+     * 常见模式识别不到的正则按结构生成，结果与正则整体匹配
+     */
+    @Test
+    public void testGenerateExampleMatchesPattern() {
+        for (String pattern : List.of("^[A-Z]{3}$", "^\\d{1,13}$|^\\d{1,13}\\.\\d{1,5}$", "^[A-Z]{2,2}$",
+            "^(?!\\s)(.*)(\\S)$", "[a-f0-9]{8}-[a-f0-9]{4}")) {
+            for (int i = 0; i < 20; i++) {
+                String example = RegexExampleGenerator.generateExample(pattern);
+                assertNotNull(example, pattern);
+                assertTrue(Pattern.compile(pattern).matcher(example).matches(), pattern + " -> " + example);
+            }
+        }
+    }
+
+    @Test
+    public void testGenerateExampleForInvalidOrUnsupported() {
+        assertNull(RegexExampleGenerator.generateExample("[a-"), "非法正则应该返回null");
+        assertNull(RegexExampleGenerator.generateExample("(a)b\\1"), "反向引用不支持，应该返回null");
+    }
+
+    /**
+     * 内置文档中的所有正则都能生成匹配的示例值，解析得到的请求参数示例值也与正则匹配
+     */
+    @Test
+    public void testBundledSpecPatterns() throws Exception {
+        SwaggerParser parser = new SwaggerParser();
+        ReflectionTestUtils.setField(parser, "parallelism", 1);
+        Set<String> patterns = new LinkedHashSet<>();
+        int requestParams = 0;
+        for (String fileName : List.of("account-info-3.1.11-malta.yaml", "payment-initiation-4.0-HSBCnet.yaml",
+            "AMH_Business_Accounts_Swagger (3).yaml", "open-atm-locator-swagger.json")) {
+            String content = Files.readString(Path.of("src/main/resources/" + fileName));
+            for (ApiInfo apiInfo : parser.parse(content, fileName.endsWith(".json") ? "json" : "yaml").getApiInfos()) {
+                for (RequestParam param : apiInfo.getRequestParams()) {
+                    if (param.getPattern() != null) {
+                        patterns.add(param.getPattern());
+                        assertTrue(Pattern.compile(param.getPattern()).matcher(param.getPatternExample()).matches(),
+                            param.getPattern() + " -> " + param.getPatternExample());
+                        requestParams++;
+                    }
+                }
+                for (ResponseParam param : apiInfo.getResponseParams()) {
+                    if (param.getPattern() != null) {
+                        patterns.add(param.getPattern());
+                    }
+                }
+            }
+        }
+
+        assertFalse(patterns.isEmpty());
+        assertTrue(requestParams > 0);
+        for (String pattern : patterns) {
+            Pattern compiled = Pattern.compile(pattern);
+            for (int i = 0; i < 50; i++) {
+                String example = RegexExampleGenerator.generateExample(pattern);
+                assertNotNull(example, pattern);
+                assertTrue(compiled.matcher(example).matches(), pattern + " -> " + example);
+            }
+        }
+    }
+}
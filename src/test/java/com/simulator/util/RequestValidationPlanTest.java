@@ -0,0 +1,137 @@
+package com.simulator.util;
+
+import com.simulator.entity.RequestParam;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 请求校验计划测试类
+ *
+ * @author simulator
+ * @date 2024
+ */
+public class RequestValidationPlanTest {
+
+    /**
+     * 查询/请求头/路径参数按类型、正则、必填校验
+     */
+    @Test
+    public void testParamRules() {
+        RequestValidationPlan plan = RequestValidationPlan.compile(List.of(
+            param("query", "page", "Integer", null, true),
+            param("query", "ids", "Array<Integer>", null, false),
+            param("header", "X-Request-Id", "String", "^[0-9a-f]{8}$", true),
+            param("path", "AccountId", "String", "^A\\d+$", true)));
+
+        assertEquals(List.of(), plan.validate(values(Map.of("query.page", "1", "query.ids", "1,2",
+            "header.X-Request-Id", "0a1b2c3d", "path.AccountId", "A7")), null, null));
+
+        List<String> errors = plan.validate(values(Map.of("query.page", "x", "query.ids", "1,b",
+            "path.AccountId", "B7")), null, null);
+        assertEquals(4, errors.size());
+        assertTrue(errors.get(0).contains("query.page"));
+        assertTrue(errors.get(1).contains("query.ids"));
+        assertTrue(errors.get(2).startsWith("缺少必填参数: header.X-Request-Id"));
+        assertTrue(errors.get(3).contains("path.AccountId"));
+    }
+
+    /**
+     * JSON请求体按层级路径逐层校验，必填字段只在其所在对象出现时检查
+     */
+    @Test
+    public void testBodyRules() {
+        RequestValidationPlan plan = RequestValidationPlan.compile(List.of(
+            body("", "Object", null, false),
+            body("name", "String", "^[A-Z]", true),
+            body("age", "Integer", null, false),
+            body("address", "Object", null, false),
+            body("address.city", "String", null, true),
+            body("tags", "Array<String>", null, false),
+            body("items", "Array", null, false),
+            body("items[0].qty", "Number", null, true)));
+
+        assertEquals(List.of(), validate(plan, "{\"name\":\"Tom\",\"age\":3,\"tags\":[\"a\"],"
+            + "\"items\":[{\"qty\":1.5}],\"extra\":{}}"));
+        assertEquals(List.of(), validate(plan, "{\"name\":\"Tom\",\"age\":3.0}"));
+
+        List<String> errors = validate(plan, "{\"name\":\"tom\",\"age\":\"3\",\"address\":{},"
+            + "\"tags\":[1],\"items\":[{\"qty\":2},{}]}");
+        assertEquals(List.of(
+            "参数格式错误: body.name 不匹配 ^[A-Z]",
+            "参数类型错误: body.age 应为INTEGER",
+            "缺少必填参数: body.address.city",
+            "参数类型错误: body.tags 的元素应为STRING",
+            "缺少必填参数: body.items[0].qty"), errors);
+
+        assertEquals(List.of("缺少必填参数: body.name"), validate(plan, "{}"));
+        assertEquals(List.of("参数类型错误: body 应为OBJECT"), validate(plan, "[]"));
+        assertEquals(List.of("请求体不是合法的JSON"), validate(plan, "{"));
+    }
+
+    /**
+     * 按Content-Type选择请求体计划，非JSON请求体不校验
+     */
+    @Test
+    public void testContentTypes() {
+        RequestParam xmlName = body("name", "Integer", null, true);
+        xmlName.setContentType("application/xml");
+        RequestValidationPlan plan = RequestValidationPlan.compile(List.of(body("name", "String", null, true), xmlName));
+
+        byte[] empty = "{}".getBytes(StandardCharsets.UTF_8);
+        assertEquals(1, plan.validate(values(Map.of()), "application/json; charset=UTF-8", empty).size());
+        assertEquals(1, plan.validate(values(Map.of()), null, empty).size());
+        assertEquals(0, plan.validate(values(Map.of()), "application/xml", empty).size());
+        assertTrue(RequestValidationPlan.compile(List.of(xmlName)).isEmpty());
+    }
+
+    private static List<String> validate(RequestValidationPlan plan, String json) {
+        return plan.validate(values(Map.of()), "application/json", json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static RequestValidationPlan.RequestValues values(Map<String, String> values) {
+        return new RequestValidationPlan.RequestValues() {
+            @Override
+            public String query(String name) {
+                return values.get("query." + name);
+            }
+
+            @Override
+            public String header(String name) {
+                return values.get("header." + name);
+            }
+
+            @Override
+            public String path(String name) {
+                return values.get("path." + name);
+            }
+
+            @Override
+            public String cookie(String name) {
+                return values.get("cookie." + name);
+            }
+        };
+    }
+
+    private static RequestParam param(String location, String name, String type, String pattern, boolean required) {
+        RequestParam param = new RequestParam();
+        param.setLocation(location);
+        param.setParamName(name);
+        param.setHierarchyPath(name);
+        param.setParamType(type);
+        param.setPattern(pattern);
+        param.setRequired(required);
+        return param;
+    }
+
+    private static RequestParam body(String path, String type, String pattern, boolean required) {
+        RequestParam param = param("body", path.isEmpty() ? "body" : path, type, pattern, required);
+        param.setHierarchyPath(path);
+        param.setContentType("application/json");
+        return param;
+    }
+}